@@ -0,0 +1,74 @@
+package adt.benchmark;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Main class of the benchmark jar. Runs the benchmarks that are selected
+ * by the command line arguments (the usual JMH options) and always attaches
+ * the GC profiler, so that next to the throughput the allocation rate and
+ * the GC pressure (gc.alloc.rate.norm, gc.count, gc.time) are reported.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+public final class Benchmarkrunner {
+
+  
+  /**
+   * Utility class; not to be instantiated.
+   */
+  private Benchmarkrunner() {
+    
+  }
+  
+  
+  /**
+   * Run the benchmarks.
+   * 
+   * @param xargs 
+   *          the JMH command line options, for example 
+   *          <code>Listbenchmark -p size=1000</code>.
+   *          
+   * @throws RunnerException 
+   *          if the benchmark run fails.
+   *          
+   * @throws CommandLineOptionException 
+   *          if the options can not be parsed.
+   */
+  public static void main(final String[] xargs) 
+      throws RunnerException, CommandLineOptionException {
+    
+    final Options opt = new OptionsBuilder()
+        .parent(new CommandLineOptions(xargs))
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,201 @@
+package adt.benchmark;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.model.Concurrentlist;
+import adt.model.Securelist;
+
+
+/**
+ * Concurrent appending to the lock-free {@link Concurrentlist} compared to
+ * the {@link Securelist}, whose calls are serialized by its monitor, at 
+ * 1, 4, 16 and 64 threads.
+ * 
+ * <p>
+ * The lists are shared by all threads and replaced before each 
+ * iteration, so that they do not grow during the whole run.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g" })
+public class Concurrentlistbenchmark {
+
+  
+  /**
+   * The item which is appended.
+   */
+  private static final String ITEM = "item";
+  
+  
+  /**
+   * The lock-free list.
+   */
+  private Concurrentlist<String> lsConcurrent;
+  
+  
+  /**
+   * The secure list.
+   */
+  private Securelist<String> lsSecure;
+  
+  
+  /**
+   * Replace the lists by empty ones.
+   */
+  @Setup(Level.Iteration)
+  public void setup() {
+    lsConcurrent = new Concurrentlist<String>();
+    lsSecure = new Securelist<String>(
+        Logger.getLogger(getClass().getName()));
+  }
+  
+  
+  /**
+   * Append to the lock-free list.
+   * @return the list.
+   */
+  private Concurrentlist<String> appendConcurrent() {
+    lsConcurrent.insertAtTheEnd(ITEM);
+    return lsConcurrent;
+  }
+  
+  
+  /**
+   * Append to the secure list.
+   * @return the list.
+   */
+  private Securelist<String> appendSecure() {
+    synchronized (lsSecure) {
+      lsSecure.insertAtTheEnd(ITEM, Securelist.ID_NO_PREDECESSOR);
+    }
+    return lsSecure;
+  }
+  
+  
+  /**
+   * Lock-free list, 1 thread.
+   * @return the list.
+   */
+  @Benchmark
+  @Threads(1)
+  public Concurrentlist<String> concurrentlist01() {
+    return appendConcurrent();
+  }
+  
+  
+  /**
+   * Lock-free list, 4 threads.
+   * @return the list.
+   */
+  @Benchmark
+  @Threads(4)
+  public Concurrentlist<String> concurrentlist04() {
+    return appendConcurrent();
+  }
+  
+  
+  /**
+   * Lock-free list, 16 threads.
+   * @return the list.
+   */
+  @Benchmark
+  @Threads(16)
+  public Concurrentlist<String> concurrentlist16() {
+    return appendConcurrent();
+  }
+  
+  
+  /**
+   * Lock-free list, 64 threads.
+   * @return the list.
+   */
+  @Benchmark
+  @Threads(64)
+  public Concurrentlist<String> concurrentlist64() {
+    return appendConcurrent();
+  }
+  
+  
+  /**
+   * Secure list, 1 thread.
+   * @return the list.
+   */
+  @Benchmark
+  @Threads(1)
+  public Securelist<String> securelist01() {
+    return appendSecure();
+  }
+  
+  
+  /**
+   * Secure list, 4 threads.
+   * @return the list.
+   */
+  @Benchmark
+  @Threads(4)
+  public Securelist<String> securelist04() {
+    return appendSecure();
+  }
+  
+  
+  /**
+   * Secure list, 16 threads.
+   * @return the list.
+   */
+  @Benchmark
+  @Threads(16)
+  public Securelist<String> securelist16() {
+    return appendSecure();
+  }
+  
+  
+  /**
+   * Secure list, 64 threads.
+   * @return the list.
+   */
+  @Benchmark
+  @Threads(64)
+  public Securelist<String> securelist64() {
+    return appendSecure();
+  }
+}
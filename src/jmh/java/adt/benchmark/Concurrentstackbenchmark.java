@@ -0,0 +1,196 @@
+package adt.benchmark;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.model.stack.Concurrentstack;
+import adt.model.stack.Stack;
+
+
+/**
+ * A LIFO task pool shared by 1, 4 and 16 threads: each operation pushes 
+ * an item and pops one. The lock-free {@link Concurrentstack} is compared
+ * to the {@link Stack} whose calls are serialized by its monitor. The 
+ * contention metrics of the concurrent stack are logged after each 
+ * iteration.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Concurrentstackbenchmark {
+
+  
+  /**
+   * The item which is pushed.
+   */
+  private static final String ITEM = "item";
+  
+  
+  /**
+   * The logger.
+   */
+  private final Logger log = Logger.getLogger(getClass().getName());
+  
+  
+  /**
+   * The lock-free stack.
+   */
+  private Concurrentstack<String> stackConcurrent;
+  
+  
+  /**
+   * The linked stack.
+   */
+  private Stack<String> stackLocked;
+  
+  
+  /**
+   * Replace the stacks by empty ones.
+   */
+  @Setup(Level.Iteration)
+  public void setup() {
+    stackConcurrent = new Concurrentstack<String>();
+    stackLocked = new Stack<String>();
+  }
+  
+  
+  /**
+   * Log the contention metrics of the lock-free stack.
+   */
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    log.info("compare-and-set failures: " 
+        + stackConcurrent.getCasFailures() 
+        + ", eliminations: " + stackConcurrent.getEliminations());
+  }
+  
+  
+  /**
+   * Push and pop with the lock-free stack.
+   * @return the popped item.
+   */
+  private String pushPopConcurrent() {
+    stackConcurrent.push(ITEM);
+    return stackConcurrent.pop();
+  }
+  
+  
+  /**
+   * Push and pop with the linked stack inside its monitor.
+   * @return the popped item.
+   */
+  private String pushPopLocked() {
+    synchronized (stackLocked) {
+      stackLocked.insert(ITEM);
+      final String item = stackLocked.getElemlast().getContent();
+      stackLocked.remove();
+      return item;
+    }
+  }
+  
+  
+  /**
+   * Lock-free stack, 1 thread.
+   * @return the popped item.
+   */
+  @Benchmark
+  @Threads(1)
+  public String concurrentstack01() {
+    return pushPopConcurrent();
+  }
+  
+  
+  /**
+   * Lock-free stack, 4 threads.
+   * @return the popped item.
+   */
+  @Benchmark
+  @Threads(4)
+  public String concurrentstack04() {
+    return pushPopConcurrent();
+  }
+  
+  
+  /**
+   * Lock-free stack, 16 threads.
+   * @return the popped item.
+   */
+  @Benchmark
+  @Threads(16)
+  public String concurrentstack16() {
+    return pushPopConcurrent();
+  }
+  
+  
+  /**
+   * Locked stack, 1 thread.
+   * @return the popped item.
+   */
+  @Benchmark
+  @Threads(1)
+  public String lockedstack01() {
+    return pushPopLocked();
+  }
+  
+  
+  /**
+   * Locked stack, 4 threads.
+   * @return the popped item.
+   */
+  @Benchmark
+  @Threads(4)
+  public String lockedstack04() {
+    return pushPopLocked();
+  }
+  
+  
+  /**
+   * Locked stack, 16 threads.
+   * @return the popped item.
+   */
+  @Benchmark
+  @Threads(16)
+  public String lockedstack16() {
+    return pushPopLocked();
+  }
+}
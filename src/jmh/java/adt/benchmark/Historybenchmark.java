@@ -0,0 +1,134 @@
+package adt.benchmark;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.model.Securelist;
+
+
+/**
+ * Undo and redo of a batch edit of a {@link Securelist} with 
+ * {@link Securelist#enableHistory(int, int)}. The history records the 
+ * changed elements; thus undoing and redoing a batch is independent of
+ * the size of the list. Copying the list (the snapshot which an undo 
+ * based on copies needs per batch) is the comparison.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Historybenchmark {
+
+  
+  /**
+   * The id that is passed if there is no transaction / closed action.
+   */
+  private static final int NO_ID = Securelist.ID_NO_PREDECESSOR;
+  
+  
+  /**
+   * The amount of items inside the list.
+   */
+  @Param({"1000", "100000", "1000000" })
+  private int size;
+  
+  
+  /**
+   * The amount of changes of the batch.
+   */
+  @Param({"100", "10000" })
+  private int batch;
+  
+  
+  /**
+   * The list.
+   */
+  private Securelist<String> ls;
+  
+  
+  /**
+   * Fill the list and record a batch edit which inserts, replaces and
+   * removes items.
+   */
+  @Setup
+  public void setup() {
+    ls = new Securelist<String>(Logger.getLogger(getClass().getName()));
+    for (int i = 0; i < size; i++) {
+      ls.insertAtTheEnd("item" + i, NO_ID);
+    }
+    ls.enableHistory(16, Integer.MAX_VALUE);
+    
+    final int id = ls.startTransaction("batch", NO_ID);
+    ls.toFirst(id, NO_ID);
+    for (int i = 0; i < batch; i += 3) {
+      ls.insertBehind("new" + i, id);
+      ls.next(id, NO_ID);
+      ls.replace("replaced" + i, id);
+      ls.next(id, NO_ID);
+      ls.remove(id);
+      ls.next(id, NO_ID);
+    }
+    ls.finishTransaction(id);
+  }
+  
+  
+  /**
+   * Undo the batch and redo it.
+   * 
+   * @return the list.
+   */
+  @Benchmark
+  public Securelist<String> undoRedo() {
+    ls.undo();
+    ls.redo();
+    return ls;
+  }
+  
+  
+  /**
+   * Copy the items of the list.
+   * 
+   * @return the copy.
+   */
+  @Benchmark
+  public String[] snapshotCopy() {
+    return ls.toArray(String.class);
+  }
+}
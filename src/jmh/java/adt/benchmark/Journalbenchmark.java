@@ -0,0 +1,167 @@
+package adt.benchmark;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.model.Journal;
+import adt.model.Securelist;
+import adt.model.Sortstore;
+
+
+/**
+ * Cost of recording the changes of a {@link Securelist} by a 
+ * {@link Journal}: each operation inserts an item at the end and removes
+ * it again, either as two committed changes or inside one transaction. 
+ * The journal syncs after each commit (commitsPerSync = 1) or once per 
+ * group of commits; the list without journal is the baseline.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Journalbenchmark {
+
+  
+  /**
+   * The id that is passed if there is no transaction / closed action.
+   */
+  private static final int NO_ID = Securelist.ID_NO_PREDECESSOR;
+  
+  
+  /**
+   * The amount of commits after which the journal is synced.
+   */
+  @Param({"1", "64" })
+  private int commitsPerSync;
+  
+  
+  /**
+   * The list whose changes are recorded.
+   */
+  private Securelist<String> lsJournaled;
+  
+  
+  /**
+   * The list without journal.
+   */
+  private Securelist<String> ls;
+  
+  
+  /**
+   * The file of the journal.
+   */
+  private File file;
+  
+  
+  /**
+   * Create the lists.
+   * 
+   * @throws IOException if the journal can not be created.
+   */
+  @Setup
+  public void setup() throws IOException {
+    final Logger log = Logger.getLogger(getClass().getName());
+    file = File.createTempFile("journal", ".log");
+    lsJournaled = Securelist.open(file, Sortstore.CODEC_STRING, log);
+    lsJournaled.getJournal().setGroupCommit(commitsPerSync, 
+        Long.MAX_VALUE / 1000000);
+    ls = new Securelist<String>(log);
+    for (int i = 0; i < 100; i++) {
+      lsJournaled.insertAtTheEnd("item" + i, NO_ID);
+      ls.insertAtTheEnd("item" + i, NO_ID);
+    }
+  }
+  
+  
+  /**
+   * Close and delete the journal.
+   * 
+   * @throws IOException if closing fails.
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    lsJournaled.closeJournal();
+    file.delete();
+  }
+  
+  
+  /**
+   * Insert and remove an item without journal.
+   * 
+   * @return the list.
+   */
+  @Benchmark
+  public Securelist<String> changeMemory() {
+    ls.insertAtTheEnd("item", NO_ID);
+    ls.remove(NO_ID);
+    return ls;
+  }
+  
+  
+  /**
+   * Insert and remove an item; each change is committed.
+   * 
+   * @return the list.
+   */
+  @Benchmark
+  public Securelist<String> changeAutocommit() {
+    lsJournaled.insertAtTheEnd("item", NO_ID);
+    lsJournaled.remove(NO_ID);
+    return lsJournaled;
+  }
+  
+  
+  /**
+   * Insert and remove an item inside one transaction.
+   * 
+   * @return the list.
+   */
+  @Benchmark
+  public Securelist<String> changeTransaction() {
+    final int id = lsJournaled.startTransaction("change", NO_ID);
+    lsJournaled.insertAtTheEnd("item", id);
+    lsJournaled.remove(id);
+    lsJournaled.finishTransaction(id);
+    return lsJournaled;
+  }
+}
@@ -0,0 +1,247 @@
+package adt.benchmark;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.model.List;
+import adt.model.Listcursor;
+import adt.model.Listview;
+
+
+/**
+ * Benchmarks of the plain (not thread-safe) {@link List}.
+ * 
+ * <p>
+ * The list is filled once per trial with <code>size</code> strings. The
+ * benchmarks that insert items remove them afterwards, so the list keeps
+ * its size during the whole measurement.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Listbenchmark {
+
+  
+  /**
+   * The amount of items inside the list.
+   */
+  @Param({"1000", "100000", "1000000" })
+  private int size;
+  
+  
+  /**
+   * The list which is benchmarked.
+   */
+  private List<String> ls;
+  
+  
+  /**
+   * The same list which maintains a hash index.
+   */
+  private List<String> lsHashindex;
+  
+  
+  /**
+   * The same list which maintains an order-statistic index.
+   */
+  private List<String> lsPositionindex;
+  
+  
+  /**
+   * The item that is searched for by {@link #find()}. It is located in the
+   * middle of the list and is a different instance than the one inside
+   * the list, thus the equals method is really called.
+   */
+  private String probe;
+  
+  
+  /**
+   * Cursor pointing at the middle of {@link #ls}; start of the sub lists.
+   */
+  private Listcursor<String> cursorMiddle;
+  
+  
+  /**
+   * Fill the list.
+   */
+  @Setup
+  public void setup() {
+    ls = new List<String>(Logger.getLogger(getClass().getName()));
+    for (int i = 0; i < size; i++) {
+      ls.insertAtTheEnd("item" + i);
+    }
+    lsHashindex = new List<String>(Logger.getLogger(getClass().getName()));
+    lsHashindex.enableHashindex(false);
+    for (int i = 0; i < size; i++) {
+      lsHashindex.insertAtTheEnd("item" + i);
+    }
+    lsPositionindex = new List<String>(
+        Logger.getLogger(getClass().getName()));
+    lsPositionindex.enablePositionindex();
+    for (int i = 0; i < size; i++) {
+      lsPositionindex.insertAtTheEnd("item" + i);
+    }
+    probe = new String("item" + (size / 2));
+    
+    ls.goToIndex(size / 2);
+    cursorMiddle = ls.newCursor();
+    cursorMiddle.goToElement(ls.getElement());
+  }
+  
+  
+  /**
+   * Append one item and remove it again.
+   * 
+   * @return the list.
+   */
+  @Benchmark
+  public List<String> insertAtTheEnd() {
+    ls.insertAtTheEnd("new item");
+    ls.remove();
+    return ls;
+  }
+  
+  
+  /**
+   * Search the item in the middle of the list.
+   * 
+   * @return whether the item has been found.
+   */
+  @Benchmark
+  public boolean find() {
+    return ls.find(probe);
+  }
+  
+  
+  /**
+   * Append one item and remove it again; includes the maintenance of the
+   * hash index.
+   * 
+   * @return the list.
+   */
+  @Benchmark
+  public List<String> insertAtTheEndHashindex() {
+    lsHashindex.insertAtTheEnd("new item");
+    lsHashindex.remove();
+    return lsHashindex;
+  }
+  
+  
+  /**
+   * Search the item in the middle of the list by the hash index.
+   * 
+   * @return whether the item has been found.
+   */
+  @Benchmark
+  public boolean findHashindex() {
+    return lsHashindex.find(probe);
+  }
+  
+  
+  /**
+   * Return the item at one third of the list by passing the list.
+   * 
+   * @return the item.
+   */
+  @Benchmark
+  public String get() {
+    return ls.get(size / 3);
+  }
+  
+  
+  /**
+   * Return the item at one third of the list by the order-statistic 
+   * index.
+   * 
+   * @return the item.
+   */
+  @Benchmark
+  public String getPositionindex() {
+    return lsPositionindex.get(size / 3);
+  }
+  
+  
+  /**
+   * Append one item and remove it again; includes the maintenance of the
+   * order-statistic index.
+   * 
+   * @return the list.
+   */
+  @Benchmark
+  public List<String> insertAtTheEndPositionindex() {
+    lsPositionindex.insertAtTheEnd("new item");
+    lsPositionindex.remove();
+    return lsPositionindex;
+  }
+  
+  
+  /**
+   * Copy the second half of the list into a new list.
+   * 
+   * @return the sub list.
+   */
+  @Benchmark
+  public List<String> subList() {
+    return cursorMiddle.subList();
+  }
+  
+  
+  /**
+   * Take a copy-on-write snapshot of the second half of the list.
+   * 
+   * @return the snapshot.
+   */
+  @Benchmark
+  public Listview<String> subListView() {
+    return cursorMiddle.subListView().snapshot();
+  }
+  
+  
+  /**
+   * Copy the content of the list into an array.
+   * 
+   * @return the array.
+   */
+  @Benchmark
+  public String[] toArrayString() {
+    return ls.toArrayString();
+  }
+}
@@ -0,0 +1,105 @@
+package adt.benchmark;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.model.Securelist;
+
+
+/**
+ * Benchmarks of the {@link Securelist}.
+ * 
+ * <p>
+ * Each inserting benchmark removes the new item inside the same 
+ * transaction, so the list keeps its size during the whole measurement.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Securelistbenchmark {
+
+  
+  /**
+   * The amount of items inside the list.
+   */
+  @Param({"1000", "100000", "1000000" })
+  private int size;
+  
+  
+  /**
+   * The list which is benchmarked.
+   */
+  private Securelist<String> ls;
+  
+  
+  /**
+   * Fill the list and go to its middle.
+   */
+  @Setup
+  public void setup() {
+    ls = new Securelist<String>(Logger.getLogger(getClass().getName()));
+    for (int i = 0; i < size; i++) {
+      ls.insertAtTheEnd("item" + i, Securelist.ID_NO_PREDECESSOR);
+    }
+    ls.toFirst(Securelist.ID_NO_PREDECESSOR, Securelist.ID_NO_PREDECESSOR);
+    for (int i = 0; i < size / 2; i++) {
+      ls.next(Securelist.ID_NO_PREDECESSOR, Securelist.ID_NO_PREDECESSOR);
+    }
+  }
+  
+  
+  /**
+   * Start a transaction, insert one item behind the current element, 
+   * remove it and finish the transaction. Each of the list operations 
+   * performs the transaction and closed action check.
+   * 
+   * @return the list.
+   */
+  @Benchmark
+  public Securelist<String> insertBehind() {
+    final int transactionId = ls.startTransaction("insertBehind", 
+        Securelist.ID_NO_PREDECESSOR);
+    ls.insertBehind("new item", transactionId);
+    ls.remove(transactionId);
+    ls.finishTransaction(transactionId);
+    return ls;
+  }
+}
@@ -0,0 +1,232 @@
+package adt.benchmark;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+//import declarations
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.model.Securelistqueue;
+import adt.model.Securelistsort;
+
+
+/**
+ * Scheduling queue in the hold model: each operation enqueues an item 
+ * with a random priority and dequeues the first item, thus the queue 
+ * keeps its size. The {@link Securelistqueue} dequeues by one call, the 
+ * sorted list by the former sequence <code>toFirst</code>, 
+ * <code>getItem</code>, <code>remove</code> and the 
+ * {@link PriorityQueue} is the binary heap of the JDK.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Securelistqueuebenchmark {
+
+  
+  /**
+   * The id that is passed if there is no transaction / closed action.
+   */
+  private static final int NO_ID = Securelistsort.ID_NO_PREDECESSOR;
+  
+  
+  /**
+   * The amount of pre-computed random priorities.
+   */
+  private static final int AMOUNT_PRIORITIES = 1 << 16;
+  
+  
+  /**
+   * The amount of items inside the queue.
+   */
+  @Param({"1000", "100000", "1000000" })
+  private int size;
+  
+  
+  /**
+   * Pre-computed random priorities.
+   */
+  private double[] priorities;
+  
+  
+  /**
+   * The index of the next priority that is used.
+   */
+  private int indexPriority;
+  
+  
+  /**
+   * The queue facade.
+   */
+  private Securelistqueue<String> queue;
+  
+  
+  /**
+   * The sorted list which is used as queue directly.
+   */
+  private Securelistsort<String> sls;
+  
+  
+  /**
+   * The binary heap.
+   */
+  private PriorityQueue<Entry> heap;
+  
+  
+  /**
+   * Item of the binary heap together with its priority.
+   */
+  private static final class Entry {
+    
+    /**
+     * The item.
+     */
+    private final String item;
+    
+    /**
+     * The priority.
+     */
+    private final double priority;
+    
+    /**
+     * Constructor.
+     * @param xitem the item.
+     * @param xpriority the priority.
+     */
+    private Entry(final String xitem, final double xpriority) {
+      this.item = xitem;
+      this.priority = xpriority;
+    }
+  }
+  
+  
+  /**
+   * Fill the queues with the same items.
+   */
+  @Setup
+  public void setup() {
+    final Random rand = new Random(1);
+    priorities = new double[AMOUNT_PRIORITIES];
+    for (int i = 0; i < priorities.length; i++) {
+      priorities[i] = rand.nextDouble() * size;
+    }
+    
+    final Logger log = Logger.getLogger(
+        Securelistqueuebenchmark.class.getName());
+    queue = new Securelistqueue<String>(log);
+    sls = new Securelistsort<String>(log);
+    heap = new PriorityQueue<Entry>(size, new Comparator<Entry>() {
+      @Override
+      public int compare(final Entry xfirst, final Entry xsecond) {
+        return Double.compare(xfirst.priority, xsecond.priority);
+      }
+    });
+    for (int i = 0; i < size; i++) {
+      final double priority = rand.nextDouble() * size;
+      queue.offer("item" + i, priority);
+      sls.insertSorted("item" + i, priority, NO_ID);
+      heap.offer(new Entry("item" + i, priority));
+    }
+  }
+  
+  
+  /**
+   * Return the next random priority.
+   * @return the priority.
+   */
+  private double nextPriority() {
+    indexPriority = (indexPriority + 1) & (AMOUNT_PRIORITIES - 1);
+    return priorities[indexPriority];
+  }
+  
+  
+  /**
+   * Enqueue an item and dequeue the first one with the 
+   * {@link Securelistqueue}.
+   * 
+   * @return the dequeued item.
+   */
+  @Benchmark
+  public String securelistqueue() {
+    queue.offer("new item", nextPriority());
+    return queue.pollFirst();
+  }
+  
+  
+  /**
+   * Enqueue an item and dequeue the last one with the 
+   * {@link Securelistqueue}; not supported by the binary heap.
+   * 
+   * @return the dequeued item.
+   */
+  @Benchmark
+  public String securelistqueueLast() {
+    queue.offer("new item", nextPriority());
+    return queue.pollLast();
+  }
+  
+  
+  /**
+   * Enqueue an item and dequeue the first one by three calls of the 
+   * sorted list; baseline for {@link #securelistqueue()}.
+   * 
+   * @return the dequeued item.
+   */
+  @Benchmark
+  public String securelistsort() {
+    sls.insertSorted("new item", nextPriority(), NO_ID);
+    sls.toFirst(NO_ID, NO_ID);
+    final String item = sls.getItem();
+    sls.remove(NO_ID);
+    return item;
+  }
+  
+  
+  /**
+   * Enqueue an item and dequeue the first one with the 
+   * {@link PriorityQueue}.
+   * 
+   * @return the dequeued item.
+   */
+  @Benchmark
+  public String priorityQueue() {
+    heap.offer(new Entry("new item", nextPriority()));
+    return heap.poll().item;
+  }
+}
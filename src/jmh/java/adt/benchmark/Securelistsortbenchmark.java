@@ -0,0 +1,682 @@
+package adt.benchmark;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.model.Element;
+import adt.model.Securelistsort;
+
+
+/**
+ * Benchmarks of the {@link Securelistsort}.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Securelistsortbenchmark {
+  
+
+  /**
+   * The id that is passed if there is no transaction / closed action.
+   */
+  private static final int NO_ID = Securelistsort.ID_NO_PREDECESSOR;
+  
+  
+  /**
+   * The amount of pre-computed random sort indices.
+   */
+  private static final int AMOUNT_KEYS = 1 << 16;
+  
+  
+  /**
+   * State containing a list which is sorted. The items are inserted with 
+   * ascending sort indices 0 ... size - 1.
+   */
+  @State(Scope.Thread)
+  public static class Sortedstate {
+
+    /**
+     * The amount of items inside the list.
+     */
+    @Param({"1000", "100000", "1000000" })
+    private int size;
+    
+    /**
+     * The sorted list.
+     */
+    private Securelistsort<String> sls;
+    
+    /**
+     * Pre-computed random sort indices inside the range of the list.
+     */
+    private double[] keys;
+    
+    /**
+     * The index of the next key that is used.
+     */
+    private int indexKey;
+    
+    /**
+     * Fill the list.
+     */
+    @Setup
+    public void setup() {
+      sls = new Securelistsort<String>(
+          Logger.getLogger(Securelistsortbenchmark.class.getName()));
+      for (int i = 0; i < size; i++) {
+        sls.insertSorted("item" + i, i, NO_ID);
+      }
+      
+      final Random rand = new Random(1);
+      keys = new double[AMOUNT_KEYS];
+      for (int i = 0; i < keys.length; i++) {
+        keys[i] = rand.nextDouble() * size;
+      }
+    }
+    
+    /**
+     * Return the next random sort index.
+     * @return the sort index.
+     */
+    private double nextKey() {
+      indexKey = (indexKey + 1) & (AMOUNT_KEYS - 1);
+      return keys[indexKey];
+    }
+  }
+  
+  
+  /**
+   * Base class of the states containing a list whose sort indices are 
+   * scrambled before each invocation of the benchmark.
+   */
+  public abstract static class Scrambledstate {
+    
+    /**
+     * The list which is scrambled before each call.
+     */
+    protected Securelistsort<String> sls;
+    
+    /**
+     * The random generator used for scrambling the list.
+     */
+    private final Random rand = new Random(1);
+    
+    /**
+     * Return the amount of items inside the list.
+     * @return the size.
+     */
+    protected abstract int size();
+    
+    /**
+     * Fill the list.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+      sls = new Securelistsort<String>(
+          Logger.getLogger(Securelistsortbenchmark.class.getName()));
+      for (int i = 0; i < size(); i++) {
+        sls.insertSorted("item" + i, i, NO_ID);
+      }
+    }
+    
+    /**
+     * Assign a random sort index to each element of the list.
+     */
+    @Setup(Level.Invocation)
+    public void scramble() {
+      sls.toFirst(NO_ID, NO_ID);
+      while (!sls.isBehind()) {
+        sls.getElement().setSortedindex(rand.nextInt(size()));
+        sls.next(NO_ID, NO_ID);
+      }
+    }
+  }
+  
+  
+  /**
+   * Scrambled list for {@link Securelistsortbenchmark#resort}.
+   */
+  @State(Scope.Thread)
+  public static class Unsortedstate extends Scrambledstate {
+
+    /**
+     * The amount of items inside the list.
+     */
+    @Param({"1000", "100000", "1000000" })
+    private int size;
+    
+    @Override
+    protected int size() {
+      return size;
+    }
+  }
+  
+  
+  /**
+   * Scrambled list for the quadratic baseline 
+   * {@link Securelistsortbenchmark#resortBubble}, which does not finish
+   * in reasonable time for larger sizes.
+   */
+  @State(Scope.Thread)
+  public static class Smallunsortedstate extends Scrambledstate {
+
+    /**
+     * The amount of items inside the list.
+     */
+    @Param({"1000", "10000" })
+    private int size;
+    
+    @Override
+    protected int size() {
+      return size;
+    }
+  }
+  
+  
+  /**
+   * State containing a sorted list and a batch of items with random sort
+   * indices which is inserted into it. The list is created again before 
+   * each invocation.
+   */
+  @State(Scope.Thread)
+  public static class Batchstate {
+
+    /**
+     * The amount of items inside the list.
+     */
+    @Param({"1000", "100000" })
+    private int size;
+    
+    /**
+     * The amount of items inside the batch.
+     */
+    @Param({"1000", "100000" })
+    private int sizeBatch;
+    
+    /**
+     * The sorted list.
+     */
+    private Securelistsort<String> sls;
+    
+    /**
+     * The items of the batch.
+     */
+    private java.util.List<String> batch;
+    
+    /**
+     * The sort indices of the items of the batch.
+     */
+    private double[] keys;
+    
+    /**
+     * Create the batch.
+     */
+    @Setup(Level.Trial)
+    public void setupBatch() {
+      final Random rand = new Random(1);
+      batch = new ArrayList<String>(sizeBatch);
+      keys = new double[sizeBatch];
+      for (int i = 0; i < sizeBatch; i++) {
+        batch.add("batch" + i);
+        keys[i] = rand.nextDouble() * size;
+      }
+    }
+    
+    /**
+     * Fill the list.
+     */
+    @Setup(Level.Invocation)
+    public void setup() {
+      sls = new Securelistsort<String>(
+          Logger.getLogger(Securelistsortbenchmark.class.getName()));
+      for (int i = 0; i < size; i++) {
+        sls.insertSorted("item" + i, i, NO_ID);
+      }
+    }
+    
+    /**
+     * Return the sort index of an item of the batch.
+     * @param xitem the item.
+     * @return the sort index.
+     */
+    private double key(final String xitem) {
+      return keys[Integer.parseInt(xitem.substring("batch".length()))];
+    }
+  }
+  
+  
+  /**
+   * State containing a sorted list with enabled position index and random
+   * key ranges of a fixed width which are queried.
+   */
+  @State(Scope.Thread)
+  public static class Rangestate {
+
+    /**
+     * The amount of items inside the list.
+     */
+    @Param({"1000", "100000", "1000000" })
+    private int size;
+    
+    /**
+     * The width of the queried key ranges.
+     */
+    @Param({"10", "1000" })
+    private int width;
+    
+    /**
+     * The sorted list.
+     */
+    private Securelistsort<String> sls;
+    
+    /**
+     * Pre-computed random lower bounds of the ranges.
+     */
+    private double[] keys;
+    
+    /**
+     * The index of the next key that is used.
+     */
+    private int indexKey;
+    
+    /**
+     * The amount of items visited by {@link #counter}.
+     */
+    private int amountVisited;
+    
+    /**
+     * Consumer counting the visited items.
+     */
+    private final Consumer<String> counter = new Consumer<String>() {
+      @Override
+      public void accept(final String xitem) {
+        amountVisited++;
+      }
+    };
+    
+    /**
+     * Fill the list.
+     */
+    @Setup
+    public void setup() {
+      sls = new Securelistsort<String>(
+          Logger.getLogger(Securelistsortbenchmark.class.getName()));
+      sls.enablePositionindex();
+      for (int i = 0; i < size; i++) {
+        sls.insertSorted("item" + i, i, NO_ID);
+      }
+      
+      final Random rand = new Random(1);
+      keys = new double[AMOUNT_KEYS];
+      for (int i = 0; i < keys.length; i++) {
+        keys[i] = rand.nextDouble() * Math.max(size - width, 1);
+      }
+    }
+    
+    /**
+     * Return the next random lower bound.
+     * @return the lower bound.
+     */
+    private double nextKey() {
+      indexKey = (indexKey + 1) & (AMOUNT_KEYS - 1);
+      return keys[indexKey];
+    }
+  }
+  
+  
+  /**
+   * State containing a sorted list and its elements, whose sort indices
+   * are changed to random values.
+   */
+  @State(Scope.Thread)
+  public static class Rekeystate {
+
+    /**
+     * The amount of items inside the list.
+     */
+    @Param({"1000", "100000", "1000000" })
+    private int size;
+    
+    /**
+     * The sorted list.
+     */
+    private Securelistsort<String> sls;
+    
+    /**
+     * The elements of the list in the order of their insertion.
+     */
+    private java.util.List<Element<String>> elems;
+    
+    /**
+     * Pre-computed random sort indices inside the range of the list.
+     */
+    private double[] keys;
+    
+    /**
+     * The index of the next key that is used.
+     */
+    private int indexKey;
+    
+    /**
+     * Fill the list.
+     */
+    @Setup
+    public void setup() {
+      sls = new Securelistsort<String>(
+          Logger.getLogger(Securelistsortbenchmark.class.getName()));
+      elems = new ArrayList<Element<String>>(size);
+      for (int i = 0; i < size; i++) {
+        sls.insertSorted("item" + i, i, NO_ID);
+        elems.add(sls.getElement());
+      }
+      
+      final Random rand = new Random(1);
+      keys = new double[AMOUNT_KEYS];
+      for (int i = 0; i < keys.length; i++) {
+        keys[i] = rand.nextDouble() * size;
+      }
+    }
+    
+    /**
+     * Go to a random element and return the next random sort index.
+     * @return the sort index.
+     */
+    private double nextKey() {
+      indexKey = (indexKey + 1) & (AMOUNT_KEYS - 1);
+      sls.goToElement(elems.get(indexKey % size), NO_ID, NO_ID);
+      return keys[indexKey];
+    }
+  }
+  
+  
+  /**
+   * Insert one item at a random position and remove it again.
+   * 
+   * @param xstate 
+   *          the sorted list.
+   *          
+   * @return the list.
+   */
+  @Benchmark
+  public Securelistsort<String> insertSorted(final Sortedstate xstate) {
+    xstate.sls.insertSorted("new item", xstate.nextKey(), NO_ID);
+    xstate.sls.remove(NO_ID);
+    return xstate.sls;
+  }
+  
+  
+  /**
+   * Insert a batch of items with {@link Securelistsort#insertAllSorted}.
+   * 
+   * @param xstate 
+   *          the list and the batch.
+   *          
+   * @return the list.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 3)
+  @Measurement(iterations = 10)
+  public Securelistsort<String> insertAllSorted(final Batchstate xstate) {
+    xstate.sls.insertAllSorted(xstate.batch, xstate::key, NO_ID);
+    return xstate.sls;
+  }
+  
+  
+  /**
+   * Insert a batch of items by one call of 
+   * {@link Securelistsort#insertSorted} per item; baseline for 
+   * {@link #insertAllSorted(Batchstate)}.
+   * 
+   * @param xstate 
+   *          the list and the batch.
+   *          
+   * @return the list.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 3)
+  @Measurement(iterations = 10)
+  public Securelistsort<String> insertSortedEach(final Batchstate xstate) {
+    for (String item : xstate.batch) {
+      xstate.sls.insertSorted(item, xstate.key(item), NO_ID);
+    }
+    return xstate.sls;
+  }
+  
+  
+  /**
+   * Sort a scrambled list with the merge sort of 
+   * {@link Securelistsort#resort()}.
+   * 
+   * @param xstate 
+   *          the scrambled list.
+   *          
+   * @return the list.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 2)
+  @Measurement(iterations = 5)
+  public Securelistsort<String> resort(final Unsortedstate xstate) {
+    xstate.sls.resort();
+    return xstate.sls;
+  }
+  
+  
+  /**
+   * Sort a scrambled list with the bubble-sort passes that have been used
+   * by {@link Securelistsort#resort()} before; baseline for the merge 
+   * sort.
+   * 
+   * @param xstate 
+   *          the scrambled list.
+   *          
+   * @return the list.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 2)
+  @Measurement(iterations = 5)
+  public Securelistsort<String> resortBubble(
+      final Smallunsortedstate xstate) {
+    
+    final Securelistsort<String> sls = xstate.sls;
+    final int transactionId = sls.startTransaction(
+        "Resort the list", NO_ID);
+    
+    int amountSteps = 1;
+    for (int i = 0; i < amountSteps; i++) {
+      amountSteps = 1;
+      
+      sls.toFirst(transactionId, NO_ID);
+      Element<String> elemMaintained = sls.getElement();
+      sls.next(transactionId, NO_ID);
+      
+      while (!sls.isEmpty() && !sls.isBehind()) {
+        
+        final Element<String> elemCurrent = sls.getElement();
+        if (elemMaintained.getSortedindex() 
+            > elemCurrent.getSortedindex()) {
+          
+          //swap the maintained and the current element.
+          final Element<String> elemP = elemMaintained
+              .getElemPredecessor();
+          final Element<String> elemS = elemCurrent.getElemSuccessor();
+          
+          elemMaintained.setElemPredecessor(elemCurrent);
+          elemCurrent.setElemSuccessor(elemMaintained);
+          elemCurrent.setElemPredecessor(elemP);
+          elemP.setElemSuccessor(elemCurrent);
+          elemMaintained.setElemSuccessor(elemS);
+          elemS.setElemPredecessor(elemMaintained);
+        } else {
+          elemMaintained = elemCurrent;
+        }
+        
+        sls.next(transactionId, NO_ID);
+        amountSteps++;
+      }
+    }
+    sls.finishTransaction(transactionId);
+    return sls;
+  }
+  
+  
+  /**
+   * Count the items of a random key range with 
+   * {@link Securelistsort#countRange(double, double)}.
+   * 
+   * @param xstate 
+   *          the list and the ranges.
+   *          
+   * @return the amount of items inside the range.
+   */
+  @Benchmark
+  public int countRange(final Rangestate xstate) {
+    final double from = xstate.nextKey();
+    return xstate.sls.countRange(from, from + xstate.width);
+  }
+  
+  
+  /**
+   * Visit the items of a random key range with 
+   * {@link Securelistsort#forEachInRange}.
+   * 
+   * @param xstate 
+   *          the list and the ranges.
+   *          
+   * @return the amount of visited items.
+   */
+  @Benchmark
+  public int forEachInRange(final Rangestate xstate) {
+    final double from = xstate.nextKey();
+    xstate.sls.forEachInRange(from, from + xstate.width, xstate.counter);
+    return xstate.amountVisited;
+  }
+  
+  
+  /**
+   * Count the items of a random key range by filtering the stream of the
+   * whole list; baseline for {@link #countRange(Rangestate)} and 
+   * {@link #forEachInRange(Rangestate)}.
+   * 
+   * @param xstate 
+   *          the list and the ranges.
+   *          
+   * @return the amount of items inside the range.
+   */
+  @Benchmark
+  public long countRangeScan(final Rangestate xstate) {
+    final double from = xstate.nextKey();
+    final double to = from + xstate.width;
+    long amount = 0;
+    xstate.sls.toFirst(NO_ID, NO_ID);
+    while (!xstate.sls.isBehind()) {
+      final double key = xstate.sls.getElement().getSortedindex();
+      if (key >= from && key < to) {
+        amount++;
+      }
+      xstate.sls.next(NO_ID, NO_ID);
+    }
+    return amount;
+  }
+  
+  
+  /**
+   * Visit the items with the highest sort indices with 
+   * {@link Securelistsort#topK}.
+   * 
+   * @param xstate 
+   *          the list; the width of the ranges is used as k.
+   *          
+   * @return the amount of visited items.
+   */
+  @Benchmark
+  public int topK(final Rangestate xstate) {
+    xstate.sls.topK(xstate.width, xstate.counter);
+    return xstate.amountVisited;
+  }
+  
+  
+  /**
+   * Change the sort index of a random element to a random value with 
+   * {@link Securelistsort#changeSortIndex(double, int)}, which moves the
+   * element to its new position.
+   * 
+   * @param xstate 
+   *          the list and its elements.
+   *          
+   * @return the list.
+   */
+  @Benchmark
+  public Securelistsort<String> changeSortIndex(final Rekeystate xstate) {
+    xstate.sls.changeSortIndex(xstate.nextKey(), NO_ID);
+    return xstate.sls;
+  }
+  
+  
+  /**
+   * Change the sort index of a random element at the element and sort
+   * the list again by {@link Securelistsort#resort()}; baseline for 
+   * {@link #changeSortIndex(Rekeystate)}.
+   * 
+   * @param xstate 
+   *          the list and its elements.
+   *          
+   * @return the list.
+   */
+  @Benchmark
+  public Securelistsort<String> changeSortIndexResort(
+      final Rekeystate xstate) {
+    final double key = xstate.nextKey();
+    xstate.sls.getElement().setSortedindex(key);
+    xstate.sls.resort();
+    return xstate.sls;
+  }
+}
@@ -0,0 +1,128 @@
+package adt.benchmark;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.model.Securelistsort;
+
+
+/**
+ * Checkpointing of a {@link Securelistsort} by Java serialization: 
+ * writing the list into a byte array and reading it back.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class Serializationbenchmark {
+
+  
+  /**
+   * The amount of items inside the list.
+   */
+  @Param({"1000", "100000", "1000000" })
+  private int size;
+  
+  
+  /**
+   * The list which is written.
+   */
+  private Securelistsort<String> sls;
+  
+  
+  /**
+   * The serialized list which is read.
+   */
+  private byte[] bytes;
+  
+  
+  /**
+   * Fill and serialize the list.
+   * 
+   * @throws IOException if writing fails.
+   */
+  @Setup
+  public void setup() throws IOException {
+    sls = new Securelistsort<String>(
+        Logger.getLogger(getClass().getName()));
+    for (int i = 0; i < size; i++) {
+      sls.insertSorted("item" + i, i, Securelistsort.ID_NO_PREDECESSOR);
+    }
+    bytes = write();
+  }
+  
+  
+  /**
+   * Serialize the list.
+   * 
+   * @return the bytes.
+   * @throws IOException if writing fails.
+   */
+  @Benchmark
+  public byte[] write() throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final ObjectOutputStream oos = new ObjectOutputStream(out);
+    oos.writeObject(sls);
+    oos.close();
+    return out.toByteArray();
+  }
+  
+  
+  /**
+   * Deserialize the list.
+   * 
+   * @return the list.
+   * @throws IOException if reading fails.
+   * @throws ClassNotFoundException if a class is unknown.
+   */
+  @Benchmark
+  public Object read() throws IOException, ClassNotFoundException {
+    final ObjectInputStream ois = new ObjectInputStream(
+        new ByteArrayInputStream(bytes));
+    final Object ret = ois.readObject();
+    ois.close();
+    return ret;
+  }
+}
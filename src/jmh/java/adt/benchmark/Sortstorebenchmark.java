@@ -0,0 +1,223 @@
+package adt.benchmark;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.model.Securelistsort;
+import adt.model.Sortstore;
+
+
+/**
+ * Restart of a {@link Securelistsort} which is backed by a memory-mapped 
+ * {@link Sortstore}: opening the store again compared to inserting each 
+ * item by {@link Securelistsort#insertSorted(Object, double, int)}, and 
+ * the cost of appending the records while inserting.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class Sortstorebenchmark {
+
+  
+  /**
+   * The amount of items inside the list.
+   */
+  @Param({"1000", "100000", "1000000" })
+  private int size;
+  
+  
+  /**
+   * The contents in the order of their insertion.
+   */
+  private String[] contents;
+  
+  
+  /**
+   * The sort indices of the contents (random order).
+   */
+  private double[] keys;
+  
+  
+  /**
+   * The file of the filled store which is opened again.
+   */
+  private File file;
+  
+  
+  /**
+   * The file of the compacted store which is opened again.
+   */
+  private File fileCompacted;
+  
+  
+  /**
+   * The file of the store which is filled by {@link #insertSortedStored()}.
+   */
+  private File fileAppend;
+  
+  
+  /**
+   * The logger of the lists.
+   */
+  private Logger log;
+  
+  
+  /**
+   * Create the contents and fill the store.
+   * 
+   * @throws IOException if the store can not be written.
+   */
+  @Setup
+  public void setup() throws IOException {
+    log = Logger.getLogger(getClass().getName());
+    contents = new String[size];
+    keys = new double[size];
+    final Random random = new Random(size);
+    for (int i = 0; i < size; i++) {
+      contents[i] = "item" + i;
+      keys[i] = random.nextInt(size);
+    }
+    
+    file = File.createTempFile("sortstore", ".bin");
+    fileCompacted = File.createTempFile("sortstore", ".bin");
+    fileAppend = File.createTempFile("sortstore", ".bin");
+    file.delete();
+    fileCompacted.delete();
+    final Securelistsort<String> sls = Securelistsort.open(file, 
+        Sortstore.CODEC_STRING, log);
+    for (int i = 0; i < size; i++) {
+      sls.insertSorted(contents[i], keys[i], 
+          Securelistsort.ID_NO_PREDECESSOR);
+    }
+    sls.closeStore();
+    
+    //the compacted store holds the records in sorting order.
+    Files.copy(file.toPath(), fileCompacted.toPath());
+    final Securelistsort<String> slsCompacted = Securelistsort.open(
+        fileCompacted, Sortstore.CODEC_STRING, log);
+    slsCompacted.compactStore();
+    slsCompacted.closeStore();
+  }
+  
+  
+  /**
+   * Delete the files.
+   */
+  @TearDown
+  public void tearDown() {
+    file.delete();
+    fileCompacted.delete();
+    fileAppend.delete();
+  }
+  
+  
+  /**
+   * Restart by opening the store: the records are read and linked in one
+   * pass.
+   * 
+   * @return the list.
+   * @throws IOException if the store can not be opened.
+   */
+  @Benchmark
+  public Securelistsort<String> reopen() throws IOException {
+    final Securelistsort<String> sls = Securelistsort.open(file, 
+        Sortstore.CODEC_STRING, log);
+    sls.closeStore();
+    return sls;
+  }
+  
+  
+  /**
+   * Restart by opening a compacted store whose records do not need to be
+   * reordered.
+   * 
+   * @return the list.
+   * @throws IOException if the store can not be opened.
+   */
+  @Benchmark
+  public Securelistsort<String> reopenCompacted() throws IOException {
+    final Securelistsort<String> sls = Securelistsort.open(fileCompacted, 
+        Sortstore.CODEC_STRING, log);
+    sls.closeStore();
+    return sls;
+  }
+  
+  
+  /**
+   * Restart by inserting each item again.
+   * 
+   * @return the list.
+   */
+  @Benchmark
+  public Securelistsort<String> reinsert() {
+    final Securelistsort<String> sls = new Securelistsort<String>(log);
+    for (int i = 0; i < size; i++) {
+      sls.insertSorted(contents[i], keys[i], 
+          Securelistsort.ID_NO_PREDECESSOR);
+    }
+    return sls;
+  }
+  
+  
+  /**
+   * Insert each item into a list which is backed by an empty store.
+   * 
+   * @return the list.
+   * @throws IOException if the store can not be written.
+   */
+  @Benchmark
+  public Securelistsort<String> insertSortedStored() throws IOException {
+    fileAppend.delete();
+    final Securelistsort<String> sls = Securelistsort.open(fileAppend, 
+        Sortstore.CODEC_STRING, log);
+    for (int i = 0; i < size; i++) {
+      sls.insertSorted(contents[i], keys[i], 
+          Securelistsort.ID_NO_PREDECESSOR);
+    }
+    sls.closeStore();
+    return sls;
+  }
+}
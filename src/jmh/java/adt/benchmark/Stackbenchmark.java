@@ -0,0 +1,178 @@
+package adt.benchmark;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.model.stack.Arraystack;
+import adt.model.stack.Intstack;
+import adt.model.stack.Stack;
+
+
+/**
+ * Work stack of a traversal: push a number of items and pop them again. 
+ * The linked {@link Stack} allocates an element per item, the 
+ * {@link Arraystack} reuses its array (gc.alloc.rate.norm close to 0 B/op
+ * once grown), the bulk operations copy the items at once and the 
+ * {@link Intstack} does not box.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Stackbenchmark {
+
+  
+  /**
+   * The amount of items pushed and popped per operation.
+   */
+  @Param({"1000", "100000", "1000000" })
+  private int size;
+  
+  
+  /**
+   * The items.
+   */
+  private String[] contents;
+  
+  
+  /**
+   * The buffer of the bulk pop.
+   */
+  private String[] buffer;
+  
+  
+  /**
+   * The array-backed stack (reused by each operation).
+   */
+  private Arraystack<String> arraystack;
+  
+  
+  /**
+   * The int stack (reused by each operation).
+   */
+  private Intstack intstack;
+  
+  
+  /**
+   * Create the items and the stacks.
+   */
+  @Setup
+  public void setup() {
+    contents = new String[size];
+    for (int i = 0; i < size; i++) {
+      contents[i] = "item" + i;
+    }
+    buffer = new String[size];
+    arraystack = new Arraystack<String>();
+    intstack = new Intstack();
+  }
+  
+  
+  /**
+   * Push and pop the items with the linked stack.
+   * 
+   * @return the checksum of the popped items.
+   */
+  @Benchmark
+  public int linkedStack() {
+    final Stack<String> stack = new Stack<String>();
+    for (int i = 0; i < size; i++) {
+      stack.insert(contents[i]);
+    }
+    int sum = 0;
+    while (!stack.isEmpty()) {
+      sum += stack.getElemlast().getContent().hashCode();
+      stack.remove();
+    }
+    return sum;
+  }
+  
+  
+  /**
+   * Push and pop the items with the array-backed stack.
+   * 
+   * @return the checksum of the popped items.
+   */
+  @Benchmark
+  public int arraystack() {
+    for (int i = 0; i < size; i++) {
+      arraystack.push(contents[i]);
+    }
+    int sum = 0;
+    while (!arraystack.isEmpty()) {
+      sum += arraystack.pop().hashCode();
+    }
+    return sum;
+  }
+  
+  
+  /**
+   * Push and pop the items at once with the array-backed stack.
+   * 
+   * @return the checksum of the popped items.
+   */
+  @Benchmark
+  public int arraystackBulk() {
+    arraystack.pushAll(contents);
+    final int amount = arraystack.popN(buffer);
+    int sum = 0;
+    for (int i = 0; i < amount; i++) {
+      sum += buffer[i].hashCode();
+    }
+    return sum;
+  }
+  
+  
+  /**
+   * Push and pop the indices of the items with the int stack.
+   * 
+   * @return the checksum of the popped items.
+   */
+  @Benchmark
+  public int intstack() {
+    for (int i = 0; i < size; i++) {
+      intstack.push(i);
+    }
+    int sum = 0;
+    while (!intstack.isEmpty()) {
+      sum += intstack.pop();
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,143 @@
+package adt.benchmark;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.model.List;
+
+
+/**
+ * Sequential and parallel reductions over the stream of a {@link List}. 
+ * The parallel stream splits batches off the element chain; its gain 
+ * depends on the amount of available processors and the cost per item.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Streambenchmark {
+
+  
+  /**
+   * The amount of items inside the list.
+   */
+  @Param({"1000", "100000", "1000000" })
+  private int size;
+  
+  
+  /**
+   * The list which is reduced.
+   */
+  private List<Integer> ls;
+  
+  
+  /**
+   * Fill the list.
+   */
+  @Setup
+  public void setup() {
+    ls = new List<Integer>(Logger.getLogger(getClass().getName()));
+    for (int i = 0; i < size; i++) {
+      ls.insertAtTheEnd(i);
+    }
+  }
+  
+  
+  /**
+   * Sum the items with a sequential stream.
+   * 
+   * @return the sum.
+   */
+  @Benchmark
+  public long sumSequential() {
+    return ls.stream().mapToLong(Integer::longValue).sum();
+  }
+  
+  
+  /**
+   * Sum the items with a parallel stream.
+   * 
+   * @return the sum.
+   */
+  @Benchmark
+  public long sumParallel() {
+    return ls.parallelStream().mapToLong(Integer::longValue).sum();
+  }
+  
+  
+  /**
+   * Sum an expensive function of the items with a sequential stream.
+   * 
+   * @return the sum.
+   */
+  @Benchmark
+  public long hashSequential() {
+    return ls.stream().mapToLong(Streambenchmark::hash).sum();
+  }
+  
+  
+  /**
+   * Sum an expensive function of the items with a parallel stream.
+   * 
+   * @return the sum.
+   */
+  @Benchmark
+  public long hashParallel() {
+    return ls.parallelStream().mapToLong(Streambenchmark::hash).sum();
+  }
+  
+  
+  /**
+   * Expensive function of an item: some rounds of a 64 bit mixing 
+   * function.
+   * 
+   * @param xitem the item.
+   * @return the hash.
+   */
+  private static long hash(final Integer xitem) {
+    long h = xitem;
+    for (int i = 0; i < 64; i++) {
+      h ^= h >>> 33;
+      h *= 0xff51afd7ed558ccdL;
+      h ^= h >>> 33;
+    }
+    return h;
+  }
+}
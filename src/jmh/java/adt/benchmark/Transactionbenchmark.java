@@ -0,0 +1,114 @@
+package adt.benchmark;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.model.Securelist;
+
+
+/**
+ * Benchmarks of the transaction and closed action bookkeeping of the 
+ * {@link Securelist}. In steady state the pooled stacks must not allocate;
+ * gc.alloc.rate.norm is expected to be (close to) 0 B/op.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Transactionbenchmark {
+
+  
+  /**
+   * The id that is passed if there is no transaction / closed action.
+   */
+  private static final int NO_ID = Securelist.ID_NO_PREDECESSOR;
+  
+  
+  /**
+   * The list.
+   */
+  private Securelist<String> ls;
+  
+  
+  /**
+   * Fill the list.
+   */
+  @Setup
+  public void setup() {
+    ls = new Securelist<String>(Logger.getLogger(getClass().getName()));
+    for (int i = 0; i < 100; i++) {
+      ls.insertAtTheEnd("item" + i, NO_ID);
+    }
+  }
+  
+  
+  /**
+   * Start two nested transactions, move inside the inner one and finish 
+   * both.
+   * 
+   * @return the list.
+   */
+  @Benchmark
+  public Securelist<String> transaction() {
+    final int idOuter = ls.startTransaction("outer", NO_ID);
+    final int idInner = ls.startTransaction("inner", idOuter);
+    ls.toFirst(idInner, NO_ID);
+    ls.next(idInner, NO_ID);
+    ls.finishTransaction(idInner);
+    ls.finishTransaction(idOuter);
+    return ls;
+  }
+  
+  
+  /**
+   * Start a closed action, pass some elements and finish it (which 
+   * restores the current element).
+   * 
+   * @return the list.
+   */
+  @Benchmark
+  public Securelist<String> closedAction() {
+    final int id = ls.startClosedAction("pass", NO_ID);
+    ls.next(NO_ID, id);
+    ls.next(NO_ID, id);
+    ls.previous(NO_ID, id);
+    ls.finishClosedAction(id);
+    return ls;
+  }
+}
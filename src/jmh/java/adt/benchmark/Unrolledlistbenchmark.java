@@ -0,0 +1,167 @@
+package adt.benchmark;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import adt.model.List;
+import adt.model.Unrolledlist;
+
+
+/**
+ * Comparison of the element based {@link List} and the chunk based 
+ * {@link Unrolledlist}: passing the list with the cursor and filling a new 
+ * list. The fill benchmarks insert pre-created strings; thus their 
+ * gc.alloc.rate.norm is the memory used by the list structure itself.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Unrolledlistbenchmark {
+
+  
+  /**
+   * The amount of items inside the list.
+   */
+  @Param({"1000", "100000", "1000000" })
+  private int size;
+  
+  
+  /**
+   * The items that are inserted.
+   */
+  private String[] items;
+  
+  
+  /**
+   * The element based list.
+   */
+  private List<String> ls;
+  
+  
+  /**
+   * The chunk based list.
+   */
+  private Unrolledlist<String> lsUnrolled;
+  
+  
+  /**
+   * Fill both lists.
+   */
+  @Setup
+  public void setup() {
+    items = new String[size];
+    for (int i = 0; i < size; i++) {
+      items[i] = "item" + i;
+    }
+    ls = fillList();
+    lsUnrolled = fillUnrolledlist();
+  }
+  
+  
+  /**
+   * Pass the element based list from the beginning to the end.
+   * 
+   * @return the amount of items.
+   */
+  @Benchmark
+  public int traverseList() {
+    int amount = 0;
+    ls.toFirst();
+    while (!ls.isBehind()) {
+      if (ls.getItem() != null) {
+        amount++;
+      }
+      ls.next();
+    }
+    return amount;
+  }
+  
+  
+  /**
+   * Pass the chunk based list from the beginning to the end.
+   * 
+   * @return the amount of items.
+   */
+  @Benchmark
+  public int traverseUnrolledlist() {
+    int amount = 0;
+    lsUnrolled.toFirst();
+    while (!lsUnrolled.isBehind()) {
+      if (lsUnrolled.getItem() != null) {
+        amount++;
+      }
+      lsUnrolled.next();
+    }
+    return amount;
+  }
+  
+  
+  /**
+   * Create a new element based list containing all items.
+   * 
+   * @return the list.
+   */
+  @Benchmark
+  public List<String> fillList() {
+    final List<String> list = new List<String>(
+        Logger.getLogger(getClass().getName()));
+    for (int i = 0; i < items.length; i++) {
+      list.insertAtTheEnd(items[i]);
+    }
+    return list;
+  }
+  
+  
+  /**
+   * Create a new chunk based list containing all items.
+   * 
+   * @return the list.
+   */
+  @Benchmark
+  public Unrolledlist<String> fillUnrolledlist() {
+    final Unrolledlist<String> list = new Unrolledlist<String>(
+        Logger.getLogger(getClass().getName()));
+    for (int i = 0; i < items.length; i++) {
+      list.insertAtTheEnd(items[i]);
+    }
+    return list;
+  }
+}
@@ -48,11 +48,6 @@ public class Closedaction<Closedactiontype> {
   private int idSecurelist = 0;
 
     
-  /**
-   * The unique id of the current closed action.
-   */
-  private static int maxID = 0;
-
     
   /**
    * The name identifying the closed action for debugging purpose and
@@ -70,8 +65,8 @@ public class Closedaction<Closedactiontype> {
     this.name = "";
     this.elemSecure = null;
 
-    //set unique id and change the max id.
-    idSecurelist = maxID++;
+    //set unique id.
+    idSecurelist = Idallocator.nextId();
   }
   
   
@@ -89,6 +84,52 @@ public class Closedaction<Closedactiontype> {
     //set title of transaction
     this.name = xname;
     this.elemSecure = xcontent;
+
+    //set unique id.
+    idSecurelist = Idallocator.nextId();
+  }
+  
+  
+  /**
+   * Constructor of a pooled frame of {@link Securelist}: (initializes) the 
+   * content with start values and the given id instead of allocating a 
+   * new one. The frame gets its id by {@link #reset(String, Element)} 
+   * when it is used.
+   * 
+   * @param xidSecurelist 
+   *           the preliminary id.
+   */
+  Closedaction(final int xidSecurelist) {
+    this.name = "";
+    this.elemSecure = null;
+    this.idSecurelist = xidSecurelist;
+  }
+  
+  
+  /**
+   * Reinitialize the closed action for being reused as a new one: set the 
+   * name and the element and assign a new unique id.
+   * 
+   * @param xname 
+   *           the name of the closed action
+   * @param xcontent  
+   *           the current element in new closed action.
+   */
+  final void reset(
+      final String xname, final Element<Closedactiontype> xcontent) {
+    this.name = xname;
+    this.elemSecure = xcontent;
+    this.idSecurelist = Idallocator.nextId();
+  }
+  
+  
+  /**
+   * Release the element and the name of a closed action which has been 
+   * finished but is kept for being reused.
+   */
+  final void release() {
+    this.name = "";
+    this.elemSecure = null;
   }
   
   
@@ -0,0 +1,210 @@
+package adt.model;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+
+/**
+ * Singly linked list to which several threads can append items 
+ * concurrently without locking.
+ * 
+ * <p>
+ * New items are linked by compare-and-set operations on the successor 
+ * pointer of their predecessor: 
+ * {@link #insertAfterHead(Object)} swings the successor of the head 
+ * sentinel, {@link #insertAtTheEnd(Object)} links the new item behind the 
+ * last one and afterwards advances the tail pointer. The tail pointer may 
+ * lag behind; each thread that notices this advances it (as in the queue 
+ * of Michael and Scott). Items are never removed, thus each item that is 
+ * reachable once stays reachable.
+ * 
+ * <p>
+ * The iteration is weakly consistent: it contains all items that have 
+ * been inserted before the iterator has been created and may contain 
+ * items that are inserted concurrently.
+ * 
+ * @param <Type> the list's type.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+public class Concurrentlist<Type> implements Iterable<Type> {
+
+  
+  /**
+   * Updater for the successor pointer of the nodes.
+   */
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<Node, Node> 
+      UPDATER_SUCCESSOR = AtomicReferenceFieldUpdater.newUpdater(
+          Node.class, Node.class, "successor");
+  
+  
+  /**
+   * Updater for the {@link #tail} pointer.
+   */
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<Concurrentlist, Node> 
+      UPDATER_TAIL = AtomicReferenceFieldUpdater.newUpdater(
+          Concurrentlist.class, Node.class, "tail");
+  
+  
+  /**
+   * The head sentinel which is in front of the first item.
+   */
+  private final Node<Type> head;
+  
+  
+  /**
+   * The last node or one of its predecessors.
+   */
+  private volatile Node<Type> tail;
+  
+  
+  /**
+   * Constructor: initializes the empty list.
+   */
+  public Concurrentlist() {
+    this.head = new Node<Type>(null);
+    this.tail = head;
+  }
+  
+  
+  /**
+   * Returns weather is empty.
+   *
+   * @return weather list is empty.
+   */
+  public final boolean isEmpty() {
+    return head.successor == null;
+  }
+  
+  
+  /**
+   * Inserts s.th. at the beginning of the list.
+   *
+   * @param xnewContent contains the content which is to be inserted.
+   */
+  public final void insertAfterHead(final Type xnewContent) {
+    
+    final Node<Type> node = new Node<Type>(xnewContent);
+    Node<Type> first;
+    do {
+      first = head.successor;
+      node.successor = first;
+    } while (!UPDATER_SUCCESSOR.compareAndSet(head, first, node));
+  }
+  
+  
+  /**
+   * Inserts thing at the end of the list.
+   *
+   * @param xnewContent contains the content which is to be inserted.
+   */
+  @SuppressWarnings("unchecked")
+  public final void insertAtTheEnd(final Type xnewContent) {
+    
+    final Node<Type> node = new Node<Type>(xnewContent);
+    while (true) {
+      
+      final Node<Type> last = tail;
+      final Node<Type> successor = last.successor;
+      if (successor == null) {
+        
+        //the tail is the last node: try to link the new node behind it 
+        //and afterwards try to advance the tail. If this fails, another
+        //thread has already advanced the tail.
+        if (UPDATER_SUCCESSOR.compareAndSet(last, null, node)) {
+          UPDATER_TAIL.compareAndSet(this, last, node);
+          return;
+        }
+      } else {
+        
+        //the tail lags behind: help advancing it and retry.
+        UPDATER_TAIL.compareAndSet(this, last, successor);
+      }
+    }
+  }
+  
+  
+  /**
+   * Return a weakly consistent iterator over the items.
+   * 
+   * @return the iterator.
+   */
+  @Override
+  public final Iterator<Type> iterator() {
+    return new Iterator<Type>() {
+      
+      /**
+       * The node whose item is returned next.
+       */
+      private Node<Type> next = head.successor;
+      
+      @Override
+      public boolean hasNext() {
+        return next != null;
+      }
+      
+      @Override
+      public Type next() {
+        if (next == null) {
+          throw new NoSuchElementException();
+        }
+        final Type content = next.content;
+        next = next.successor;
+        return content;
+      }
+    };
+  }
+  
+  
+  /**
+   * Node of the list which contains one item.
+   * 
+   * @param <Nodetype> the list's type.
+   */
+  private static final class Node<Nodetype> {
+    
+    /**
+     * The content.
+     */
+    private final Nodetype content;
+    
+    /**
+     * The successor node; only changed by compare-and-set once the node is
+     * part of the list. Not private because of the field updater.
+     */
+    volatile Node<Nodetype> successor;
+    
+    /**
+     * Constructor.
+     * 
+     * @param xcontent the content.
+     */
+    private Node(final Nodetype xcontent) {
+      this.content = xcontent;
+    }
+  }
+}
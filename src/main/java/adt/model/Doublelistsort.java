@@ -0,0 +1,501 @@
+package adt.model;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.logging.Logger;
+
+
+/**
+ * Sorted list of primitive values, the primitive sibling of 
+ * {@link Securelistsort}. Each item consists of a <code>long</code> value 
+ * and a <code>double</code> sort index.
+ * 
+ * <p>
+ * The items are not saved inside {@link Element}s but inside two parallel
+ * arrays which are organized as gap buffer: the free space of the arrays 
+ * is located at the position of the last modification. Thus an item costs
+ * 16 bytes (plus the free space of the arrays), the position of a sort 
+ * index is found by binary search and consecutive insertions at nearby 
+ * positions only move the items between both positions.
+ * 
+ * <p>
+ * The cursor methods mirror those of the other lists: the cursor is either
+ * in front of the list, on one item or behind the list.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+public class Doublelistsort implements Serializable {
+
+  /**
+   * Default serial version UID for being able to identify the list's 
+   * version if saved to the disk and check whether it is possible to 
+   * load it or whether important features have been added so that the
+   * saved file is out-dated.
+   */
+  private static final long serialVersionUID = 1L;
+  
+  
+  /**
+   * The value which is returned by {@link #getItem()} if the cursor does 
+   * not point at an item.
+   */
+  public static final long NO_ITEM = Long.MIN_VALUE;
+  
+  
+  /**
+   * The default capacity of the arrays.
+   */
+  private static final int DEFAULT_CAPACITY = 16;
+  
+  
+  /**
+   * The sort indices. The items [0, gapStart) are located at the 
+   * beginning, the items [gapStart, size) at the end of the array.
+   */
+  private double[] keys;
+  
+  
+  /**
+   * The values; organized like {@link #keys}.
+   */
+  private long[] values;
+  
+  
+  /**
+   * The amount of items.
+   */
+  private int size;
+  
+  
+  /**
+   * The first array index of the gap.
+   */
+  private int gapStart;
+  
+  
+  /**
+   * The first array index behind the gap.
+   */
+  private int gapEnd;
+  
+  
+  /**
+   * The position of the cursor: -1 if it is in front of the list, size if
+   * it is behind the list and the index of the current item otherwise.
+   */
+  private int current;
+  
+  
+  /**
+   * Whether to sort ascending or descending.
+   */
+  private boolean sortAsc;
+  
+  
+  /**
+   * The logger used for output. It is not serialized; a deserialized list
+   * uses the logger of this class.
+   */
+  private transient Logger log;
+  
+  
+  /**
+   * Constructor: initializes an empty list with default capacity.
+   * 
+   * @param xlog the logger.
+   */
+  public Doublelistsort(final Logger xlog) {
+    this(xlog, DEFAULT_CAPACITY);
+  }
+  
+  
+  /**
+   * Constructor: initializes an empty list.
+   * 
+   * @param xlog 
+   *          the logger.
+   *          
+   * @param xcapacity 
+   *          the amount of items that can be inserted without growing 
+   *          the arrays.
+   */
+  public Doublelistsort(final Logger xlog, final int xcapacity) {
+    
+    final int capacity = Math.max(1, xcapacity);
+    this.keys = new double[capacity];
+    this.values = new long[capacity];
+    this.size = 0;
+    this.gapStart = 0;
+    this.gapEnd = capacity;
+    this.current = -1;
+    this.sortAsc = true;
+    this.log = xlog;
+  }
+  
+  
+  /*
+   * Functions returning the state of the list
+   */
+
+  /**
+   * Returns weather is empty.
+   *
+   * @return weather list is empty.
+   */
+  public final boolean isEmpty() {
+    return size == 0;
+  }
+  
+  
+  /**
+   * Return weather it is in front of.
+   *
+   * @return weather list is in front of.
+   */
+  public final boolean isInFrontOf() {
+    return current == -1;
+  }
+
+  
+  /**
+   * Return weather list is behind.
+   *
+   * @return weather list is behind.
+   */
+  public final boolean isBehind() {
+    return current == size;
+  }
+  
+  
+  /**
+   * Return the amount of items.
+   * 
+   * @return the size.
+   */
+  public final int size() {
+    return size;
+  }
+  
+  
+  /*
+   * Methods for navigating through the list
+   */
+  
+  /**
+   * Proceed one step in the list.
+   */
+  public final void next() {
+    if (!isBehind()) {
+      current++;
+    }
+  }
+
+  
+  /**
+   * Step back in the list.
+   */
+  public final void previous() {
+    if (!isInFrontOf()) {
+      current--;
+    }
+  }
+  
+  
+  /**
+   * Go to the beginning of the list.
+   */
+  public final void toFirst() {
+    if (isEmpty()) {
+      current = -1;
+    } else {
+      current = 0;
+    }
+  }
+
+  
+  /**
+   * Go to the end of the list.
+   */
+  public final void toLast() {
+    if (isEmpty()) {
+      current = size;
+    } else {
+      current = size - 1;
+    }
+  }
+  
+  
+  /*
+   * Methods for getting content of the list's current item.
+   */
+  
+  /**
+   * Return the value of the current item.
+   * 
+   * @return the value or {@link #NO_ITEM} if the cursor does not point at 
+   *         an item.
+   */
+  public final long getItem() {
+    if (isEmpty() || isInFrontOf() || isBehind()) {
+      return NO_ITEM;
+    } else {
+      return values[physical(current)];
+    }
+  }
+  
+  
+  /**
+   * Return sort index of the current item.
+   *
+   * @return sorted index of current item or -1 if the cursor does not 
+   *         point at an item.
+   */
+  public final double getItemSortionIndex() {
+    if (isEmpty() || isInFrontOf() || isBehind()) {
+      return -1;
+    } else {
+      return keys[physical(current)];
+    }
+  }
+  
+  
+  /*
+   * Methods that change the list.
+   */
+  
+  /**
+   * Replaces the value of the current item.
+   *
+   * @param xvalue the new value.
+   */
+  public final synchronized void replace(final long xvalue) {
+    if (!isEmpty() && !isBehind() && !isInFrontOf()) {
+      values[physical(current)] = xvalue;
+    }
+  }
+  
+  
+  /**
+   * Insert an item sorted; afterwards the cursor points at the new item.
+   * Items with the same sort index keep the order of their insertion.
+   * 
+   * @param xvalue 
+   *         the value to be inserted.
+   * 
+   * @param xsearchCriteria 
+   *         the index of sorting.
+   */
+  public final synchronized void insertSorted(final long xvalue, 
+      final double xsearchCriteria) {
+    
+    final int position = upperBound(xsearchCriteria);
+    moveGap(position);
+    if (gapStart == gapEnd) {
+      grow();
+    }
+    keys[gapStart] = xsearchCriteria;
+    values[gapStart] = xvalue;
+    gapStart++;
+    size++;
+    current = position;
+  }
+  
+  
+  /**
+   * Removes current item. Afterwards the cursor points to the 
+   * predecessor of the removed item.
+   */
+  public final synchronized void remove() {
+    
+    if (!isEmpty() && !isBehind() && !isInFrontOf()) {
+      moveGap(current);
+      gapEnd++;
+      size--;
+      current--;
+    } else {
+      
+      //print warning message
+      log.warning("remove null item out of list: Perform"
+          + " previous or next for being able to pass the list"
+          + " and for not creating an infinite loop");
+      
+      //go to one item that is removable
+      if (isInFrontOf()) {
+        next();
+      }
+      if (isBehind()) {
+        previous();
+      }
+    }
+  }
+  
+  
+  /**
+   * Goes behind the searched position: afterwards the cursor points at the
+   * first item that comes after the sort index or is behind the list.
+   * 
+   * @param xsearchCriteria 
+   *         the index of sorting.
+   */
+  public final void findSorted(final double xsearchCriteria) {
+    current = upperBound(xsearchCriteria);
+  }
+  
+  
+  /**
+   * Set sort criteria to ascending.
+   */
+  public final synchronized void setSortAsc() {
+    if (isEmpty()) {
+      sortAsc = true;
+    } else {
+      log.warning("tried to change sorting order without"
+          + "success: The list is not empty and thus may have"
+          + "been sorted in a different order. " + sortAsc + "true");
+    }
+  }
+  
+  
+  /**
+   * Set sort criteria to descending.
+   */
+  public final synchronized void setsortDesc() {
+    if (isEmpty()) {
+      sortAsc = false;
+    } else {
+      log.warning("tried to change sorting order without"
+          + "success: The list is not empty and thus may have"
+          + "been sorted in a different order. " + sortAsc + "false");
+    }
+  }
+  
+  
+  /*
+   * Methods operating on the gap buffer.
+   */
+  
+  /**
+   * Return the array index of an item.
+   * 
+   * @param xindex the index of the item inside the list.
+   * @return the index inside the arrays.
+   */
+  private int physical(final int xindex) {
+    if (xindex < gapStart) {
+      return xindex;
+    } else {
+      return xindex + gapEnd - gapStart;
+    }
+  }
+  
+  
+  /**
+   * Return the index of the first item that comes after the sort index 
+   * (binary search).
+   * 
+   * @param xsearchCriteria the sort index.
+   * @return the index of the item or size if there is no such item.
+   */
+  private int upperBound(final double xsearchCriteria) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      final double key = keys[physical(middle)];
+      if (sortAsc ? key > xsearchCriteria : key < xsearchCriteria) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+  
+  
+  /**
+   * Move the gap in front of the item with the given index.
+   * 
+   * @param xindex the index of the item.
+   */
+  private void moveGap(final int xindex) {
+    
+    if (xindex < gapStart) {
+      
+      //move the items [xindex, gapStart) behind the gap
+      final int amount = gapStart - xindex;
+      System.arraycopy(keys, xindex, keys, gapEnd - amount, amount);
+      System.arraycopy(values, xindex, values, gapEnd - amount, amount);
+      gapStart -= amount;
+      gapEnd -= amount;
+    } else if (xindex > gapStart) {
+      
+      //move the items behind the gap in front of it
+      final int amount = xindex - gapStart;
+      System.arraycopy(keys, gapEnd, keys, gapStart, amount);
+      System.arraycopy(values, gapEnd, values, gapStart, amount);
+      gapStart += amount;
+      gapEnd += amount;
+    }
+  }
+  
+  
+  /**
+   * Double the capacity of the arrays; the new free space becomes part of
+   * the gap.
+   */
+  private void grow() {
+    
+    final int capacity = keys.length;
+    final int capacityNew = capacity + Math.max(DEFAULT_CAPACITY, capacity);
+    final int amountBehind = capacity - gapEnd;
+    
+    final double[] keysNew = new double[capacityNew];
+    final long[] valuesNew = new long[capacityNew];
+    System.arraycopy(keys, 0, keysNew, 0, gapStart);
+    System.arraycopy(values, 0, valuesNew, 0, gapStart);
+    System.arraycopy(keys, gapEnd, keysNew, capacityNew - amountBehind, 
+        amountBehind);
+    System.arraycopy(values, gapEnd, valuesNew, 
+        capacityNew - amountBehind, amountBehind);
+    
+    keys = keysNew;
+    values = valuesNew;
+    gapEnd = capacityNew - amountBehind;
+  }
+  
+  
+  /**
+   * Read the list and restore the logger.
+   * 
+   * @param xin the input stream.
+   * @throws IOException if reading fails.
+   * @throws ClassNotFoundException if a class is unknown.
+   */
+  private void readObject(final ObjectInputStream xin) 
+      throws IOException, ClassNotFoundException {
+    xin.defaultReadObject();
+    log = Logger.getLogger(Doublelistsort.class.getName());
+  }
+}
@@ -59,14 +59,16 @@ public class Element<Type> implements Serializable {
   private Type content;
 
   /**
-   * Element which comes next.
+   * Element which comes next. The links are not serialized (which would 
+   * recurse along the whole chain); the lists write their items one by 
+   * one and link them again while reading.
    */
-  private Element<Type> elemSuccessor;
+  private transient Element<Type> elemSuccessor;
 
   /**
    * Predecessor element.
    */
-  private Element<Type> elemPredecessor;
+  private transient Element<Type> elemPredecessor;
   
   /**
    * index for sort. Sort ASC.
@@ -0,0 +1,167 @@
+package adt.model;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+
+/**
+ * Spliterator over the contents of an element chain from one element up 
+ * to (excluding) an end element. 
+ * 
+ * <p>
+ * A linked chain can not be split in the middle without passing it; thus 
+ * {@link #trySplit()} copies a batch of contents from the front of the 
+ * chain into an array and returns an array spliterator over it. The batch
+ * grows by {@link #BATCH_UNIT} with each split, so that the amount of 
+ * splits stays logarithmic while the fork-join pool receives work early 
+ * (the same strategy as the spliterator of java.util.LinkedList). 
+ * 
+ * <p>
+ * The size is taken from the maintained item count of the list and 
+ * reduced by each split and each passed item. The chain must not be 
+ * changed while it is passed.
+ * 
+ * @param <Type> the list's type.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+final class Elementspliterator<Type> implements Spliterator<Type> {
+
+  
+  /**
+   * The amount by which the batch grows with each split.
+   */
+  static final int BATCH_UNIT = 1 << 10;
+  
+  
+  /**
+   * The maximal size of a batch.
+   */
+  static final int MAX_BATCH = 1 << 25;
+  
+  
+  /**
+   * The next element which is passed.
+   */
+  private Element<Type> elemCurrent;
+  
+  
+  /**
+   * The element behind the last passed one (the tail sentinel).
+   */
+  private final Element<Type> elemEnd;
+  
+  
+  /**
+   * The amount of remaining items.
+   */
+  private long size;
+  
+  
+  /**
+   * The size of the next batch.
+   */
+  private int batch;
+  
+  
+  /**
+   * Constructor.
+   * 
+   * @param xelemStart 
+   *          the first element which is passed.
+   *          
+   * @param xelemEnd 
+   *          the element behind the last one which is passed.
+   *          
+   * @param xsize 
+   *          the amount of items between both elements.
+   */
+  Elementspliterator(final Element<Type> xelemStart, 
+      final Element<Type> xelemEnd, final long xsize) {
+    this.elemCurrent = xelemStart;
+    this.elemEnd = xelemEnd;
+    this.size = xsize;
+  }
+  
+  
+  @Override
+  public boolean tryAdvance(final Consumer<? super Type> xaction) {
+    if (elemCurrent == elemEnd) {
+      return false;
+    }
+    final Type content = elemCurrent.getContent();
+    elemCurrent = elemCurrent.getElemSuccessor();
+    size--;
+    xaction.accept(content);
+    return true;
+  }
+  
+  
+  @Override
+  public void forEachRemaining(final Consumer<? super Type> xaction) {
+    Element<Type> elem = elemCurrent;
+    elemCurrent = elemEnd;
+    size = 0;
+    while (elem != elemEnd) {
+      xaction.accept(elem.getContent());
+      elem = elem.getElemSuccessor();
+    }
+  }
+  
+  
+  @Override
+  public Spliterator<Type> trySplit() {
+    
+    if (elemCurrent == elemEnd || size <= 1) {
+      return null;
+    }
+    
+    //copy the next batch into an array.
+    final int amount = (int) Math.min(Math.min(batch + BATCH_UNIT, 
+        MAX_BATCH), size);
+    final Object[] contents = new Object[amount];
+    int index = 0;
+    while (index < amount && elemCurrent != elemEnd) {
+      contents[index] = elemCurrent.getContent();
+      elemCurrent = elemCurrent.getElemSuccessor();
+      index++;
+    }
+    batch = index;
+    size -= index;
+    return Spliterators.spliterator(contents, 0, index, characteristics());
+  }
+  
+  
+  @Override
+  public long estimateSize() {
+    return size;
+  }
+  
+  
+  @Override
+  public int characteristics() {
+    return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+  }
+}
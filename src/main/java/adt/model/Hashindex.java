@@ -0,0 +1,171 @@
+package adt.model;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+
+/**
+ * Hash index over the element chain of a list which maps a content to the
+ * element(s) containing it. Thus the lookup of a content needs O(1) steps
+ * instead of passing the list.
+ * 
+ * <p>
+ * The contents are either compared by <code>equals</code> (and 
+ * <code>hashCode</code>) or by identity. In the first case the hash code 
+ * of a content must not change while it is part of the list; the content 
+ * of an element has to be changed by the list's <code>replace</code> 
+ * method (not by {@link Element#setContent(Object)}) for keeping the index
+ * up to date.
+ * 
+ * <p>
+ * If several elements contain the same content, the index returns one of
+ * them which is not necessarily the first one inside the list.
+ * 
+ * @param <Type> the type of the list's content.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+public class Hashindex<Type> {
+
+  
+  /**
+   * Maps a content either to the only element containing it or to an 
+   * ArrayList of the elements containing it.
+   */
+  private final Map<Object, Object> map;
+  
+  
+  /**
+   * Whether the contents are compared by identity.
+   */
+  private final boolean identity;
+  
+  
+  /**
+   * Constructor.
+   * 
+   * @param xidentity 
+   *          whether the contents are compared by identity instead of 
+   *          <code>equals</code>.
+   */
+  public Hashindex(final boolean xidentity) {
+    this.identity = xidentity;
+    if (xidentity) {
+      this.map = new IdentityHashMap<Object, Object>();
+    } else {
+      this.map = new HashMap<Object, Object>();
+    }
+  }
+  
+  
+  /**
+   * Return whether the contents are compared by identity.
+   * 
+   * @return the identity
+   */
+  public final boolean isIdentity() {
+    return identity;
+  }
+  
+  
+  /**
+   * Remove all elements out of the index.
+   */
+  public final void clear() {
+    map.clear();
+  }
+  
+  
+  /**
+   * Add an element to the index.
+   * 
+   * @param xelem the element which has been linked into the list.
+   */
+  @SuppressWarnings("unchecked")
+  public final void add(final Element<Type> xelem) {
+    
+    final Object value = map.put(xelem.getContent(), xelem);
+    
+    //there has already been an element with the same content; thus 
+    //collect the elements inside a list.
+    if (value instanceof Element) {
+      final ArrayList<Element<Type>> elems = new ArrayList<Element<Type>>(2);
+      elems.add((Element<Type>) value);
+      elems.add(xelem);
+      map.put(xelem.getContent(), elems);
+    } else if (value != null) {
+      ((ArrayList<Element<Type>>) value).add(xelem);
+      map.put(xelem.getContent(), value);
+    }
+  }
+  
+  
+  /**
+   * Remove an element out of the index. Has to be called before the 
+   * content of the element is changed.
+   * 
+   * @param xelem the element which is removed out of the list.
+   */
+  @SuppressWarnings("unchecked")
+  public final void remove(final Element<Type> xelem) {
+    
+    final Object value = map.get(xelem.getContent());
+    if (value == xelem) {
+      map.remove(xelem.getContent());
+    } else if (value instanceof ArrayList) {
+      
+      //remove the element by identity.
+      final ArrayList<Element<Type>> elems = 
+          (ArrayList<Element<Type>>) value;
+      for (int i = 0; i < elems.size(); i++) {
+        if (elems.get(i) == xelem) {
+          elems.remove(i);
+          break;
+        }
+      }
+      if (elems.size() == 1) {
+        map.put(xelem.getContent(), elems.get(0));
+      }
+    }
+  }
+  
+  
+  /**
+   * Return an element containing the content.
+   * 
+   * @param xcontent the content.
+   * @return the element or null if the content is not part of the list.
+   */
+  @SuppressWarnings("unchecked")
+  public final Element<Type> get(final Object xcontent) {
+    
+    final Object value = map.get(xcontent);
+    if (value instanceof ArrayList) {
+      return ((ArrayList<Element<Type>>) value).get(0);
+    }
+    return (Element<Type>) value;
+  }
+}
@@ -0,0 +1,427 @@
+package adt.model;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+
+/**
+ * Undo and redo history of a {@link Securelist} 
+ * (see {@link Securelist#enableHistory(int, int)}).
+ * 
+ * <p>
+ * The history does not copy the list but records the changes by the 
+ * elements they affect: an insertion by the new element and its 
+ * predecessor, a removal by the removed element and its predecessor, a
+ * replacement by the element and its former content. The changes of an 
+ * outermost transaction form one group; a change outside a transaction 
+ * forms a group of its own. Undoing a group applies the inverse changes 
+ * in reverse order - the removed elements are linked again behind their 
+ * predecessors which are part of the list at that time - and thus needs 
+ * time proportional to the size of the group.
+ * 
+ * <p>
+ * The history is bounded: if it contains more than the maximal amount of
+ * groups or changes the oldest groups are evicted. Recording a new group
+ * discards the groups which could be redone.
+ * 
+ * @param <Type> the list's type.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+final class History<Type> {
+
+  
+  /**
+   * Change: insertion of an element.
+   */
+  private static final byte OP_INSERT = 1;
+  
+  
+  /**
+   * Change: removal of an element.
+   */
+  private static final byte OP_REMOVE = 2;
+  
+  
+  /**
+   * Change: replacement of the content of an element.
+   */
+  private static final byte OP_REPLACE = 3;
+  
+  
+  /**
+   * The groups which can be undone; the latest one first.
+   */
+  private final ArrayDeque<Group<Type>> undos = 
+      new ArrayDeque<Group<Type>>();
+  
+  
+  /**
+   * The groups which can be redone; the latest undone one first.
+   */
+  private final ArrayDeque<Group<Type>> redos = 
+      new ArrayDeque<Group<Type>>();
+  
+  
+  /**
+   * The group of the running outermost transaction or null.
+   */
+  private Group<Type> groupCurrent;
+  
+  
+  /**
+   * The amount of changes inside the groups which can be undone.
+   */
+  private int amountChanges;
+  
+  
+  /**
+   * The maximal amount of groups.
+   */
+  private final int maxGroups;
+  
+  
+  /**
+   * The maximal amount of changes; the latest group is kept even if it is
+   * larger.
+   */
+  private final int maxChanges;
+  
+  
+  /**
+   * Constructor.
+   * 
+   * @param xmaxGroups the maximal amount of groups.
+   * @param xmaxChanges the maximal amount of changes.
+   */
+  History(final int xmaxGroups, final int xmaxChanges) {
+    this.maxGroups = Math.max(1, xmaxGroups);
+    this.maxChanges = Math.max(1, xmaxChanges);
+  }
+  
+  
+  /**
+   * Return whether there is a group which can be undone.
+   * 
+   * @return whether undo is possible.
+   */
+  boolean canUndo() {
+    return !undos.isEmpty();
+  }
+  
+  
+  /**
+   * Return whether there is a group which can be redone.
+   * 
+   * @return whether redo is possible.
+   */
+  boolean canRedo() {
+    return !redos.isEmpty();
+  }
+  
+  
+  /**
+   * Start collecting the changes of an outermost transaction.
+   */
+  void begin() {
+    commit();
+    groupCurrent = new Group<Type>();
+  }
+  
+  
+  /**
+   * Finish the group of the outermost transaction. A group without 
+   * changes is dropped.
+   */
+  void commit() {
+    if (groupCurrent != null) {
+      final Group<Type> group = groupCurrent;
+      groupCurrent = null;
+      if (group.size > 0) {
+        push(group);
+      }
+    }
+  }
+  
+  
+  /**
+   * Record the insertion of an element (after it has been linked).
+   * 
+   * @param xelem the new element.
+   */
+  void inserted(final Element<Type> xelem) {
+    record(OP_INSERT, xelem, xelem.getElemPredecessor());
+  }
+  
+  
+  /**
+   * Record the removal of an element.
+   * 
+   * @param xelem the removed element.
+   * @param xelemPredecessor the predecessor at the time of the removal.
+   */
+  void removed(final Element<Type> xelem, 
+      final Element<Type> xelemPredecessor) {
+    record(OP_REMOVE, xelem, xelemPredecessor);
+  }
+  
+  
+  /**
+   * Record the replacement of the content of an element.
+   * 
+   * @param xelem the element.
+   * @param xcontentOld the former content.
+   */
+  void replaced(final Element<Type> xelem, final Type xcontentOld) {
+    record(OP_REPLACE, xelem, xcontentOld);
+  }
+  
+  
+  /**
+   * Undo the latest group.
+   * 
+   * @param xlist the list.
+   * @param xjournal the journal which records the inverse changes or null.
+   * @return whether there has been a group to undo.
+   */
+  boolean undo(final List<Type> xlist, final Journal<Type> xjournal) {
+    commit();
+    final Group<Type> group = undos.pollFirst();
+    if (group == null) {
+      return false;
+    }
+    amountChanges -= group.size;
+    for (int i = group.size - 1; i >= 0; i--) {
+      switch (group.ops[i]) {
+      case OP_INSERT:
+        unlink(xlist, xjournal, group.elems[i]);
+        break;
+      case OP_REMOVE:
+        link(xlist, xjournal, group.elems[i], group.args[i]);
+        break;
+      default:
+        swapContent(xlist, xjournal, group, i);
+      }
+    }
+    redos.addFirst(group);
+    return true;
+  }
+  
+  
+  /**
+   * Redo the latest undone group.
+   * 
+   * @param xlist the list.
+   * @param xjournal the journal which records the changes or null.
+   * @return whether there has been a group to redo.
+   */
+  boolean redo(final List<Type> xlist, final Journal<Type> xjournal) {
+    final Group<Type> group = redos.pollFirst();
+    if (group == null) {
+      return false;
+    }
+    for (int i = 0; i < group.size; i++) {
+      switch (group.ops[i]) {
+      case OP_INSERT:
+        link(xlist, xjournal, group.elems[i], group.args[i]);
+        break;
+      case OP_REMOVE:
+        unlink(xlist, xjournal, group.elems[i]);
+        break;
+      default:
+        swapContent(xlist, xjournal, group, i);
+      }
+    }
+    
+    //the group is pushed without discarding the other redo groups.
+    undos.addFirst(group);
+    amountChanges += group.size;
+    evict();
+    return true;
+  }
+  
+  
+  /**
+   * Record a change; outside a transaction it forms a group of its own.
+   * 
+   * @param xop the change.
+   * @param xelem the element.
+   * @param xargument the predecessor or the former content.
+   */
+  private void record(final byte xop, final Element<Type> xelem, 
+      final Object xargument) {
+    if (groupCurrent != null) {
+      groupCurrent.add(xop, xelem, xargument);
+    } else {
+      final Group<Type> group = new Group<Type>();
+      group.add(xop, xelem, xargument);
+      push(group);
+    }
+  }
+  
+  
+  /**
+   * Push a recorded group, discard the redo groups and evict the oldest 
+   * groups if the history is too large.
+   * 
+   * @param xgroup the group.
+   */
+  private void push(final Group<Type> xgroup) {
+    redos.clear();
+    undos.addFirst(xgroup);
+    amountChanges += xgroup.size;
+    evict();
+  }
+  
+  
+  /**
+   * Evict the oldest groups while the history is too large.
+   */
+  private void evict() {
+    while (undos.size() > maxGroups 
+        || (amountChanges > maxChanges && undos.size() > 1)) {
+      amountChanges -= undos.pollLast().size;
+    }
+  }
+  
+  
+  /**
+   * Link an element again.
+   * 
+   * @param xlist the list.
+   * @param xjournal the journal or null.
+   * @param xelem the element.
+   * @param xelemPredecessor the predecessor.
+   */
+  @SuppressWarnings("unchecked")
+  private void link(final List<Type> xlist, final Journal<Type> xjournal,
+      final Element<Type> xelem, final Object xelemPredecessor) {
+    xlist.link(xelem, (Element<Type>) xelemPredecessor);
+    if (xjournal != null) {
+      xjournal.inserted(xelem, xlist.getElemFirst());
+    }
+  }
+  
+  
+  /**
+   * Unlink an element.
+   * 
+   * @param xlist the list.
+   * @param xjournal the journal or null.
+   * @param xelem the element.
+   */
+  private void unlink(final List<Type> xlist, final Journal<Type> xjournal,
+      final Element<Type> xelem) {
+    xlist.unlink(xelem);
+    if (xjournal != null) {
+      xjournal.removed(xelem);
+    }
+  }
+  
+  
+  /**
+   * Exchange the content of an element with the recorded one; thus the 
+   * same change is undone and redone.
+   * 
+   * @param xlist the list.
+   * @param xjournal the journal or null.
+   * @param xgroup the group.
+   * @param xindex the index of the change inside the group.
+   */
+  @SuppressWarnings("unchecked")
+  private void swapContent(final List<Type> xlist, 
+      final Journal<Type> xjournal, final Group<Type> xgroup, 
+      final int xindex) {
+    final Element<Type> elem = xgroup.elems[xindex];
+    final Type content = elem.getContent();
+    xlist.setContent(elem, (Type) xgroup.args[xindex]);
+    xgroup.args[xindex] = content;
+    if (xjournal != null) {
+      xjournal.replaced(elem);
+    }
+  }
+  
+  
+  /**
+   * The changes of one group in parallel arrays.
+   * 
+   * @param <Grouptype> the list's type.
+   */
+  private static final class Group<Grouptype> {
+    
+    /**
+     * The changes.
+     */
+    private byte[] ops = new byte[4];
+    
+    /**
+     * The affected elements.
+     */
+    private Element<Grouptype>[] elems = newElements(4);
+    
+    /**
+     * The predecessors or the former contents.
+     */
+    private Object[] args = new Object[4];
+    
+    /**
+     * The amount of changes.
+     */
+    private int size;
+    
+    
+    /**
+     * Append a change.
+     * 
+     * @param xop the change.
+     * @param xelem the element.
+     * @param xargument the predecessor or the former content.
+     */
+    void add(final byte xop, final Element<Grouptype> xelem, 
+        final Object xargument) {
+      if (size == ops.length) {
+        ops = Arrays.copyOf(ops, 2 * size);
+        elems = Arrays.copyOf(elems, 2 * size);
+        args = Arrays.copyOf(args, 2 * size);
+      }
+      ops[size] = xop;
+      elems[size] = xelem;
+      args[size] = xargument;
+      size++;
+    }
+    
+    
+    /**
+     * Create an array of elements.
+     * 
+     * @param <T> the list's type.
+     * @param xlength the length.
+     * @return the array.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private static <T> Element<T>[] newElements(final int xlength) {
+      return new Element[xlength];
+    }
+  }
+}
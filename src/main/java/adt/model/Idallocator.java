@@ -0,0 +1,96 @@
+package adt.model;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Allocator of the unique ids of transactions and closed actions.
+ * 
+ * <p>
+ * The ids are handed out in blocks: each thread reserves a block of 
+ * {@link #BLOCK_SIZE} consecutive ids by one atomic operation on the 
+ * shared counter and afterwards allocates the ids of its block without 
+ * any synchronization. Thus the ids are unique among all threads and the 
+ * threads do hardly ever contend for the shared counter.
+ * 
+ * <p>
+ * The ids are not negative; thus they never equal 
+ * {@link Securelist#ID_NO_PREDECESSOR}.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+public final class Idallocator {
+
+  
+  /**
+   * The amount of ids which are reserved by a thread at once.
+   */
+  private static final int BLOCK_SIZE = 1024;
+  
+  
+  /**
+   * The first id of the next block which is not reserved yet.
+   */
+  private static final AtomicInteger NEXT_BLOCK = new AtomicInteger();
+  
+  
+  /**
+   * The block of each thread: the next id to be allocated and the first 
+   * id behind the block.
+   */
+  private static final ThreadLocal<int[]> BLOCK = new ThreadLocal<int[]>() {
+    @Override
+    protected int[] initialValue() {
+      return new int[2];
+    }
+  };
+  
+  
+  /**
+   * Utility class; not to be instantiated.
+   */
+  private Idallocator() {
+    
+  }
+  
+  
+  /**
+   * Return a new unique id.
+   * 
+   * @return the id.
+   */
+  public static int nextId() {
+    
+    final int[] block = BLOCK.get();
+    if (block[0] == block[1]) {
+      
+      //the block is used up; reserve the next one.
+      block[0] = NEXT_BLOCK.getAndAdd(BLOCK_SIZE);
+      block[1] = block[0] + BLOCK_SIZE;
+    }
+    
+    //the counter may overflow after 2^31 ids; thus cut off the sign.
+    return (block[0]++) & Integer.MAX_VALUE;
+  }
+}
@@ -0,0 +1,772 @@
+package adt.model;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+
+/**
+ * Append-only write-ahead journal of the changes of a {@link Securelist}
+ * (see {@link Securelist#open(File, Sortstore.Codec, Logger)}).
+ * 
+ * <p>
+ * Each element of the list gets a unique id when it is inserted. The 
+ * journal records insertions (id of the new element, id of its 
+ * predecessor, content), removals (id) and replacements (id, content); 
+ * thus the records do not depend on the current element of the list.
+ * The records of the outermost transaction are collected in memory and 
+ * written together with a commit record when the transaction is 
+ * finished; a change outside a transaction is committed immediately. 
+ * Replaying the journal applies the committed groups; a group whose 
+ * commit record is missing or damaged (crash while writing) is discarded 
+ * and cut off the file.
+ * 
+ * <p>
+ * Each record is written as
+ * <pre>
+ * int length | int crc32 | byte operation | int transaction | long id 
+ *            | long argument | byte[] payload
+ * </pre>
+ * The written groups are forced to the disk together (group commit): 
+ * once {@link #setGroupCommit(int, long)} commits have been written or 
+ * the interval has passed since the last sync. Both conditions are only 
+ * checked when a group is committed; there is no background flush, thus
+ * the groups committed before the list becomes idle stay unsynced until 
+ * the next commit, {@link #sync()} or {@link #close()}. A crash loses at 
+ * most the groups committed since the last sync.
+ * 
+ * <p>
+ * If writing a group fails, the file is cut back to the end of the last 
+ * written group and the journal is marked as failed 
+ * ({@link #isFailed()}): later changes of the list are not recorded 
+ * anymore, since a replay could not apply them without the lost group. 
+ * {@link Securelist#compactJournal()} writes a new journal from the current
+ * items and resets the mark.
+ * 
+ * @param <Type> the type of the items.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+public class Journal<Type> {
+
+  
+  /**
+   * Operation: insertion of an element behind its predecessor.
+   */
+  private static final byte OP_INSERT = 1;
+  
+  
+  /**
+   * Operation: removal of an element.
+   */
+  private static final byte OP_REMOVE = 2;
+  
+  
+  /**
+   * Operation: replacement of the content of an element.
+   */
+  private static final byte OP_REPLACE = 3;
+  
+  
+  /**
+   * Operation: commit of the preceding records.
+   */
+  private static final byte OP_COMMIT = 4;
+  
+  
+  /**
+   * The size of the fixed part of the record body in bytes.
+   */
+  private static final int BODY_HEADER_SIZE = 21;
+  
+  
+  /**
+   * The id of the head of the list, i.e. the predecessor of an element 
+   * that is inserted at the beginning.
+   */
+  private static final long ID_HEAD = 0;
+  
+  
+  /**
+   * The file.
+   */
+  private final File file;
+  
+  
+  /**
+   * The open file.
+   */
+  private RandomAccessFile raf;
+  
+  
+  /**
+   * The channel of the open file.
+   */
+  private FileChannel channel;
+  
+  
+  /**
+   * The codec of the contents.
+   */
+  private final Sortstore.Codec<Type> codec;
+  
+  
+  /**
+   * The logger.
+   */
+  private final Logger log;
+  
+  
+  /**
+   * The ids of the elements of the list.
+   */
+  private IdentityHashMap<Element<Type>, Long> ids = 
+      new IdentityHashMap<Element<Type>, Long>();
+  
+  
+  /**
+   * The id of the next inserted element.
+   */
+  private long idNext = ID_HEAD + 1;
+  
+  
+  /**
+   * The records of the current group which have not been written yet.
+   */
+  private final Recordbuffer group = new Recordbuffer();
+  
+  
+  /**
+   * The id of the outermost transaction whose records are collected or 
+   * {@link Securelist#ID_NO_PREDECESSOR} if there is none.
+   */
+  private int groupTransaction = Securelist.ID_NO_PREDECESSOR;
+  
+  
+  /**
+   * The checksum of the records.
+   */
+  private final CRC32 crc = new CRC32();
+  
+  
+  /**
+   * The amount of commits after which the file is forced to the disk.
+   */
+  private int commitsPerSync = 64;
+  
+  
+  /**
+   * The time after which committed groups are forced to the disk.
+   */
+  private long syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(50);
+  
+  
+  /**
+   * The amount of commits which have been written but not synced.
+   */
+  private int commitsUnsynced;
+  
+  
+  /**
+   * The time of the last sync.
+   */
+  private long syncLast = System.nanoTime();
+  
+  
+  /**
+   * The end of the last group which has been written completely.
+   */
+  private long positionCommitted;
+  
+  
+  /**
+   * Whether writing a group has failed; no more changes are recorded.
+   */
+  private boolean failed;
+  
+  
+  /**
+   * Open or create a journal.
+   * 
+   * @param xfile 
+   *          the file; it is created if it does not exist.
+   *          
+   * @param xcodec 
+   *          the codec of the contents.
+   *          
+   * @param xlog 
+   *          the logger which reports failed writes.
+   *          
+   * @throws IOException 
+   *          if the file can not be opened.
+   */
+  public Journal(final File xfile, final Sortstore.Codec<Type> xcodec,
+      final Logger xlog) throws IOException {
+    this.file = xfile;
+    this.codec = xcodec;
+    this.log = xlog;
+    this.raf = new RandomAccessFile(xfile, "rw");
+    this.channel = raf.getChannel();
+  }
+  
+  
+  /**
+   * Return the file.
+   * 
+   * @return the file
+   */
+  public final File getFile() {
+    return file;
+  }
+  
+  
+  /**
+   * Set when committed groups are forced to the disk.
+   * 
+   * @param xcommitsPerSync 
+   *          the amount of commits after which the file is synced; 1 syncs
+   *          each commit.
+   *          
+   * @param xintervalMillis 
+   *          the time after which the committed groups are synced by the 
+   *          next commit; if no commit follows, they stay unsynced until 
+   *          {@link #sync()} is called.
+   */
+  public final synchronized void setGroupCommit(final int xcommitsPerSync,
+      final long xintervalMillis) {
+    commitsPerSync = Math.max(1, xcommitsPerSync);
+    syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(
+        Math.max(0, xintervalMillis));
+  }
+  
+  
+  /**
+   * Force all committed groups to the disk. Call this if the list becomes
+   * idle and the recent changes must be durable.
+   */
+  public final synchronized void sync() {
+    try {
+      channel.force(false);
+      commitsUnsynced = 0;
+      syncLast = System.nanoTime();
+    } catch (IOException e) {
+      log.severe("failed to sync the journal: " + e.getMessage());
+    }
+  }
+  
+  
+  /**
+   * Return whether writing a group has failed. The changes since then are
+   * not recorded until the journal is rewritten 
+   * ({@link Securelist#compactJournal()}).
+   * 
+   * @return whether the journal has failed.
+   */
+  public final synchronized boolean isFailed() {
+    return failed;
+  }
+  
+  
+  /**
+   * Write the current group, sync and close the file.
+   * 
+   * @throws IOException if closing fails.
+   */
+  public final synchronized void close() throws IOException {
+    if (groupTransaction != Securelist.ID_NO_PREDECESSOR) {
+      commit();
+    }
+    sync();
+    raf.close();
+  }
+  
+  
+  /**
+   * Apply the committed groups of the journal to an empty list and cut off
+   * the records behind the last valid commit.
+   * 
+   * @param xlist the empty list.
+   * @throws IOException if reading fails.
+   */
+  final synchronized void replay(final List<Type> xlist) throws IOException {
+    
+    final HashMap<Long, Element<Type>> elems = 
+        new HashMap<Long, Element<Type>>();
+    final Recordbuffer pending = new Recordbuffer();
+    final long length = raf.length();
+    long positionValid = 0;
+    long position = 0;
+    
+    final DataInputStream in = new DataInputStream(new BufferedInputStream(
+        new FileInputStream(file), 1 << 16));
+    try {
+      byte[] body = new byte[BODY_HEADER_SIZE];
+      while (true) {
+        
+        //read the record; a torn or damaged one ends the journal.
+        final int lengthRecord;
+        final int checksum;
+        try {
+          lengthRecord = in.readInt();
+          checksum = in.readInt();
+          if (lengthRecord < BODY_HEADER_SIZE 
+              || lengthRecord > length - position - 8) {
+            break;
+          }
+          if (body.length < lengthRecord) {
+            body = new byte[Math.max(lengthRecord, 2 * body.length)];
+          }
+          in.readFully(body, 0, lengthRecord);
+        } catch (EOFException e) {
+          break;
+        }
+        crc.reset();
+        crc.update(body, 0, lengthRecord);
+        if ((int) crc.getValue() != checksum) {
+          break;
+        }
+        position += 8 + lengthRecord;
+        
+        //the records of a group are applied once its commit is read.
+        if (body[0] == OP_COMMIT) {
+          apply(xlist, elems, pending.bytes(), pending.size());
+          pending.reset();
+          positionValid = position;
+        } else {
+          pending.writeInt(lengthRecord);
+          pending.write(body, 0, lengthRecord);
+        }
+      }
+    } finally {
+      in.close();
+    }
+    
+    if (positionValid < length) {
+      log.warning("discarded the uncommitted end of the journal " + file
+          + " (" + (length - positionValid) + " bytes).");
+      channel.truncate(positionValid);
+    }
+    channel.position(positionValid);
+    positionCommitted = positionValid;
+    
+    //continue with the ids of the replayed elements.
+    ids = new IdentityHashMap<Element<Type>, Long>(elems.size());
+    for (Map.Entry<Long, Element<Type>> entry 
+        : elems.entrySet()) {
+      ids.put(entry.getValue(), entry.getKey());
+      idNext = Math.max(idNext, entry.getKey() + 1);
+    }
+  }
+  
+  
+  /**
+   * Apply the records of a committed group.
+   * 
+   * @param xlist the list.
+   * @param xelems the elements by id.
+   * @param xbytes the records (each one prefixed by its length).
+   * @param xsize the amount of bytes.
+   */
+  private void apply(final List<Type> xlist, 
+      final HashMap<Long, Element<Type>> xelems, final byte[] xbytes, 
+      final int xsize) {
+    
+    final ByteBuffer records = ByteBuffer.wrap(xbytes, 0, xsize);
+    while (records.hasRemaining()) {
+      final int length = records.getInt();
+      final int start = records.position();
+      final byte operation = records.get();
+      records.getInt();
+      final long id = records.getLong();
+      final long argument = records.getLong();
+      records.limit(start + length);
+      
+      switch (operation) {
+      case OP_INSERT:
+        final Element<Type> elemPredecessor = argument == ID_HEAD 
+            ? xlist.getElemFirst() : xelems.get(argument);
+        if (elemPredecessor == null) {
+          log.severe("journal refers to an unknown element " + argument);
+          break;
+        }
+        xlist.goToElement(elemPredecessor);
+        xlist.insertBehind(codec.decode(records));
+        xelems.put(id, xlist.getElement());
+        break;
+      case OP_REMOVE:
+        final Element<Type> elemRemoved = xelems.remove(id);
+        if (elemRemoved != null) {
+          xlist.goToElement(elemRemoved);
+          xlist.remove();
+        }
+        break;
+      case OP_REPLACE:
+        final Element<Type> elemReplaced = xelems.get(id);
+        if (elemReplaced != null) {
+          xlist.goToElement(elemReplaced);
+          xlist.replace(codec.decode(records));
+        }
+        break;
+      default:
+        log.severe("unknown journal operation " + operation);
+      }
+      records.limit(xsize);
+      records.position(start + length);
+    }
+    xlist.toFirst();
+  }
+  
+  
+  /**
+   * Start collecting the records of an outermost transaction. The records 
+   * are kept in memory until {@link #commit()} is called; a group which 
+   * is still open (i.e. its commit has been missed) is committed first. 
+   * Nothing is collected if the journal has failed.
+   * 
+   * @param xtransactionId 
+   *          the id of the transaction which is written into each record 
+   *          of the group.
+   */
+  final synchronized void begin(final int xtransactionId) {
+    if (failed) {
+      return;
+    }
+    if (groupTransaction != Securelist.ID_NO_PREDECESSOR) {
+      commit();
+    }
+    groupTransaction = xtransactionId;
+  }
+  
+  
+  /**
+   * Write the collected records of the current group together with a 
+   * commit record and sync if the group commit is due. If writing fails, 
+   * the partial group is cut off the file and the journal is marked as 
+   * failed.
+   */
+  final synchronized void commit() {
+    
+    //a transaction without changes is not recorded.
+    if (group.size() == 0 || failed) {
+      group.reset();
+      groupTransaction = Securelist.ID_NO_PREDECESSOR;
+      return;
+    }
+    record(OP_COMMIT, 0, 0, null);
+    groupTransaction = Securelist.ID_NO_PREDECESSOR;
+    try {
+      final ByteBuffer bytes = ByteBuffer.wrap(group.bytes(), 0, 
+          group.size());
+      while (bytes.hasRemaining()) {
+        channel.write(bytes);
+      }
+      positionCommitted = channel.position();
+    } catch (IOException e) {
+      
+      //the groups behind a partial one would be discarded by the replay;
+      //thus nothing is appended anymore.
+      failed = true;
+      log.severe("failed to write the journal " + file + "; the later "
+          + "changes are not recorded: " + e.getMessage());
+      try {
+        channel.truncate(positionCommitted);
+        channel.position(positionCommitted);
+      } catch (IOException eTruncate) {
+        log.severe("failed to cut off the partial group of the journal: " 
+            + eTruncate.getMessage());
+      }
+    }
+    group.reset();
+    
+    commitsUnsynced++;
+    if (commitsUnsynced >= commitsPerSync 
+        || System.nanoTime() - syncLast >= syncIntervalNanos) {
+      sync();
+    }
+  }
+  
+  
+  /**
+   * Record the insertion of an element.
+   * 
+   * @param xelem the new element.
+   * @param xelemHead the head of the list.
+   */
+  final synchronized void inserted(final Element<Type> xelem, 
+      final Element<Type> xelemHead) {
+    final long id = idNext;
+    idNext++;
+    ids.put(xelem, id);
+    final Element<Type> elemPredecessor = xelem.getElemPredecessor();
+    final Long idPredecessor = elemPredecessor == xelemHead 
+        ? Long.valueOf(ID_HEAD) : ids.get(elemPredecessor);
+    if (idPredecessor == null) {
+      log.severe("journal does not know the predecessor of an inserted "
+          + "element; the change is not recorded.");
+      return;
+    }
+    recordChange(OP_INSERT, id, idPredecessor, xelem.getContent());
+  }
+  
+  
+  /**
+   * Record the removal of an element.
+   * 
+   * @param xelem the removed element.
+   */
+  final synchronized void removed(final Element<Type> xelem) {
+    final Long id = ids.remove(xelem);
+    if (id != null) {
+      recordChange(OP_REMOVE, id, 0, null);
+    }
+  }
+  
+  
+  /**
+   * Record the replacement of the content of an element.
+   * 
+   * @param xelem the element.
+   */
+  final synchronized void replaced(final Element<Type> xelem) {
+    final Long id = ids.get(xelem);
+    if (id != null) {
+      recordChange(OP_REPLACE, id, 0, xelem.getContent());
+    }
+  }
+  
+  
+  /**
+   * Rewrite the journal as one group which inserts the items of the list 
+   * and replace the file by it.
+   * 
+   * @param xlist the list.
+   * @throws IOException if writing fails.
+   */
+  final synchronized void rewrite(final List<Type> xlist) 
+      throws IOException {
+    
+    if (groupTransaction != Securelist.ID_NO_PREDECESSOR) {
+      commit();
+    }
+    final File fileCompact = new File(file.getPath() + ".compact");
+    final RandomAccessFile rafCompact = new RandomAccessFile(
+        fileCompact, "rw");
+    final IdentityHashMap<Element<Type>, Long> idsCompact;
+    try {
+      rafCompact.setLength(0);
+      
+      //the elements get consecutive ids.
+      idsCompact = new IdentityHashMap<Element<Type>, Long>(xlist.size());
+      long idPredecessor = ID_HEAD;
+      for (Element<Type> elem = xlist.getElemFirst().getElemSuccessor();
+          elem != xlist.getElemLast(); elem = elem.getElemSuccessor()) {
+        final long id = ID_HEAD + 1 + idsCompact.size();
+        idsCompact.put(elem, id);
+        record(OP_INSERT, id, idPredecessor, elem.getContent());
+        idPredecessor = id;
+        if (group.size() >= 1 << 20) {
+          rafCompact.write(group.bytes(), 0, group.size());
+          group.reset();
+        }
+      }
+      record(OP_COMMIT, 0, 0, null);
+      rafCompact.write(group.bytes(), 0, group.size());
+      rafCompact.getChannel().force(false);
+    } finally {
+      group.reset();
+      rafCompact.close();
+    }
+    
+    raf.close();
+    try {
+      Files.move(fileCompact.toPath(), file.toPath(), 
+          StandardCopyOption.REPLACE_EXISTING, 
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      
+      //continue with the old file if the move has failed.
+      raf = new RandomAccessFile(file, "rw");
+      channel = raf.getChannel();
+      channel.position(channel.size());
+    }
+    
+    //the ids of the old file stay valid until it has been replaced.
+    ids = idsCompact;
+    idNext = ID_HEAD + 1 + idsCompact.size();
+    positionCommitted = channel.position();
+    failed = false;
+  }
+  
+  
+  /**
+   * Record a change and commit it immediately if there is no transaction
+   * running.
+   * 
+   * @param xoperation the operation.
+   * @param xid the id of the element.
+   * @param xargument the argument.
+   * @param xcontent the content or null.
+   */
+  private void recordChange(final byte xoperation, final long xid, 
+      final long xargument, final Type xcontent) {
+    if (failed) {
+      return;
+    }
+    record(xoperation, xid, xargument, xcontent);
+    if (groupTransaction == Securelist.ID_NO_PREDECESSOR) {
+      commit();
+    }
+  }
+  
+  
+  /**
+   * Append a record to the current group.
+   * 
+   * @param xoperation the operation.
+   * @param xid the id of the element.
+   * @param xargument the argument.
+   * @param xcontent the content or null.
+   */
+  private void record(final byte xoperation, final long xid, 
+      final long xargument, final Type xcontent) {
+    
+    final byte[] payload = xcontent == null 
+        ? null : codec.encode(xcontent);
+    final int length = BODY_HEADER_SIZE 
+        + (payload == null ? 0 : payload.length);
+    
+    //the length and the checksum are filled in once the body is written.
+    final int start = group.size();
+    group.writeInt(length);
+    group.writeInt(0);
+    group.writeByte(xoperation);
+    group.writeInt(groupTransaction);
+    group.writeLong(xid);
+    group.writeLong(xargument);
+    if (payload != null) {
+      group.write(payload, 0, payload.length);
+    }
+    crc.reset();
+    crc.update(group.bytes(), start + 8, length);
+    group.setInt(start + 4, (int) crc.getValue());
+  }
+  
+  
+  /**
+   * Growable buffer of records which exposes its array.
+   */
+  private static final class Recordbuffer extends ByteArrayOutputStream {
+    
+    /**
+     * The stream which writes primitives into the buffer.
+     */
+    private final DataOutputStream out = new DataOutputStream(this);
+    
+    
+    /**
+     * Constructor.
+     */
+    Recordbuffer() {
+      super(1 << 12);
+    }
+    
+    
+    /**
+     * Return the array of the buffer.
+     * 
+     * @return the array; valid up to {@link #size()}.
+     */
+    byte[] bytes() {
+      return buf;
+    }
+    
+    
+    /**
+     * Overwrite an int.
+     * 
+     * @param xposition the position.
+     * @param xvalue the value.
+     */
+    void setInt(final int xposition, final int xvalue) {
+      buf[xposition] = (byte) (xvalue >>> 24);
+      buf[xposition + 1] = (byte) (xvalue >>> 16);
+      buf[xposition + 2] = (byte) (xvalue >>> 8);
+      buf[xposition + 3] = (byte) xvalue;
+    }
+    
+    
+    /**
+     * Append an int.
+     * 
+     * @param xvalue the value.
+     */
+    void writeInt(final int xvalue) {
+      try {
+        out.writeInt(xvalue);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+    
+    
+    /**
+     * Append a long.
+     * 
+     * @param xvalue the value.
+     */
+    void writeLong(final long xvalue) {
+      try {
+        out.writeLong(xvalue);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+    
+    
+    /**
+     * Append a byte.
+     * 
+     * @param xvalue the value.
+     */
+    void writeByte(final byte xvalue) {
+      write(xvalue);
+    }
+  }
+}
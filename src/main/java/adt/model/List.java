@@ -21,8 +21,21 @@ package adt.model;
 
 //import declaration
 import java.awt.Point;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Double linked list which is not a ring list. Contains methods for checking
@@ -33,7 +46,7 @@ import java.util.logging.Logger;
  * @author Julius Huelsmann
  * @version %I%, %U%
  */
-public class List<Type> implements Serializable {
+public class List<Type> implements Iterable<Type>, Serializable {
 
   /*
    * variable for saving list:
@@ -46,6 +59,40 @@ public class List<Type> implements Serializable {
    * saved file is out-dated.
    */
   private static final long serialVersionUID = 1L;
+  
+  
+  /**
+   * The minimal amount of registered snapshots at which the registry is 
+   * pruned.
+   */
+  private static final int SNAPSHOTS_PRUNE = 64;
+  
+  
+  /**
+   * Tag of a serialized content which is null.
+   */
+  private static final byte TAG_NULL = 0;
+  
+  
+  /**
+   * Tag of a serialized content which is a short String; it is written as
+   * modified UTF-8 without taking part in the object graph of the stream.
+   */
+  private static final byte TAG_STRING = 1;
+  
+  
+  /**
+   * Tag of a serialized content which is written as object.
+   */
+  private static final byte TAG_OBJECT = 2;
+  
+  
+  /**
+   * The maximal length of a String that is written with 
+   * {@link #TAG_STRING}: each char needs at most three bytes and the 
+   * encoded String must not exceed 65535 bytes.
+   */
+  private static final int MAX_LENGTH_UTF = 65535 / 3;
 
   
   /*
@@ -55,27 +102,90 @@ public class List<Type> implements Serializable {
   /**
    * The first element in list, saved for being able to jump to the beginning
    * of the list very quickly and for a simple is-in-front-of check.
+   * 
+   * <p>
+   * The element chain is not serialized by default (which would recurse 
+   * along the chain) but written item by item by 
+   * {@link #writeObject(ObjectOutputStream)}.
    */
-  private final Element<Type> elemFirst;
+  private transient Element<Type> elemFirst;
 
   
   /**
    * The current element in list.
    */
-  private Element<Type> elemCurrent;
+  private transient Element<Type> elemCurrent;
 
   
   /**
    * The last element in list, saved for being able to jump to the end
    * of the list very quickly and for a simple is-behind check.
    */
-  private final Element<Type> elemLast;
+  private transient Element<Type> elemLast;
   
   
   /**
-   * The logger used for output.
+   * The amount of items inside the list; updated by each insertion and 
+   * removal so that the bulk exports can allocate their arrays without 
+   * counting. Not serialized but counted after the list has been read.
    */
-  private final Logger log;
+  private transient int size;
+  
+  
+  /**
+   * The logger used for output. It is not serializable; thus its name is 
+   * written instead.
+   */
+  private transient Logger log;
+  
+  
+  /**
+   * The optional hash index mapping the contents to their elements; null 
+   * if the list does not maintain a hash index. It is not serialized but
+   * rebuilt after the list has been read.
+   */
+  private transient Hashindex<Type> hashindex;
+  
+  
+  /**
+   * Whether the list maintains a {@link #hashindex}. Serialized instead of 
+   * the index.
+   */
+  private boolean hashindexEnabled;
+  
+  
+  /**
+   * Whether the {@link #hashindex} compares the contents by identity.
+   */
+  private boolean hashindexIdentity;
+  
+  
+  /**
+   * The optional order-statistic index of the positions of the elements; 
+   * null if the list does not maintain it. It is not serialized but 
+   * rebuilt after the list has been read.
+   */
+  private transient Positionindex<Type> positionindex;
+  
+  
+  /**
+   * Whether the list maintains a {@link #positionindex}.
+   */
+  private boolean positionindexEnabled;
+  
+  
+  /**
+   * The snapshot views which still share the elements with the list; they
+   * are copied before the list is changed. Null if there is none.
+   */
+  private transient ArrayList<WeakReference<Listview<Type>>> snapshots;
+  
+  
+  /**
+   * The amount of registered {@link #snapshots} at which the snapshots 
+   * that are not used any more are removed out of the registry.
+   */
+  private transient int snapshotsPrune;
   
   /*
    * Variables for list sorting.
@@ -112,6 +222,16 @@ public class List<Type> implements Serializable {
   public final boolean isEmpty() {
     return (elemFirst.getElemSuccessor() == elemLast);
   }
+  
+  
+  /**
+   * Return the amount of items.
+   * 
+   * @return the size.
+   */
+  public final int size() {
+    return size;
+  }
 
   
   /**
@@ -229,27 +349,167 @@ public class List<Type> implements Serializable {
    */
 
   /**
-   * create subList.
+   * create subList. The current element of the list is not moved.
    * @return list after current item.
    */
   public final List<Type> subList() {
     
-    //create list to be returned.
-    List<Type> ls = new List<Type>(log);
-    Element<Type> elemcurrSaved = elemCurrent;
+    //pass the list with a separate cursor beginning at current element
+    final Listcursor<Type> cursor = newCursor();
+    cursor.goToElement(elemCurrent);
+    return cursor.subList();
+  }
+  
+  
+  /**
+   * Return an iterator over the items of the list. It passes the element
+   * chain directly; thus the current element of the list is not moved. 
+   * The iterator does not support removal.
+   * 
+   * @return the iterator.
+   */
+  @Override
+  public final Iterator<Type> iterator() {
+    return new Iterator<Type>() {
+      private Element<Type> elem = elemFirst.getElemSuccessor();
+      
+      @Override
+      public boolean hasNext() {
+        return elem != elemLast;
+      }
+      
+      @Override
+      public Type next() {
+        if (elem == elemLast) {
+          throw new NoSuchElementException();
+        }
+        final Type content = elem.getContent();
+        elem = elem.getElemSuccessor();
+        return content;
+      }
+    };
+  }
+  
+  
+  /**
+   * Return a spliterator over the items of the list which is sized by the
+   * item count and splits off batches for parallel processing. The list 
+   * must not be changed while it is passed.
+   * 
+   * @return the spliterator.
+   * @see Elementspliterator
+   */
+  @Override
+  public final Spliterator<Type> spliterator() {
+    return new Elementspliterator<Type>(elemFirst.getElemSuccessor(), 
+        elemLast, size);
+  }
+  
+  
+  /**
+   * Return a sequential stream of the items of the list.
+   * 
+   * @return the stream.
+   */
+  public final Stream<Type> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+  
+  
+  /**
+   * Return a parallel stream of the items of the list.
+   * 
+   * @return the stream.
+   */
+  public final Stream<Type> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+  
+  
+  /**
+   * Return a live view of the items from the current element to the end 
+   * of the list (from the first item if the list is in front of its 
+   * items) without copying them.
+   * 
+   * @return the view.
+   * @see Listview
+   */
+  public final Listview<Type> subListView() {
     
-    //go through the list beginning at current element
-    //and insert item
-    while (!isBehind()) {
-      ls.insertAtTheEnd(getItem());
-      next();
+    if (elemCurrent == elemFirst) {
+      return new Listview<Type>(this, elemFirst.getElemSuccessor(), false);
     }
+    return new Listview<Type>(this, elemCurrent, false);
+  }
+  
+  
+  /**
+   * Return a copy-on-write snapshot of the items from an element to the 
+   * end of the list. Synchronized because several readers of a Securelist
+   * may take snapshots at the same time; writers exclude the readers.
+   * 
+   * @param xelemStart 
+   *          the first element or the tail sentinel for an empty view.
+   *          
+   * @return the snapshot.
+   */
+  final synchronized Listview<Type> snapshot(
+      final Element<Type> xelemStart) {
     
-    //reset the previous current element.
-    elemCurrent = elemcurrSaved;
+    final Listview<Type> view = new Listview<Type>(this, xelemStart, true);
+    if (snapshots == null) {
+      snapshots = new ArrayList<WeakReference<Listview<Type>>>(2);
+      snapshotsPrune = SNAPSHOTS_PRUNE;
+    }
     
-    //return list
-    return ls;
+    //if the list is not changed for a long time, the registry would grow
+    //with each snapshot; thus remove the snapshots which have been 
+    //collected from time to time.
+    if (snapshots.size() >= snapshotsPrune) {
+      int amount = 0;
+      for (int i = 0; i < snapshots.size(); i++) {
+        if (snapshots.get(i).get() != null) {
+          snapshots.set(amount, snapshots.get(i));
+          amount++;
+        }
+      }
+      snapshots.subList(amount, snapshots.size()).clear();
+      snapshotsPrune = Math.max(SNAPSHOTS_PRUNE, 2 * amount);
+    }
+    snapshots.add(new WeakReference<Listview<Type>>(view));
+    return view;
+  }
+  
+  
+  /**
+   * Copy the items of the snapshot views which still share the elements 
+   * with the list. Has to be called before the list is changed, also by 
+   * the lists of this package that change the element chain directly.
+   */
+  final void changing() {
+    
+    if (snapshots != null) {
+      final ArrayList<WeakReference<Listview<Type>>> snapshotsOld = 
+          snapshots;
+      snapshots = null;
+      for (int i = 0; i < snapshotsOld.size(); i++) {
+        final Listview<Type> view = snapshotsOld.get(i).get();
+        if (view != null) {
+          view.materialize();
+        }
+      }
+    }
+  }
+  
+  
+  /**
+   * Return a new cursor which passes the list independently of the 
+   * current element of the list. The cursor is in front of the list.
+   * 
+   * @return the cursor.
+   */
+  public final Listcursor<Type> newCursor() {
+    return new Listcursor<Type>(this);
   }
 
   /**
@@ -273,13 +533,20 @@ public class List<Type> implements Serializable {
   public final void replace(final Type xnewContent) {
     
     if (!isEmpty() && !isBehind() && !isInFrontOf()) {
+      changing();
 
       //set insert sorted to be false because this method performs a non-
       //sorted insertion.
 //      isSorted = false;
       
-      //set the new content
-      elemCurrent.setContent(xnewContent);
+      //set the new content; the element is indexed by its content.
+      if (hashindex != null) {
+        hashindex.remove(elemCurrent);
+        elemCurrent.setContent(xnewContent);
+        hashindex.add(elemCurrent);
+      } else {
+        elemCurrent.setContent(xnewContent);
+      }
     }
   }
 
@@ -289,6 +556,7 @@ public class List<Type> implements Serializable {
    * @param xnewContent contains the content which is to be inserted.
    */
   public final void insertBehind(final Type xnewContent) {
+    changing();
 
     //set insert sorted to be false because this method performs a non-
     //sorted insertion.
@@ -315,6 +583,7 @@ public class List<Type> implements Serializable {
       elemCurrent.getElemSuccessor().setElemPredecessor(elemNew);
       elemCurrent.setElemSuccessor(elemNew);
     }
+    linked(elemNew);
 
     this.elemCurrent = elemNew;
   }
@@ -325,8 +594,7 @@ public class List<Type> implements Serializable {
    * @param xnewContent contains the content which is to be inserted.
    */
   public final void insertInFrontOf(final Type xnewContent) {
-    
-
+    changing();
     
     Element<Type> elemNew;
     if (isEmpty()) {
@@ -349,6 +617,7 @@ public class List<Type> implements Serializable {
       elemCurrent.getElemPredecessor().setElemSuccessor(elemNew);
       elemCurrent.setElemPredecessor(elemNew);
     }
+    linked(elemNew);
     this.elemCurrent = elemNew;
   }
 
@@ -361,8 +630,10 @@ public class List<Type> implements Serializable {
     
     //if the current element can be removed
     if (!isEmpty() && !isBehind() && !isInFrontOf()) {
+      changing();
       
       //remove the current element. 
+      unlinking(elemCurrent);
       Element<Type> succ = elemCurrent.getElemSuccessor();
       succ.setElemPredecessor(elemCurrent.getElemPredecessor());
       
@@ -419,13 +690,30 @@ public class List<Type> implements Serializable {
   
   /**
    * Check whether item does already exist in list and if that is the case
-   * point at it with elemCurrent.
+   * point at it with elemCurrent. If the list maintains a hash index 
+   * (see {@link #enableHashindex(boolean)}) the element is looked up in 
+   * O(1); otherwise the list is passed from the beginning.
    * 
    * @param xtype which is checked
    * @return whether the element exists or not
    */
   public final boolean find(final Type xtype) {
     
+    //look up the element inside the hash index. If it is not found go 
+    //behind the list as if it had been passed.
+    if (hashindex != null) {
+      final Element<Type> elem = hashindex.get(xtype);
+      if (elem != null) {
+        elemCurrent = elem;
+        return true;
+      }
+      toFirst();
+      if (!isEmpty()) {
+        elemCurrent = elemLast;
+      }
+      return false;
+    }
+    
     //go to first element
     toFirst();
     
@@ -467,93 +755,565 @@ public class List<Type> implements Serializable {
   
   
   /**
-   * List to array method.
+   * List to array method. Passes the element chain once; the current 
+   * element of the list is not moved.
+   * 
    * @return the array from list.
+   * @see #toArray(Class)
    */
-  public final synchronized Point[] toPntArray() {
+  public final Point[] toPntArray() {
+    return toArray(Point.class);
+  }
+  
 
-    //save the current element of the beginning of passing the list
-    final Element<Type> oldCurrent = elemCurrent;
+  
+  /**
+   * List to array method. Passes the element chain once; the current 
+   * element of the list is not moved.
+   * 
+   * @return the array from list.
+   * @see #toArray(Class)
+   */
+  public final String[] toArrayString() {
+    return toArray(String.class);
+  }
+  
+  
+  /**
+   * Copy the items which are instances of the given class into a new 
+   * array. The array is allocated with the size of the list and filled in
+   * one pass along the element chain; if some items are not instances of 
+   * the class, it is trimmed afterwards. The current element of the list
+   * is not moved; thus several threads can perform this method at the 
+   * same time.
+   * 
+   * @param xclass 
+   *          the component type of the array.
+   *          
+   * @param <T> 
+   *          the component type of the array.
+   *          
+   * @return the array from list.
+   */
+  public final <T> T[] toArray(final Class<T> xclass) {
     
-    //get the length of the array by passing the list once. If the element
-    //is not a DPoint do not count it.
-    int length = 0;
-    toFirst();
-    while (!isBehind()) {
-      if (getItem() instanceof Point) {
-        length++;
+    @SuppressWarnings("unchecked")
+    final T[] ret = (T[]) Array.newInstance(xclass, size);
+    int index = 0;
+    for (Element<Type> elem = elemFirst.getElemSuccessor(); 
+        elem != elemLast && index < ret.length; 
+        elem = elem.getElemSuccessor()) {
+      if (xclass.isInstance(elem.getContent())) {
+        ret[index] = xclass.cast(elem.getContent());
+        index++;
       }
-      next();
     }
+    
+    if (index < ret.length) {
+      return Arrays.copyOf(ret, index);
+    }
+    return ret;
+  }
+  
+  
+  /**
+   * Move items from the beginning of the list into the given array: the 
+   * first items (as many as fit into the array) are copied and removed out
+   * of the list in one pass. If the current element is removed the list 
+   * is in front of its items afterwards, which is the predecessor of the
+   * removed items.
+   * 
+   * @param xarray 
+   *          the array which is filled beginning at index 0.
+   *          
+   * @return the amount of items that have been moved.
+   */
+  public final int drainTo(final Type[] xarray) {
+    changing();
+    
+    int amount = 0;
+    Element<Type> elem = elemFirst.getElemSuccessor();
+    while (elem != elemLast && amount < xarray.length) {
+      
+      xarray[amount] = elem.getContent();
+      amount++;
+      unlinking(elem);
+      if (elem == elemCurrent) {
+        elemCurrent = elemFirst;
+      }
+      
+      //mark the element as not being part of the list (see Listview).
+      final Element<Type> elemSuccessor = elem.getElemSuccessor();
+      elem.setElemPredecessor(null);
+      elem = elemSuccessor;
+    }
+    
+    //unlink the moved items at once.
+    elemFirst.setElemSuccessor(elem);
+    elem.setElemPredecessor(elemFirst);
+    return amount;
+  }
+
 
-    //create array of DPoints
-    Point[] ret = new Point[length];
+  /**
+   * Maintain a hash index of the contents which is used by 
+   * {@link #find(Object)}. The index is built by passing the list once 
+   * and afterwards updated by each insertion, removal and replacement.
+   * 
+   * @param xidentity 
+   *          whether the contents are compared by identity instead of 
+   *          <code>equals</code>.
+   * @see Hashindex
+   */
+  public final void enableHashindex(final boolean xidentity) {
+    hashindexEnabled = true;
+    hashindexIdentity = xidentity;
+    rebuildHashindex();
+  }
+  
+  
+  /**
+   * Do not maintain a hash index any more; {@link #find(Object)} passes 
+   * the list.
+   */
+  public final void disableHashindex() {
+    hashindexEnabled = false;
+    hashindex = null;
+  }
+  
+  
+  /**
+   * Return whether the list maintains a hash index.
+   * 
+   * @return whether the hash index is enabled.
+   */
+  public final boolean isHashindex() {
+    return hashindexEnabled;
+  }
+  
+  
+  /**
+   * Return the hash index or null if the list does not maintain one.
+   * 
+   * @return the hashindex
+   */
+  final Hashindex<Type> getHashindex() {
+    return hashindex;
+  }
+  
+  
+  /**
+   * Maintain an order-statistic index of the positions of the elements; 
+   * afterwards {@link #get(int)}, {@link #goToIndex(int)} and 
+   * {@link #indexOf(Element)} need O(log n) steps instead of passing the 
+   * list. The index is built by passing the list once and afterwards 
+   * updated by each insertion and removal.
+   * 
+   * @see Positionindex
+   */
+  public final void enablePositionindex() {
+    positionindexEnabled = true;
+    rebuildPositionindex();
+  }
+  
+  
+  /**
+   * Do not maintain an order-statistic index any more; the positional 
+   * methods pass the list.
+   */
+  public final void disablePositionindex() {
+    positionindexEnabled = false;
+    positionindex = null;
+  }
+  
+  
+  /**
+   * Return whether the list maintains an order-statistic index.
+   * 
+   * @return whether the position index is enabled.
+   */
+  public final boolean isPositionindex() {
+    return positionindexEnabled;
+  }
+  
+  
+  /*
+   * Positional access.
+   */
+  
+  /**
+   * Return the item at a position without moving the current element.
+   * 
+   * @param xindex the position (the first item has got position 0).
+   * @return the item or null if the position is not inside the list.
+   */
+  public final Type get(final int xindex) {
+    final Element<Type> elem = elementAt(xindex);
+    if (elem == null) {
+      return null;
+    }
+    return elem.getContent();
+  }
+  
+  
+  /**
+   * Go to the item at a position. If the position is negative the list is
+   * in front of its items afterwards; if it is not smaller than the size, 
+   * it is behind them.
+   * 
+   * @param xindex the position (the first item has got position 0).
+   */
+  public final void goToIndex(final int xindex) {
+    if (xindex < 0) {
+      elemCurrent = elemFirst;
+    } else if (xindex >= size) {
+      elemCurrent = elemLast;
+    } else {
+      elemCurrent = elementAt(xindex);
+    }
+  }
+  
+  
+  /**
+   * Return the position of an element.
+   * 
+   * @param xelem the element.
+   * @return the position or -1 if the element is not part of the list.
+   */
+  public final int indexOf(final Element<Type> xelem) {
     
+    if (positionindex != null) {
+      return positionindex.indexOf(xelem);
+    }
     
-    //fill the array
-    toFirst();
     int index = 0;
-    while (!isBehind()) {
-
-      //if item is not a DPoint it is not
-      if (getItem() instanceof Point) {
-        ret [index] = (Point) getItem();
-        index++;
+    for (Element<Type> elem = elemFirst.getElemSuccessor(); 
+        elem != elemLast; elem = elem.getElemSuccessor()) {
+      if (elem == xelem) {
+        return index;
       }
-      next();
+      index++;
     }
+    return -1;
+  }
+  
+  
+  /**
+   * Return the element at a position: by the position index if the list 
+   * maintains it, otherwise by passing the list from the nearer end.
+   * 
+   * @param xindex the position.
+   * @return the element or null if the position is not inside the list.
+   */
+  private Element<Type> elementAt(final int xindex) {
     
-    //reset current element
-    elemCurrent = oldCurrent;
+    if (xindex < 0 || xindex >= size) {
+      return null;
+    } else if (positionindex != null) {
+      return positionindex.get(xindex);
+    }
     
-    //return the array
-    return ret;
+    Element<Type> elem;
+    if (xindex < size / 2) {
+      elem = elemFirst.getElemSuccessor();
+      for (int i = 0; i < xindex; i++) {
+        elem = elem.getElemSuccessor();
+      }
+    } else {
+      elem = elemLast.getElemPredecessor();
+      for (int i = size - 1; i > xindex; i--) {
+        elem = elem.getElemPredecessor();
+      }
+    }
+    return elem;
   }
   
-
   
   /**
-   * List to array method.
-   * @return the array from list.
+   * Add an element to the indices and the size of the list. Has to be 
+   * called by the lists of this package that link elements into the chain
+   * directly, after the element has been linked.
+   * 
+   * @param xelem the element which has been linked into the chain.
    */
-  public final synchronized String[] toArrayString() {
-
-    //save the current element of the beginning of passing the list
-    final Element<Type> oldCurrent = elemCurrent;
-    
-    //get the length of the array by passing the list once. If the element
-    //is not a DPoint do not count it.
-    int length = 0;
-    toFirst();
-    while (!isBehind()) {
-      if (getItem() instanceof String) {
-        length++;
+  final void linked(final Element<Type> xelem) {
+    if (hashindex != null) {
+      hashindex.add(xelem);
+    }
+    if (positionindex != null) {
+      final Element<Type> elemPredecessor = xelem.getElemPredecessor();
+      final Element<Type> elemSuccessor = xelem.getElemSuccessor();
+      positionindex.add(xelem, 
+          elemPredecessor == elemFirst ? null : elemPredecessor,
+          elemSuccessor == elemLast ? null : elemSuccessor);
+    }
+    size++;
+  }
+  
+  
+  /**
+   * Remove an element out of the indices and the size of the list; called
+   * before the element is unlinked.
+   * 
+   * @param xelem the element which is unlinked.
+   */
+  private void unlinking(final Element<Type> xelem) {
+    if (hashindex != null) {
+      hashindex.remove(xelem);
+    }
+    if (positionindex != null) {
+      positionindex.remove(xelem);
+    }
+    size--;
+  }
+  
+  
+  /**
+   * Link an element which is not part of the list (any more) behind 
+   * another one. Used for restoring removed elements (see {@link History}).
+   * 
+   * @param xelem the element which is linked.
+   * @param xelemPredecessor the predecessor (or the head of the list).
+   */
+  final void link(final Element<Type> xelem, 
+      final Element<Type> xelemPredecessor) {
+    changing();
+    final Element<Type> elemSuccessor = xelemPredecessor.getElemSuccessor();
+    xelem.setElemPredecessor(xelemPredecessor);
+    xelem.setElemSuccessor(elemSuccessor);
+    xelemPredecessor.setElemSuccessor(xelem);
+    elemSuccessor.setElemPredecessor(xelem);
+    linked(xelem);
+  }
+  
+  
+  /**
+   * Unlink an element of the list. If it is the current element the 
+   * current element becomes its predecessor (like {@link #remove()}).
+   * 
+   * @param xelem the element which is unlinked.
+   */
+  final void unlink(final Element<Type> xelem) {
+    changing();
+    unlinking(xelem);
+    xelem.getElemPredecessor().setElemSuccessor(xelem.getElemSuccessor());
+    xelem.getElemSuccessor().setElemPredecessor(xelem.getElemPredecessor());
+    if (elemCurrent == xelem) {
+      elemCurrent = xelem.getElemPredecessor();
+    }
+  }
+  
+  
+  /**
+   * Unlink a run of consecutive elements of the list at once; afterwards
+   * the current element is the predecessor of the run (like after 
+   * removing its elements one by one by {@link #remove()}). The removed 
+   * elements stay linked among each other.
+   * 
+   * @param xelemStart the first element of the run.
+   * @param xelemEnd the element behind the run (or the tail of the list).
+   */
+  final void unlinkRange(final Element<Type> xelemStart, 
+      final Element<Type> xelemEnd) {
+    changing();
+    for (Element<Type> elem = xelemStart; elem != xelemEnd; 
+        elem = elem.getElemSuccessor()) {
+      unlinking(elem);
+    }
+    final Element<Type> elemPredecessor = xelemStart.getElemPredecessor();
+    elemPredecessor.setElemSuccessor(xelemEnd);
+    xelemEnd.setElemPredecessor(elemPredecessor);
+    elemCurrent = elemPredecessor;
+  }
+  
+  
+  /**
+   * Set the content of an element of the list (like {@link #replace(Object)}
+   * without moving the current element).
+   * 
+   * @param xelem the element.
+   * @param xcontent the new content.
+   */
+  final void setContent(final Element<Type> xelem, final Type xcontent) {
+    changing();
+    if (hashindex != null) {
+      hashindex.remove(xelem);
+      xelem.setContent(xcontent);
+      hashindex.add(xelem);
+    } else {
+      xelem.setContent(xcontent);
+    }
+  }
+  
+  
+  /**
+   * Rebuild the position dependent indices after the element chain has 
+   * been reordered. Has to be called by the lists of this package that 
+   * relink the elements directly.
+   */
+  final void relinked() {
+    rebuildPositionindex();
+  }
+  
+  
+  /**
+   * Create the position index (if enabled) by passing the element chain 
+   * once.
+   */
+  private void rebuildPositionindex() {
+    if (positionindexEnabled) {
+      if (positionindex == null) {
+        positionindex = new Positionindex<Type>();
       }
-      next();
+      positionindex.rebuild(elemFirst, elemLast);
     }
-
-    //create array of DPoints
-    String[] ret = new String[length];
+  }
+  
+  
+  /**
+   * Create the hash index (if enabled) by passing the element chain once.
+   */
+  private void rebuildHashindex() {
+    if (hashindexEnabled) {
+      hashindex = new Hashindex<Type>(hashindexIdentity);
+      for (Element<Type> elem = elemFirst.getElemSuccessor(); 
+          elem != elemLast; elem = elem.getElemSuccessor()) {
+        hashindex.add(elem);
+      }
+    }
+  }
+  
+  
+  /**
+   * Write the list: the default fields (the settings of the indices), the 
+   * name of the logger, the amount of items followed by the content and 
+   * the raw sort index of each item and finally the position of the 
+   * current element (-1 if in front of the list, the amount of items if 
+   * behind it). The element chain is passed iteratively; thus long lists
+   * do not overflow the stack.
+   * 
+   * <p>
+   * Each content is preceded by a tag: Strings (the common case) are 
+   * written as UTF without an entry in the handle table of the stream, 
+   * other contents as objects.
+   * 
+   * @param xout the output stream.
+   * @throws IOException if writing fails.
+   */
+  private void writeObject(final ObjectOutputStream xout) 
+      throws IOException {
     
+    xout.defaultWriteObject();
+    xout.writeObject(log == null ? null : log.getName());
+    xout.writeInt(size);
     
-    //fill the array
-    toFirst();
-    int index = 0;
-    while (!isBehind()) {
-
-      //if item is not a DPoint it is not
-      if (getItem() instanceof String) {
-        ret [index] = (String) getItem();
-        index++;
+    int positionCurrent = elemCurrent == elemFirst ? -1 : size;
+    int position = 0;
+    for (Element<Type> elem = elemFirst.getElemSuccessor(); 
+        elem != elemLast; elem = elem.getElemSuccessor()) {
+      writeContent(xout, elem.getContent());
+      xout.writeDouble(elem.getSortedindex());
+      if (elem == elemCurrent) {
+        positionCurrent = position;
       }
-      next();
+      position++;
     }
+    xout.writeInt(positionCurrent);
+  }
+  
+  
+  /**
+   * Write the tag and the content of one item.
+   * 
+   * @param xout the output stream.
+   * @param xcontent the content.
+   * @throws IOException if writing fails.
+   */
+  private static void writeContent(final ObjectOutputStream xout, 
+      final Object xcontent) throws IOException {
     
-    //reset current element
-    elemCurrent = oldCurrent;
+    if (xcontent == null) {
+      xout.writeByte(TAG_NULL);
+    } else if (xcontent.getClass() == String.class
+        && ((String) xcontent).length() <= MAX_LENGTH_UTF) {
+      xout.writeByte(TAG_STRING);
+      xout.writeUTF((String) xcontent);
+    } else {
+      xout.writeByte(TAG_OBJECT);
+      xout.writeObject(xcontent);
+    }
+  }
+  
+  
+  /**
+   * Read the content of one item written by 
+   * {@link #writeContent(ObjectOutputStream, Object)}.
+   * 
+   * @param xin the input stream.
+   * @return the content.
+   * @throws IOException if reading fails or the tag is unknown.
+   * @throws ClassNotFoundException if a class of the content is unknown.
+   */
+  private static Object readContent(final ObjectInputStream xin) 
+      throws IOException, ClassNotFoundException {
     
-    //return the array
-    return ret;
+    final byte tag = xin.readByte();
+    switch (tag) {
+    case TAG_NULL:
+      return null;
+    case TAG_STRING:
+      return xin.readUTF();
+    case TAG_OBJECT:
+      return xin.readObject();
+    default:
+      throw new StreamCorruptedException("unknown content tag " + tag);
+    }
+  }
+  
+  
+  /**
+   * Read the list written by {@link #writeObject(ObjectOutputStream)}: 
+   * link the elements directly and rebuild the transient indices.
+   * 
+   * @param xin the input stream.
+   * @throws IOException if reading fails.
+   * @throws ClassNotFoundException if a class of the content is unknown.
+   */
+  @SuppressWarnings("unchecked")
+  private void readObject(final ObjectInputStream xin) 
+      throws IOException, ClassNotFoundException {
+    
+    xin.defaultReadObject();
+    final String logName = (String) xin.readObject();
+    log = Logger.getLogger(logName == null 
+        ? List.class.getName() : logName);
+    
+    elemFirst = new Element<Type>(null, null, null);
+    elemLast = new Element<Type>(null, null, elemFirst);
+    elemFirst.setElemSuccessor(elemLast);
+    elemCurrent = elemFirst;
+    
+    size = xin.readInt();
+    final int positionCurrent;
+    Element<Type> elemPredecessor = elemFirst;
+    for (int i = 0; i < size; i++) {
+      final Element<Type> elem = new Element<Type>(
+          (Type) readContent(xin), elemLast, elemPredecessor);
+      elem.setSortedindex(xin.readDouble());
+      elemPredecessor.setElemSuccessor(elem);
+      elemPredecessor = elem;
+    }
+    elemLast.setElemPredecessor(elemPredecessor);
+    
+    positionCurrent = xin.readInt();
+    if (positionCurrent >= size) {
+      elemCurrent = elemLast;
+    } else if (positionCurrent >= 0) {
+      elemCurrent = elementAt(positionCurrent);
+    }
+    
+    rebuildHashindex();
+    rebuildPositionindex();
   }
 
 
@@ -564,4 +1324,28 @@ public class List<Type> implements Serializable {
     return log;
   }
   
+  
+  /**
+   * Return the head sentinel element which is in front of the first item.
+   * Used by the lists of this package that relink the element chain 
+   * directly.
+   * 
+   * @return the elemFirst
+   */
+  final Element<Type> getElemFirst() {
+    return elemFirst;
+  }
+  
+  
+  /**
+   * Return the tail sentinel element which is behind the last item.
+   * Used by the lists of this package that relink the element chain 
+   * directly.
+   * 
+   * @return the elemLast
+   */
+  final Element<Type> getElemLast() {
+    return elemLast;
+  }
+  
 }
@@ -0,0 +1,289 @@
+package adt.model;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+/**
+ * Cursor over the elements of a {@link List} that is independent of the
+ * list's own current element.
+ * 
+ * <p>
+ * Each thread that only reads the list can obtain its own cursor 
+ * ({@link List#newCursor()}, {@link Securelist#newCursor()}, 
+ * {@link Securelistsort#newCursor()}) and pass the list with it. Moving a 
+ * cursor neither changes the current element of the list nor takes part 
+ * in the closed actions and transactions of the Securelist; thus several 
+ * read-only traversals can run in parallel. A cursor itself is not 
+ * thread-safe and is not to be shared between threads.
+ * 
+ * @param <Type> the list's type.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+public class Listcursor<Type> {
+
+  
+  /**
+   * The list which is passed.
+   */
+  private final List<Type> ls;
+  
+  
+  /**
+   * The head sentinel of the list.
+   */
+  private final Element<Type> elemFirst;
+  
+  
+  /**
+   * The tail sentinel of the list.
+   */
+  private final Element<Type> elemLast;
+  
+  
+  /**
+   * The current element of this cursor.
+   */
+  private Element<Type> elemCurrent;
+  
+  
+  /**
+   * Constructor: the new cursor is in front of the list.
+   * 
+   * @param xls the list.
+   */
+  Listcursor(final List<Type> xls) {
+    this.ls = xls;
+    this.elemFirst = xls.getElemFirst();
+    this.elemLast = xls.getElemLast();
+    this.elemCurrent = elemFirst;
+  }
+  
+  
+  /*
+   * Functions returning the state of the cursor
+   */
+
+  /**
+   * Return weather the cursor is in front of the list.
+   *
+   * @return weather the cursor is in front of.
+   */
+  public final boolean isInFrontOf() {
+    return (elemCurrent == elemFirst);
+  }
+
+  
+  /**
+   * Return weather the cursor is behind the list.
+   *
+   * @return weather the cursor is behind.
+   */
+  public final boolean isBehind() {
+    return (elemCurrent == elemLast);
+  }
+  
+  
+  /*
+   * Methods for navigating through the list
+   */
+  
+  /**
+   * Proceed one step in the list.
+   */
+  public final void next() {
+    if (!isBehind()) {
+      elemCurrent = elemCurrent.getElemSuccessor();
+    }
+  }
+
+  
+  /**
+   * Step back in the list.
+   */
+  public final void previous() {
+    if (!isInFrontOf()) {
+      elemCurrent = elemCurrent.getElemPredecessor();
+    }
+  }
+  
+  
+  /**
+   * Go to the beginning of the list.
+   */
+  public final void toFirst() {
+    elemCurrent = elemFirst.getElemSuccessor();
+    if (elemCurrent == elemLast) {
+      elemCurrent = elemFirst;
+    }
+  }
+
+  
+  /**
+   * Go to the end of the list.
+   */
+  public final void toLast() {
+    elemCurrent = elemLast.getElemPredecessor();
+    if (elemCurrent == elemFirst) {
+      elemCurrent = elemLast;
+    }
+  }
+  
+
+  /**
+   * Go to a special element (has to be inside the list).
+   * 
+   * @param xelemCurrent the current element in the future.
+   */
+  public final void goToElement(final Element<Type> xelemCurrent) {
+    elemCurrent = xelemCurrent;
+  }
+  
+  
+  /*
+   * Methods for getting content of the cursor's current element.
+   */
+  
+  /**
+   * Return the content of the current element.
+   *
+   * @return the content or null if the cursor does not point at an item.
+   */
+  public final Type getItem() {
+    if (isInFrontOf() || isBehind()) {
+      return null;
+    } else {
+      return elemCurrent.getContent();
+    }
+  }
+  
+  
+  /**
+   * Return current Element.
+   *
+   * @return current Element or null if the cursor does not point at an 
+   *         item.
+   */
+  public final Element<Type> getElement() {
+    if (isInFrontOf() || isBehind()) {
+      return null;
+    } else {
+      return elemCurrent;
+    }
+  }
+  
+  
+  /**
+   * Return sort index of the current Element.
+   *
+   * @return sorted index of current Element.
+   */
+  public final double getItemSortionIndex() {
+    if (isInFrontOf() || isBehind()) {
+      return -1;
+    } else {
+      return elemCurrent.getSortedindex();
+    }
+  }
+  
+  
+  /*
+   * Read-only traversals.
+   */
+  
+  /**
+   * Check whether item does already exist in list and if that is the case
+   * point at it with this cursor. Uses the hash index of the list if it 
+   * maintains one.
+   * 
+   * @param xtype which is checked
+   * @return whether the element exists or not
+   */
+  public final boolean find(final Type xtype) {
+    
+    //look up the element inside the hash index of the list (if any).
+    final Hashindex<Type> hashindex = ls.getHashindex();
+    if (hashindex != null) {
+      final Element<Type> elem = hashindex.get(xtype);
+      if (elem != null) {
+        elemCurrent = elem;
+        return true;
+      }
+      
+      //not found: be behind the list as if it had been passed.
+      toFirst();
+      if (!isInFrontOf()) {
+        elemCurrent = elemLast;
+      }
+      return false;
+    }
+    
+    //go to first element and go through list
+    toFirst();
+    while (!isBehind() && !isInFrontOf()) {
+
+      //if found item return (and exit)
+      if (elemCurrent.getContent().equals(xtype)) {
+        return true;
+      }
+      next();  
+    }
+    
+    //not found and reached end of list.
+    return false;
+  }
+  
+  
+  /**
+   * Return a live view of the items from the current element of this 
+   * cursor to the end of the list without copying them.
+   * 
+   * @return the view.
+   * @see Listview
+   */
+  public final Listview<Type> subListView() {
+    
+    if (elemCurrent == elemFirst) {
+      return new Listview<Type>(ls, elemFirst.getElemSuccessor(), false);
+    }
+    return new Listview<Type>(ls, elemCurrent, false);
+  }
+  
+  
+  /**
+   * Create a new list containing the items from the current element of 
+   * this cursor to the end of the list.
+   * 
+   * @return list after current item.
+   */
+  public final List<Type> subList() {
+    
+    final List<Type> lsSub = new List<Type>(ls.getLog());
+    Element<Type> elem = elemCurrent;
+    if (elem == elemFirst) {
+      elem = elem.getElemSuccessor();
+    }
+    while (elem != elemLast) {
+      lsSub.insertAtTheEnd(elem.getContent());
+      elem = elem.getElemSuccessor();
+    }
+    return lsSub;
+  }
+}
@@ -0,0 +1,261 @@
+package adt.model;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+
+/**
+ * View of the items of a {@link List} from one element to the end of the 
+ * list that does not copy the items. Creating a view needs O(1) time and 
+ * memory.
+ * 
+ * <p>
+ * A live view ({@link List#subListView()}) always shows the current state 
+ * of the list behind its first element; it is valid as long as its first
+ * element is part of the list. A snapshot ({@link #snapshot()}) shows the
+ * items at the time it has been taken: it shares the elements with the 
+ * list until the list is changed the next time. Before that change the 
+ * list copies the items of the snapshot into an array (copy-on-write); 
+ * thus the copy is only paid for if the list is really changed.
+ * 
+ * <p>
+ * A view is not thread-safe; if the list is changed by other threads it 
+ * is to be passed inside a read transaction of the Securelist.
+ * 
+ * @param <Type> the list's type.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+public class Listview<Type> implements Iterable<Type> {
+
+  
+  /**
+   * The list which is viewed.
+   */
+  private final List<Type> ls;
+  
+  
+  /**
+   * The first element of the view or the tail sentinel of the list if the 
+   * view is empty.
+   */
+  private final Element<Type> elemStart;
+  
+  
+  /**
+   * Whether the view is a snapshot.
+   */
+  private final boolean snapshot;
+  
+  
+  /**
+   * The copied items of a snapshot; null as long as the snapshot shares 
+   * the elements with the list.
+   */
+  private Object[] contents;
+  
+  
+  /**
+   * Constructor.
+   * 
+   * @param xls 
+   *          the list.
+   *          
+   * @param xelemStart 
+   *          the first element or the tail sentinel for an empty view.
+   *          
+   * @param xsnapshot 
+   *          whether the view is a snapshot.
+   */
+  Listview(final List<Type> xls, final Element<Type> xelemStart, 
+      final boolean xsnapshot) {
+    this.ls = xls;
+    this.elemStart = xelemStart;
+    this.snapshot = xsnapshot;
+  }
+  
+  
+  /**
+   * Return whether the view is a snapshot.
+   * 
+   * @return the snapshot
+   */
+  public final boolean isSnapshot() {
+    return snapshot;
+  }
+  
+  
+  /**
+   * Return a snapshot of the current items of this view. The snapshot of
+   * a snapshot is the snapshot itself.
+   * 
+   * @return the snapshot.
+   */
+  public final Listview<Type> snapshot() {
+    if (snapshot) {
+      return this;
+    }
+    return ls.snapshot(elemStart);
+  }
+  
+  
+  /**
+   * Return the amount of items of the view. Needs O(1) steps for a copied
+   * snapshot and if the list maintains a position index, otherwise the 
+   * view is passed.
+   * 
+   * @return the size.
+   */
+  public final int size() {
+    
+    if (contents != null) {
+      return contents.length;
+    } else if (!isValid()) {
+      return 0;
+    } else if (elemStart == ls.getElemLast()) {
+      return 0;
+    } else if (ls.isPositionindex()) {
+      return ls.size() - ls.indexOf(elemStart);
+    }
+    
+    int size = 0;
+    for (Element<Type> elem = elemStart; elem != ls.getElemLast(); 
+        elem = elem.getElemSuccessor()) {
+      size++;
+    }
+    return size;
+  }
+  
+  
+  /**
+   * Return whether the view does not contain any item.
+   * 
+   * @return whether the view is empty.
+   */
+  public final boolean isEmpty() {
+    if (contents != null) {
+      return contents.length == 0;
+    }
+    return !isValid() || elemStart == ls.getElemLast();
+  }
+  
+  
+  /**
+   * Copy the items of the view into a new list.
+   * 
+   * @return the new list.
+   */
+  public final List<Type> toList() {
+    final List<Type> lsNew = new List<Type>(ls.getLog());
+    for (Type content : this) {
+      lsNew.insertAtTheEnd(content);
+    }
+    return lsNew;
+  }
+  
+  
+  /**
+   * Return an iterator over the items of the view. The iterator does not 
+   * support removal.
+   * 
+   * @return the iterator.
+   */
+  @Override
+  public final Iterator<Type> iterator() {
+    
+    if (contents != null) {
+      return new Iterator<Type>() {
+        private int index = 0;
+        
+        @Override
+        public boolean hasNext() {
+          return index < contents.length;
+        }
+        
+        @SuppressWarnings("unchecked")
+        @Override
+        public Type next() {
+          if (index >= contents.length) {
+            throw new NoSuchElementException();
+          }
+          index++;
+          return (Type) contents[index - 1];
+        }
+      };
+    }
+    
+    final Element<Type> elemLast = ls.getElemLast();
+    return new Iterator<Type>() {
+      private Element<Type> elem = isValid() ? elemStart : elemLast;
+      
+      @Override
+      public boolean hasNext() {
+        return elem != elemLast;
+      }
+      
+      @Override
+      public Type next() {
+        if (elem == elemLast) {
+          throw new NoSuchElementException();
+        }
+        final Type content = elem.getContent();
+        elem = elem.getElemSuccessor();
+        return content;
+      }
+    };
+  }
+  
+  
+  /**
+   * Copy the items of a snapshot into an array; called by the list before
+   * it is changed.
+   */
+  final void materialize() {
+    if (contents == null) {
+      final Object[] contentsNew = new Object[size()];
+      int index = 0;
+      for (Type content : this) {
+        contentsNew[index] = content;
+        index++;
+      }
+      contents = contentsNew;
+    }
+  }
+  
+  
+  /**
+   * Return whether the first element of the view is still part of the 
+   * list.
+   * 
+   * @return whether the view is valid.
+   */
+  private boolean isValid() {
+    if (elemStart == ls.getElemLast()) {
+      return true;
+    }
+    final Element<Type> elemPredecessor = elemStart.getElemPredecessor();
+    return elemPredecessor != null 
+        && elemPredecessor.getElemSuccessor() == elemStart;
+  }
+}
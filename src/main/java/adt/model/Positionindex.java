@@ -0,0 +1,461 @@
+package adt.model;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.util.IdentityHashMap;
+
+
+/**
+ * Order-statistic index over the element chain of a list: a treap whose 
+ * in-order sequence mirrors the element chain and whose nodes know the 
+ * amount of nodes inside their subtree. Thus the element at a position 
+ * and the position of an element are found in O(log n) (expected).
+ * 
+ * <p>
+ * The tree is ordered by position only; a new node is linked next to the
+ * node of its neighbour inside the chain and rotated upwards by its random
+ * priority. The nodes of the elements are found by an identity map.
+ * 
+ * @param <Type> the type of the list's content.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+public class Positionindex<Type> {
+
+  
+  /**
+   * The root of the treap or null if it is empty.
+   */
+  private Positionnode<Type> root;
+  
+  
+  /**
+   * Maps each indexed element to its node.
+   */
+  private final IdentityHashMap<Element<Type>, Positionnode<Type>> nodes;
+  
+  
+  /**
+   * The state of the xorshift generator of the priorities.
+   */
+  private int seed;
+  
+  
+  /**
+   * Constructor: initializes an empty index.
+   */
+  public Positionindex() {
+    this.nodes = new IdentityHashMap<Element<Type>, Positionnode<Type>>();
+    this.seed = System.identityHashCode(this) | 1;
+  }
+  
+  
+  /**
+   * Return the amount of indexed elements.
+   * 
+   * @return the size.
+   */
+  public final int size() {
+    return count(root);
+  }
+  
+  
+  /**
+   * Remove all elements out of the index.
+   */
+  public final void clear() {
+    root = null;
+    nodes.clear();
+  }
+  
+  
+  /**
+   * Rebuild the index out of the element chain in O(n): the nodes are 
+   * appended along the right spine of the treap (Cartesian tree 
+   * construction) and the subtree sizes are computed afterwards.
+   * 
+   * @param xelemFirst the head sentinel of the chain.
+   * @param xelemLast the tail sentinel of the chain.
+   */
+  public final void rebuild(final Element<Type> xelemFirst, 
+      final Element<Type> xelemLast) {
+    
+    clear();
+    
+    //the right spine of the treap; the last node is the rightmost one.
+    Positionnode<Type>[] spine = newNodes(32);
+    int depth = 0;
+    int amount = 0;
+    for (Element<Type> elem = xelemFirst.getElemSuccessor(); 
+        elem != xelemLast; elem = elem.getElemSuccessor()) {
+      
+      final Positionnode<Type> node = new Positionnode<Type>(elem, 
+          nextPriority());
+      nodes.put(elem, node);
+      amount++;
+      
+      //pop the spine nodes with lower priority; the last of them becomes
+      //the left child of the new node.
+      Positionnode<Type> nodeLast = null;
+      while (depth > 0 && spine[depth - 1].priority < node.priority) {
+        depth--;
+        nodeLast = spine[depth];
+      }
+      node.left = nodeLast;
+      if (nodeLast != null) {
+        nodeLast.parent = node;
+      }
+      if (depth > 0) {
+        spine[depth - 1].right = node;
+        node.parent = spine[depth - 1];
+      } else {
+        root = node;
+        node.parent = null;
+      }
+      if (depth == spine.length) {
+        final Positionnode<Type>[] spineNew = newNodes(
+            spine.length * 2);
+        System.arraycopy(spine, 0, spineNew, 0, spine.length);
+        spine = spineNew;
+      }
+      spine[depth] = node;
+      depth++;
+    }
+    
+    //compute the subtree sizes bottom-up: collect the nodes in pre-order
+    //(each parent in front of its descendants) and handle them in reverse
+    //order.
+    final Positionnode<Type>[] order = newNodes(amount);
+    final Positionnode<Type>[] stack = newNodes(amount);
+    int amountOrder = 0;
+    int top = 0;
+    if (root != null) {
+      stack[top] = root;
+      top++;
+    }
+    while (top > 0) {
+      top--;
+      final Positionnode<Type> node = stack[top];
+      order[amountOrder] = node;
+      amountOrder++;
+      if (node.left != null) {
+        stack[top] = node.left;
+        top++;
+      }
+      if (node.right != null) {
+        stack[top] = node.right;
+        top++;
+      }
+    }
+    for (int i = amountOrder - 1; i >= 0; i--) {
+      order[i].update();
+    }
+  }
+  
+  
+  /**
+   * Add an element which has been linked into the chain directly behind 
+   * the given element.
+   * 
+   * @param xelem 
+   *          the new element.
+   *          
+   * @param xpredecessor 
+   *          the indexed predecessor of the new element or null if the new
+   *          element is the first one of the list.
+   *          
+   * @param xsuccessor 
+   *          the indexed successor of the new element or null if the new 
+   *          element is the last one of the list.
+   */
+  public final void add(final Element<Type> xelem, 
+      final Element<Type> xpredecessor, final Element<Type> xsuccessor) {
+    
+    final Positionnode<Type> node = new Positionnode<Type>(xelem, 
+        nextPriority());
+    nodes.put(xelem, node);
+    
+    //link the node as leaf directly behind the node of the predecessor 
+    //or in front of the node of the successor.
+    if (root == null) {
+      root = node;
+      return;
+    } else if (xpredecessor != null) {
+      Positionnode<Type> nodeParent = nodes.get(xpredecessor);
+      if (nodeParent.right == null) {
+        nodeParent.right = node;
+      } else {
+        nodeParent = nodeParent.right;
+        while (nodeParent.left != null) {
+          nodeParent = nodeParent.left;
+        }
+        nodeParent.left = node;
+      }
+      node.parent = nodeParent;
+    } else {
+      Positionnode<Type> nodeParent = nodes.get(xsuccessor);
+      if (nodeParent.left == null) {
+        nodeParent.left = node;
+      } else {
+        nodeParent = nodeParent.left;
+        while (nodeParent.right != null) {
+          nodeParent = nodeParent.right;
+        }
+        nodeParent.right = node;
+      }
+      node.parent = nodeParent;
+    }
+    
+    for (Positionnode<Type> n = node.parent; n != null; n = n.parent) {
+      n.count++;
+    }
+    
+    //restore the heap order of the priorities.
+    while (node.parent != null && node.parent.priority < node.priority) {
+      rotateUp(node);
+    }
+  }
+  
+  
+  /**
+   * Remove an element out of the index.
+   * 
+   * @param xelem the element which is removed out of the list.
+   */
+  public final void remove(final Element<Type> xelem) {
+    
+    final Positionnode<Type> node = nodes.remove(xelem);
+    if (node == null) {
+      return;
+    }
+    
+    //rotate the node downwards until it is a leaf.
+    while (node.left != null || node.right != null) {
+      if (node.left == null) {
+        rotateUp(node.right);
+      } else if (node.right == null 
+          || node.left.priority > node.right.priority) {
+        rotateUp(node.left);
+      } else {
+        rotateUp(node.right);
+      }
+    }
+    
+    final Positionnode<Type> nodeParent = node.parent;
+    if (nodeParent == null) {
+      root = null;
+    } else if (nodeParent.left == node) {
+      nodeParent.left = null;
+    } else {
+      nodeParent.right = null;
+    }
+    for (Positionnode<Type> n = nodeParent; n != null; n = n.parent) {
+      n.count--;
+    }
+  }
+  
+  
+  /**
+   * Return the element at a position.
+   * 
+   * @param xindex the position (beginning at 0).
+   * @return the element or null if the position is not inside the list.
+   */
+  public final Element<Type> get(final int xindex) {
+    
+    if (xindex < 0 || xindex >= count(root)) {
+      return null;
+    }
+    
+    int index = xindex;
+    Positionnode<Type> node = root;
+    while (true) {
+      final int countLeft = count(node.left);
+      if (index < countLeft) {
+        node = node.left;
+      } else if (index == countLeft) {
+        return node.elem;
+      } else {
+        index -= countLeft + 1;
+        node = node.right;
+      }
+    }
+  }
+  
+  
+  /**
+   * Return the position of an element.
+   * 
+   * @param xelem the element.
+   * @return the position or -1 if the element is not indexed.
+   */
+  public final int indexOf(final Element<Type> xelem) {
+    
+    Positionnode<Type> node = nodes.get(xelem);
+    if (node == null) {
+      return -1;
+    }
+    int index = count(node.left);
+    while (node.parent != null) {
+      if (node.parent.right == node) {
+        index += count(node.parent.left) + 1;
+      }
+      node = node.parent;
+    }
+    return index;
+  }
+  
+  
+  /**
+   * Rotate a node above its parent.
+   * 
+   * @param xnode the node.
+   */
+  private void rotateUp(final Positionnode<Type> xnode) {
+    
+    final Positionnode<Type> nodeParent = xnode.parent;
+    final Positionnode<Type> nodeGrandparent = nodeParent.parent;
+    if (nodeParent.left == xnode) {
+      nodeParent.left = xnode.right;
+      if (xnode.right != null) {
+        xnode.right.parent = nodeParent;
+      }
+      xnode.right = nodeParent;
+    } else {
+      nodeParent.right = xnode.left;
+      if (xnode.left != null) {
+        xnode.left.parent = nodeParent;
+      }
+      xnode.left = nodeParent;
+    }
+    nodeParent.parent = xnode;
+    xnode.parent = nodeGrandparent;
+    if (nodeGrandparent == null) {
+      root = xnode;
+    } else if (nodeGrandparent.left == nodeParent) {
+      nodeGrandparent.left = xnode;
+    } else {
+      nodeGrandparent.right = xnode;
+    }
+    nodeParent.update();
+    xnode.update();
+  }
+  
+  
+  /**
+   * Return the next random priority (xorshift).
+   * 
+   * @return the priority.
+   */
+  private int nextPriority() {
+    seed ^= seed << 13;
+    seed ^= seed >>> 17;
+    seed ^= seed << 5;
+    return seed;
+  }
+  
+  
+  /**
+   * Create an array of nodes.
+   * 
+   * @param <T> the type of the indexed list.
+   * @param xlength the length.
+   * @return the array.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes" })
+  private static <T> Positionnode<T>[] newNodes(final int xlength) {
+    return new Positionnode[xlength];
+  }
+  
+  
+  /**
+   * Return the amount of nodes inside a subtree.
+   * 
+   * @param xnode the root of the subtree or null.
+   * @return the amount of nodes.
+   */
+  private static int count(final Positionnode<?> xnode) {
+    if (xnode == null) {
+      return 0;
+    }
+    return xnode.count;
+  }
+  
+  
+  /**
+   * Node of the treap which references one element of the list.
+   * 
+   * @param <Type> the type of the list's content.
+   */
+  private static final class Positionnode<Type> {
+    
+    /**
+     * The element.
+     */
+    private final Element<Type> elem;
+    
+    /**
+     * The random priority; a parent has a higher priority than its 
+     * children.
+     */
+    private final int priority;
+    
+    /**
+     * The amount of nodes inside the subtree of this node.
+     */
+    private int count;
+    
+    /**
+     * The left child (elements in front of this one).
+     */
+    private Positionnode<Type> left;
+    
+    /**
+     * The right child (elements behind this one).
+     */
+    private Positionnode<Type> right;
+    
+    /**
+     * The parent node or null for the root.
+     */
+    private Positionnode<Type> parent;
+    
+    /**
+     * Constructor: creates a leaf.
+     * 
+     * @param xelem the element.
+     * @param xpriority the random priority.
+     */
+    private Positionnode(final Element<Type> xelem, final int xpriority) {
+      this.elem = xelem;
+      this.priority = xpriority;
+      this.count = 1;
+    }
+    
+    /**
+     * Compute the amount of nodes from the children.
+     */
+    private void update() {
+      count = 1 + count(left) + count(right);
+    }
+  }
+}
@@ -19,10 +19,20 @@ package adt.model;
  */
 
 import java.awt.Point;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import adt.model.stack.Stack;
+import adt.model.stack.Framestack;
 
 
 /**
@@ -50,11 +60,36 @@ import adt.model.stack.Stack;
  * shell be able to change the state of the list, the method start-transaction
  * is called before the action and end-transaction afterwards.
  * 
+ * <p>
+ * Read-write locking mode ({@link #setReadwriteLocking(boolean)}):
+ * Transactions only check the nesting of operations. If the list is shared
+ * between threads, the read-write locking mode separates reading from 
+ * writing operations: the methods that change the list (insert, remove, 
+ * replace) or move the shared current element (next, previous, find, ...)
+ * take exclusive ownership of the list, the methods that only read the 
+ * content of the current element are optimistic and do not block at all,
+ * and the traversals with a {@link Listcursor} as well as read 
+ * transactions ({@link #startReadTransaction()}) share the list among 
+ * each other.
+ * 
+ * <p>
+ * Journal ({@link #open(File, Sortstore.Codec, Logger)}):
+ * The changes (insert, remove, replace) can be recorded by a write-ahead
+ * {@link Journal}. The changes of an outermost transaction are written 
+ * together when it is finished; opening the journal again replays the 
+ * finished transactions.
+ * 
+ * <p>
+ * History ({@link #enableHistory(int, int)}):
+ * The changes of an outermost transaction can be undone and redone as a 
+ * whole ({@link #undo()}, {@link #redo()}).
+ * 
  * @author Julius Huelsmann
  * @version %I%, %U%
  * @param <Securelisttype>  the type of the SecureList.
  */
-public class Securelist<Securelisttype> implements Serializable {
+public class Securelist<Securelisttype> 
+    implements Iterable<Securelisttype>, Serializable {
 
   /**
    * Default serial version UID for being able to identify the list's 
@@ -77,6 +112,13 @@ public class Securelist<Securelisttype> implements Serializable {
    * there is no predecessor transaction / closed action.
    */
   public static final int ID_NO_PREDECESSOR = -1;
+  
+  
+  /**
+   * The stamp returned by {@link #lockRead()} if the thread already holds
+   * the read lock. A StampedLock never returns a negative stamp.
+   */
+  private static final long STAMP_NESTED = -1L;
 
   
   /**
@@ -104,7 +146,8 @@ public class Securelist<Securelisttype> implements Serializable {
    * and to add items to list but it is only possible to pass the list
    * by using next and previous methods and to check the current element.
    */
-  private  Stack<Closedaction<Securelisttype>> stckClosedaction;
+  private transient Framestack<Closedaction<Securelisttype>> 
+      stckClosedaction;
   
 
   /**
@@ -115,8 +158,68 @@ public class Securelist<Securelisttype> implements Serializable {
    * possibility to start a transaction (which do also allow nested scopes).
    * Thus it is impossible to perform an action outside the current 
    * transaction.
+   * 
+   * <p>
+   * Both stacks reuse their frames; thus starting and finishing closed 
+   * actions and transactions does not allocate anything once the stacks 
+   * have reached their maximal depth. The stacks are not serialized; a 
+   * deserialized list has got neither closed actions nor transactions.
+   */
+  private transient Framestack<Transaction<Securelisttype>> 
+      stckTransaction;
+  
+  
+  /**
+   * The lock used in read-write locking mode.
+   */
+  private final StampedLock lock = new StampedLock();
+  
+  
+  /**
+   * Whether the read-write locking mode is enabled.
+   */
+  private volatile boolean readwriteLocking = false;
+  
+  
+  /**
+   * The amount of writers that wait for the {@link #lock}. New readers
+   * let them go first; otherwise the StampedLock admits new readers as 
+   * long as any reader holds the lock and writers could starve.
+   */
+  private final AtomicInteger amountWaitingwriters = new AtomicInteger();
+  
+  
+  /**
+   * The amount of read locks each thread holds on the {@link #lock}. A 
+   * thread which already reads the list (e.g. inside a read transaction)
+   * reuses its read lock instead of acquiring it again; otherwise it would
+   * wait for a writer which in turn waits for the thread. It is not 
+   * serialized.
+   */
+  private transient ThreadLocal<int[]> amountReadholds;
+  
+  
+  /**
+   * The monitor of the methods that have been synchronized before the 
+   * read-write locking mode existed. It is only taken if the mode is 
+   * disabled; in read-write locking mode these methods use the 
+   * {@link #lock} only, since a thread holding the monitor while it waits 
+   * for the lock could block a reader which holds the lock and waits for
+   * the monitor.
    */
-  private  Stack<Transaction<Securelisttype>> stckTransaction;
+  private final ReentrantLock monitor = new ReentrantLock();
+  
+  
+  /**
+   * The journal which records the changes or null. It is not serialized.
+   */
+  private transient Journal<Securelisttype> journal;
+  
+  
+  /**
+   * The undo and redo history or null. It is not serialized.
+   */
+  private transient History<Securelisttype> history;
   
   /*
    * Constructor
@@ -131,8 +234,9 @@ public class Securelist<Securelisttype> implements Serializable {
     ls = new List<Securelisttype>(xlog);
     
     //initialize lists for closed actions and transactions
-    stckClosedaction = new Stack<Closedaction<Securelisttype>>();
-    stckTransaction = new Stack<Transaction<Securelisttype>>();
+    stckClosedaction = newClosedactionstack();
+    stckTransaction = newTransactionstack();
+    amountReadholds = newReadholds();
   }
   
   
@@ -151,6 +255,16 @@ public class Securelist<Securelisttype> implements Serializable {
   public final boolean isEmpty() {
     return ls.isEmpty();
   }
+  
+  
+  /**
+   * Return the amount of items.
+   * 
+   * @return the size.
+   */
+  public final int size() {
+    return ls.size();
+  }
 
   
   /**
@@ -192,22 +306,31 @@ public class Securelist<Securelisttype> implements Serializable {
    *         method call.
    * 
    */
-  public final synchronized void next(
+  public final void next(
       final int xtransactionId, final int xclosedActionid) {
     
     //the method name for being able to print additional information in 
     //check methods
     final String methodName = "next";
     
-    //check whether the current transaction and the current closed action
-    //are okay
-    if (checkTransaction(xtransactionId, methodName) 
-        && checkClosedaction(xclosedActionid, methodName)) {
+    //take exclusive ownership of the list (the write lock in read-write 
+    //locking mode, otherwise the monitor); the current element is shared
+    //by all threads.
+    final long stamp = lockExclusive();
+    try {
       
-      //perform method call.
-      ls.next();
-    } else if (debugStayrunning) {
-      ls.next();
+      //check whether the current transaction and the current closed action
+      //are okay
+      if (checkTransaction(xtransactionId, methodName) 
+          && checkClosedaction(xclosedActionid, methodName)) {
+      
+        //perform method call.
+        ls.next();
+      } else if (debugStayrunning) {
+        ls.next();
+      }
+    } finally {
+      unlockExclusive(stamp);
     }
   }
 
@@ -233,15 +356,23 @@ public class Securelist<Securelisttype> implements Serializable {
     //check methods
     final String methodName = "previous";
     
-    //check whether the current transaction and the current closed action
-    //are okay
-    if (checkTransaction(xtransactionId, methodName) 
-        && checkClosedaction(xclosedActionid, methodName)) {
+    //take exclusive ownership of the list in read-write locking mode;
+    //the current element is shared by all threads.
+    final long stamp = lockWrite();
+    try {
       
-      //perform method call.
-      ls.previous();
-    } else if (debugStayrunning) {
-      ls.previous();
+      //check whether the current transaction and the current closed action
+      //are okay
+      if (checkTransaction(xtransactionId, methodName) 
+          && checkClosedaction(xclosedActionid, methodName)) {
+      
+        //perform method call.
+        ls.previous();
+      } else if (debugStayrunning) {
+        ls.previous();
+      }
+    } finally {
+      unlockWrite(stamp);
     }
   }
 
@@ -264,15 +395,23 @@ public class Securelist<Securelisttype> implements Serializable {
     //check methods
     final String methodName = "toFirst";
     
-    //check whether the current transaction and the current closed action
-    //are okay
-    if (checkTransaction(xtransactionId, methodName) 
-        && checkClosedaction(xclosedActionid, methodName)) {
+    //take exclusive ownership of the list in read-write locking mode;
+    //the current element is shared by all threads.
+    final long stamp = lockWrite();
+    try {
       
-      //perform method call.
-      ls.toFirst();
-    } else if (debugStayrunning) {
-      ls.toFirst();
+      //check whether the current transaction and the current closed action
+      //are okay
+      if (checkTransaction(xtransactionId, methodName) 
+          && checkClosedaction(xclosedActionid, methodName)) {
+      
+        //perform method call.
+        ls.toFirst();
+      } else if (debugStayrunning) {
+        ls.toFirst();
+      }
+    } finally {
+      unlockWrite(stamp);
     }
   }
 
@@ -295,15 +434,23 @@ public class Securelist<Securelisttype> implements Serializable {
     //check methods
     final String methodName = "toLast";
     
-    //check whether the current transaction and the current closed action
-    //are okay
-    if (checkTransaction(xtransactionId, methodName) 
-        && checkClosedaction(xclosedactionId, methodName)) {
+    //take exclusive ownership of the list in read-write locking mode;
+    //the current element is shared by all threads.
+    final long stamp = lockWrite();
+    try {
       
-      //perform method call.
-      ls.toLast();
-    } else if (debugStayrunning) {
-      ls.toLast();
+      //check whether the current transaction and the current closed action
+      //are okay
+      if (checkTransaction(xtransactionId, methodName) 
+          && checkClosedaction(xclosedactionId, methodName)) {
+      
+        //perform method call.
+        ls.toLast();
+      } else if (debugStayrunning) {
+        ls.toLast();
+      }
+    } finally {
+      unlockWrite(stamp);
     }
   }
   
@@ -328,15 +475,66 @@ public class Securelist<Securelisttype> implements Serializable {
     //check methods
     final String methodName = "goToElement";
     
-    //check whether the current transaction and the current closed action
-    //are okay
-    if (checkTransaction(xtransactionId, methodName) 
-        && checkClosedaction(xclosedactionId, methodName)) {
+    //take exclusive ownership of the list in read-write locking mode;
+    //the current element is shared by all threads.
+    final long stamp = lockWrite();
+    try {
+      
+      //check whether the current transaction and the current closed action
+      //are okay
+      if (checkTransaction(xtransactionId, methodName) 
+          && checkClosedaction(xclosedactionId, methodName)) {
+      
+        //perform method call.
+        ls.goToElement(xelemCurrent);
+      } else if (debugStayrunning) {
+        ls.goToElement(xelemCurrent);
+      }
+    } finally {
+      unlockWrite(stamp);
+    }
+  }
+  
+  
+
+  /**
+   * Go to the item at a position.
+   * 
+   * @param xindex the position (the first item has got position 0).
+   * 
+   * @param xtransactionId 
+   *         the id of the transaction to which performs the
+   *         method call.
+   * 
+   * @param xclosedactionId 
+   *         the id of the closed action to which performs the
+   *         method call.
+   * @see List#goToIndex(int)
+   */
+  public final void goToIndex(final int xindex,
+      final int xtransactionId, final int xclosedactionId) {
+
+    //the method name for being able to print additional information in 
+    //check methods
+    final String methodName = "goToIndex";
+    
+    //take exclusive ownership of the list in read-write locking mode;
+    //the current element is shared by all threads.
+    final long stamp = lockWrite();
+    try {
       
-      //perform method call.
-      ls.goToElement(xelemCurrent);
-    } else if (debugStayrunning) {
-      ls.goToElement(xelemCurrent);
+      //check whether the current transaction and the current closed action
+      //are okay
+      if (checkTransaction(xtransactionId, methodName) 
+          && checkClosedaction(xclosedactionId, methodName)) {
+      
+        //perform method call.
+        ls.goToIndex(xindex);
+      } else if (debugStayrunning) {
+        ls.goToIndex(xindex);
+      }
+    } finally {
+      unlockWrite(stamp);
     }
   }
   
@@ -355,7 +553,23 @@ public class Securelist<Securelisttype> implements Serializable {
    * @return current Element.
    */
   public final Securelisttype getItem() {
-    return ls.getItem();
+    
+    if (!readwriteLocking) {
+      return ls.getItem();
+    }
+    
+    //optimistic read; if a writer interfered read again with lock.
+    long stamp = lock.tryOptimisticRead();
+    Securelisttype item = ls.getItem();
+    if (!lock.validate(stamp)) {
+      stamp = lock.readLock();
+      try {
+        item = ls.getItem();
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+    return item;
   }
   
   
@@ -365,7 +579,23 @@ public class Securelist<Securelisttype> implements Serializable {
    * @return current Element.
    */
   public final Element<Securelisttype> getElement() {
-    return ls.getElement();
+    
+    if (!readwriteLocking) {
+      return ls.getElement();
+    }
+    
+    //optimistic read; if a writer interfered read again with lock.
+    long stamp = lock.tryOptimisticRead();
+    Element<Securelisttype> elem = ls.getElement();
+    if (!lock.validate(stamp)) {
+      stamp = lock.readLock();
+      try {
+        elem = ls.getElement();
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+    return elem;
   }
   
   
@@ -380,18 +610,154 @@ public class Securelist<Securelisttype> implements Serializable {
   
 
   /**
-   * List to array method.
+   * List to array method. Does not move the current element; thus it does
+   * not take part in closed actions or transactions.
+   * @return the array from list.
+   */
+  public final Point[] toPntArray() {
+    final long stamp = lockShared();
+    try {
+      return ls.toPntArray();
+    } finally {
+      unlockShared(stamp);
+    }
+  }
+  /**
+   * List to array method. Does not move the current element; thus it does
+   * not take part in closed actions or transactions.
    * @return the array from list.
    */
-  public final synchronized Point[] toPntArray() {
-    return ls.toPntArray();
+  public final String[] toArrayString() {
+    final long stamp = lockShared();
+    try {
+      return ls.toArrayString();
+    } finally {
+      unlockShared(stamp);
+    }
+  }
+  
+  
+  /**
+   * Return the item at a position. Does not move the current element; 
+   * thus it does not take part in closed actions or transactions.
+   * 
+   * @param xindex the position (the first item has got position 0).
+   * @return the item or null if the position is not inside the list.
+   */
+  public final Securelisttype get(final int xindex) {
+    final long stamp = lockRead();
+    try {
+      return ls.get(xindex);
+    } finally {
+      unlockRead(stamp);
+    }
+  }
+  
+  
+  /**
+   * Return the position of an element.
+   * 
+   * @param xelem the element.
+   * @return the position or -1 if the element is not part of the list.
+   */
+  public final int indexOf(final Element<Securelisttype> xelem) {
+    final long stamp = lockRead();
+    try {
+      return ls.indexOf(xelem);
+    } finally {
+      unlockRead(stamp);
+    }
   }
+  
+  
   /**
-   * List to array method.
+   * Copy the items which are instances of the given class into a new 
+   * array in one pass. Does not move the current element; thus it does 
+   * not take part in closed actions or transactions and does not block 
+   * other readers.
+   * 
+   * @param xclass 
+   *          the component type of the array.
+   *          
+   * @param <T> 
+   *          the component type of the array.
+   *          
    * @return the array from list.
+   * @see List#toArray(Class)
+   */
+  public final <T> T[] toArray(final Class<T> xclass) {
+    final long stamp = lockRead();
+    try {
+      return ls.toArray(xclass);
+    } finally {
+      unlockRead(stamp);
+    }
+  }
+  
+  
+  /**
+   * Move items from the beginning of the list into the given array.
+   * 
+   * @param xarray 
+   *          the array which is filled beginning at index 0.
+   * 
+   * @param xtransactionId 
+   *         the id of the transaction to which performs the
+   *         method call.
+   *          
+   * @return the amount of items that have been moved.
+   * @see List#drainTo(Object[])
+   */
+  public final int drainTo(final Securelisttype[] xarray, 
+      final int xtransactionId) {
+
+    //the method name for being able to print additional information in 
+    //check methods
+    final String methodName = "drainTo";
+    
+    //take exclusive ownership of the list in read-write locking mode
+    final long stamp = lockWrite();
+    try {
+      
+      //the drained elements stay linked by their successors.
+      final Element<Securelisttype> elemFirst = 
+          ls.getElemFirst().getElemSuccessor();
+      
+      //check whether the current transaction and the current closed action
+      //are okay
+      int amount = 0;
+      if (checkTransaction(xtransactionId, methodName) 
+          && checkClosedaction(ID_NO_PREDECESSOR, methodName)) {
+        
+        //perform method call.
+        amount = ls.drainTo(xarray);
+      } else if (debugStayrunning) {
+        amount = ls.drainTo(xarray);
+      }
+      //each item has been removed from the beginning of the list.
+      Element<Securelisttype> elem = elemFirst;
+      for (int i = 0; i < amount; i++) {
+        recordRemoved(elem, ls.getElemFirst());
+        elem = elem.getElemSuccessor();
+      }
+      return amount;
+    } finally {
+      unlockWrite(stamp);
+    }
+  }
+  
+  
+  /**
+   * Return a new cursor which passes the list independently of the 
+   * current element. Moving the cursor does not take part in closed 
+   * actions or transactions; thus each thread that only reads the list 
+   * can use its own cursor (e.g. for {@link Listcursor#find(Object)} or
+   * {@link Listcursor#subList()}).
+   * 
+   * @return the cursor.
    */
-  public final synchronized String[] toArrayString() {
-    return ls.toArrayString();
+  public final Listcursor<Securelisttype> newCursor() {
+    return ls.newCursor();
   }
   
   
@@ -405,8 +771,83 @@ public class Securelist<Securelisttype> implements Serializable {
    * @return list after current item.
    */
   public final List<Securelisttype> subList() {
-    return ls.subList();
+    final long stamp = lockRead();
+    try {
+      return ls.subList();
+    } finally {
+      unlockRead(stamp);
+    }
+  }
+  
+  
+  /**
+   * Return an iterator over the items of the list. Does not move the 
+   * current element; thus it does not take part in closed actions or 
+   * transactions. Passing the list while other threads change it requires
+   * a read transaction ({@link #startReadTransaction()}).
+   * 
+   * @return the iterator.
+   * @see List#iterator()
+   */
+  @Override
+  public final Iterator<Securelisttype> iterator() {
+    return ls.iterator();
+  }
+  
+  
+  /**
+   * Return a spliterator over the items of the list which splits off 
+   * batches for parallel processing. Like {@link #iterator()} it requires
+   * a read transaction if other threads change the list.
+   * 
+   * @return the spliterator.
+   * @see List#spliterator()
+   */
+  @Override
+  public final Spliterator<Securelisttype> spliterator() {
+    return ls.spliterator();
+  }
+  
+  
+  /**
+   * Return a sequential stream of the items of the list.
+   * 
+   * @return the stream.
+   */
+  public final Stream<Securelisttype> stream() {
+    return StreamSupport.stream(spliterator(), false);
   }
+  
+  
+  /**
+   * Return a parallel stream of the items of the list.
+   * 
+   * @return the stream.
+   */
+  public final Stream<Securelisttype> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+  
+  
+  /**
+   * Return a view of the items from the current element to the end of 
+   * the list without copying them. The view is live; passing it while 
+   * other threads change the list requires a read transaction 
+   * ({@link #startReadTransaction()}). A snapshot of the view is copied 
+   * by the writer which changes the list next.
+   * 
+   * @return the view.
+   * @see List#subListView()
+   */
+  public final Listview<Securelisttype> subListView() {
+    final long stamp = lockRead();
+    try {
+      return ls.subListView();
+    } finally {
+      unlockRead(stamp);
+    }
+  }
+
 
   /**
    * Return sort index of the current Element.
@@ -414,7 +855,23 @@ public class Securelist<Securelisttype> implements Serializable {
    * @return sorted index of current Element.
    */
   public final double getItemSortionIndex() {
-    return ls.getItemSortionIndex();
+    
+    if (!readwriteLocking) {
+      return ls.getItemSortionIndex();
+    }
+    
+    //optimistic read; if a writer interfered read again with lock.
+    long stamp = lock.tryOptimisticRead();
+    double index = ls.getItemSortionIndex();
+    if (!lock.validate(stamp)) {
+      stamp = lock.readLock();
+      try {
+        index = ls.getItemSortionIndex();
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+    return index;
   }
 
   
@@ -442,15 +899,28 @@ public class Securelist<Securelisttype> implements Serializable {
     //check methods
     final String methodName = "replace";
     
-    //check whether the current transaction and the current closed action
-    //are okay
-    if (checkTransaction(xtransactionId, methodName) 
-        && checkClosedaction(ID_NO_PREDECESSOR, methodName)) {
+    //take exclusive ownership of the list in read-write locking mode
+    final long stamp = lockWrite();
+    try {
+      
+      //the former content is recorded by the history.
+      final Securelisttype contentOld = ls.getItem();
       
-      //perform method call.
-      ls.replace(xnewContent);
-    } else if (debugStayrunning) {
-      ls.replace(xnewContent);
+      //check whether the current transaction and the current closed action
+      //are okay
+      if (checkTransaction(xtransactionId, methodName) 
+          && checkClosedaction(ID_NO_PREDECESSOR, methodName)) {
+        
+        //perform method call.
+        ls.replace(xnewContent);
+      } else if (debugStayrunning) {
+        ls.replace(xnewContent);
+      }
+      if (ls.getElement() != null) {
+        recordReplaced(ls.getElement(), contentOld);
+      }
+    } finally {
+      unlockWrite(stamp);
     }
   }
 
@@ -471,15 +941,23 @@ public class Securelist<Securelisttype> implements Serializable {
     //check methods
     final String methodName = "insertBehind";
     
-    //check whether the current transaction and the current closed action
-    //are okay
-    if (checkTransaction(xtransactionId, methodName) 
-        && checkClosedaction(ID_NO_PREDECESSOR, methodName)) {
+    //take exclusive ownership of the list in read-write locking mode
+    final long stamp = lockWrite();
+    try {
       
-      //perform method call.
-      ls.insertBehind(xnewContent);
-    } else if (debugStayrunning) {
-      ls.insertBehind(xnewContent);
+      //check whether the current transaction and the current closed action
+      //are okay
+      if (checkTransaction(xtransactionId, methodName) 
+          && checkClosedaction(ID_NO_PREDECESSOR, methodName)) {
+        
+        //perform method call.
+        ls.insertBehind(xnewContent);
+      } else if (debugStayrunning) {
+        ls.insertBehind(xnewContent);
+      }
+      recordInserted();
+    } finally {
+      unlockWrite(stamp);
     }
   }
 
@@ -501,15 +979,23 @@ public class Securelist<Securelisttype> implements Serializable {
     //check methods
     final String methodName = "insertInFrontOf";
     
-    //check whether the current transaction and the current closed action
-    //are okay
-    if (checkTransaction(xtransactionId, methodName) 
-        && checkClosedaction(ID_NO_PREDECESSOR, methodName)) {
+    //take exclusive ownership of the list in read-write locking mode
+    final long stamp = lockWrite();
+    try {
       
-      //perform method call.
-      ls.insertInFrontOf(xnewContent);
-    } else if (debugStayrunning) {
-      ls.insertInFrontOf(xnewContent);
+      //check whether the current transaction and the current closed action
+      //are okay
+      if (checkTransaction(xtransactionId, methodName) 
+          && checkClosedaction(ID_NO_PREDECESSOR, methodName)) {
+        
+        //perform method call.
+        ls.insertInFrontOf(xnewContent);
+      } else if (debugStayrunning) {
+        ls.insertInFrontOf(xnewContent);
+      }
+      recordInserted();
+    } finally {
+      unlockWrite(stamp);
     }
   }
 
@@ -529,15 +1015,31 @@ public class Securelist<Securelisttype> implements Serializable {
     //check methods
     final String methodName = "remove";
     
-    //check whether the current transaction and the current closed action
-    //are okay
-    if (checkTransaction(xtransactionId, methodName) 
-        && checkClosedaction(ID_NO_PREDECESSOR, methodName)) {
+    //take exclusive ownership of the list in read-write locking mode
+    final long stamp = lockWrite();
+    try {
+      
+      //the removed element is recorded if it has been unlinked.
+      final Element<Securelisttype> elem = ls.getElement();
+      final Element<Securelisttype> elemPredecessor = 
+          elem == null ? null : elem.getElemPredecessor();
+      final int sizeBefore = ls.size();
       
-      //perform method call.
-      ls.remove();
-    } else if (debugStayrunning) {
-      ls.remove();
+      //check whether the current transaction and the current closed action
+      //are okay
+      if (checkTransaction(xtransactionId, methodName) 
+          && checkClosedaction(ID_NO_PREDECESSOR, methodName)) {
+        
+        //perform method call.
+        ls.remove();
+      } else if (debugStayrunning) {
+        ls.remove();
+      }
+      if (ls.size() < sizeBefore) {
+        recordRemoved(elem, elemPredecessor);
+      }
+    } finally {
+      unlockWrite(stamp);
     }
   }
 
@@ -558,15 +1060,23 @@ public class Securelist<Securelisttype> implements Serializable {
     //check methods
     final String methodName = "insertAfterHead";
     
-    //check whether the current transaction and the current closed action
-    //are okay
-    if (checkTransaction(xtransactionId, methodName) 
-        && checkClosedaction(ID_NO_PREDECESSOR, methodName)) {
+    //take exclusive ownership of the list in read-write locking mode
+    final long stamp = lockWrite();
+    try {
       
-      //perform method call.
-      ls.insertAfterHead(xnewContent);
-    } else if (debugStayrunning) {
-      ls.insertAfterHead(xnewContent);
+      //check whether the current transaction and the current closed action
+      //are okay
+      if (checkTransaction(xtransactionId, methodName) 
+          && checkClosedaction(ID_NO_PREDECESSOR, methodName)) {
+        
+        //perform method call.
+        ls.insertAfterHead(xnewContent);
+      } else if (debugStayrunning) {
+        ls.insertAfterHead(xnewContent);
+      }
+      recordInserted();
+    } finally {
+      unlockWrite(stamp);
     }
   }
 
@@ -587,15 +1097,23 @@ public class Securelist<Securelisttype> implements Serializable {
     //check methods
     final String methodName = "insertAtTheEnd";
     
-    //check whether the current transaction and the current closed action
-    //are okay
-    if (checkTransaction(xtransactionId, methodName) 
-        && checkClosedaction(ID_NO_PREDECESSOR, methodName)) {
+    //take exclusive ownership of the list in read-write locking mode
+    final long stamp = lockWrite();
+    try {
       
-      //perform method call.
-      ls.insertAtTheEnd(xnewContent);
-    } else if (debugStayrunning) {
-      ls.insertAtTheEnd(xnewContent);
+      //check whether the current transaction and the current closed action
+      //are okay
+      if (checkTransaction(xtransactionId, methodName) 
+          && checkClosedaction(ID_NO_PREDECESSOR, methodName)) {
+        
+        //perform method call.
+        ls.insertAtTheEnd(xnewContent);
+      } else if (debugStayrunning) {
+        ls.insertAtTheEnd(xnewContent);
+      }
+      recordInserted();
+    } finally {
+      unlockWrite(stamp);
     }
   }
 
@@ -620,15 +1138,25 @@ public class Securelist<Securelisttype> implements Serializable {
     //check methods
     final String methodName = "find";
     
-    //check whether the current transaction and the current closed action
-    //are okay
-    if (checkTransaction(xtransactionId, methodName) 
-        && checkClosedaction(ID_NO_PREDECESSOR, methodName)) {
+    //the list itself is only read, but the search moves the current 
+    //element which is shared by all threads; thus take exclusive 
+    //ownership of the list in read-write locking mode. Readers which are
+    //not to block each other use find(Object, Listcursor).
+    final long stamp = lockWrite();
+    try {
       
-      //perform method call.
-      return ls.find(xtype);
-    } else if (debugStayrunning) {
-      return ls.find(xtype);
+      //check whether the current transaction and the current closed 
+      //action are okay
+      if (checkTransaction(xtransactionId, methodName) 
+          && checkClosedaction(ID_NO_PREDECESSOR, methodName)) {
+        
+        //perform method call.
+        return ls.find(xtype);
+      } else if (debugStayrunning) {
+        return ls.find(xtype);
+      }
+    } finally {
+      unlockWrite(stamp);
     }
     
     //return false if unable to perform action.
@@ -636,6 +1164,30 @@ public class Securelist<Securelisttype> implements Serializable {
   }
   
   
+  /**
+   * Check whether item does already exist in list and if that is the case
+   * point at it with the given cursor. The current element of the list is
+   * not changed; thus this method does not take part in transactions and
+   * does not block other readers.
+   * 
+   * @param xtype which is checked
+   * 
+   * @param xcursor 
+   *         the cursor of the calling thread.
+   * 
+   * @return whether the element exists or not
+   */
+  public final boolean find(final Securelisttype xtype,
+      final Listcursor<Securelisttype> xcursor) {
+    final long stamp = lockRead();
+    try {
+      return xcursor.find(xtype);
+    } finally {
+      unlockRead(stamp);
+    }
+  }
+  
+  
   
   
   /*
@@ -673,7 +1225,7 @@ public class Securelist<Securelisttype> implements Serializable {
     if (stckClosedaction == null) {
       ls.getLog().severe("The stack is null! That should not "
           + "happen!");
-      stckClosedaction = new Stack<Closedaction<Securelisttype>>();
+      stckClosedaction = newClosedactionstack();
       return -1;
     }
     
@@ -682,8 +1234,7 @@ public class Securelist<Securelisttype> implements Serializable {
 
       //the old closedAciton
       Closedaction<Securelisttype> caOld = 
-          ((Closedaction<Securelisttype>)  
-          stckClosedaction.getElemlast().getContent());
+          stckClosedaction.peek();
       
       
       //if the given id does not equal the one of the last transaction
@@ -699,10 +1250,9 @@ public class Securelist<Securelisttype> implements Serializable {
     }
     
 
-    //create new closed action and insert it into the stack
-    Closedaction<Securelisttype> caNew = new Closedaction<Securelisttype>(
-        xoperationName, ls.getElement());
-    stckClosedaction.insert(caNew);
+    //create new closed action by reusing the frame on top of the stack
+    Closedaction<Securelisttype> caNew = stckClosedaction.push();
+    caNew.reset(xoperationName, ls.getElement());
     return caNew.getId_secureList();
   }
 
@@ -719,7 +1269,7 @@ public class Securelist<Securelisttype> implements Serializable {
     if (stckClosedaction == null) {
       ls.getLog().severe("The stack is null! That should not "
           + "happen!");
-      stckClosedaction = new Stack<Closedaction<Securelisttype>>();
+      stckClosedaction = newClosedactionstack();
       return -1;
     }
     
@@ -727,8 +1277,7 @@ public class Securelist<Securelisttype> implements Serializable {
 
     //the old closedAciton
     Closedaction<Securelisttype> caOld = 
-        ((Closedaction<Securelisttype>)  
-        stckClosedaction.getElemlast().getContent());
+        stckClosedaction.peek();
     
     
     //if the given id does not equal the one of the last transaction
@@ -742,7 +1291,8 @@ public class Securelist<Securelisttype> implements Serializable {
       return caOld.getId_secureList();
     } else {
 
-      //apply state before secure action.
+      //apply state before secure action. The frame is kept for reuse;
+      //removing it releases its element.
       ls.goToElement(caOld.getElem_secure());
       stckClosedaction.remove();
 
@@ -750,8 +1300,7 @@ public class Securelist<Securelisttype> implements Serializable {
 
         //return the new current id.
         Closedaction<Securelisttype> caCurrent = 
-            ((Closedaction<Securelisttype>)  
-            stckClosedaction.getElemlast().getContent());
+            stckClosedaction.peek();
         return caCurrent.getId_secureList();
       } else {
         return -1;
@@ -794,7 +1343,7 @@ public class Securelist<Securelisttype> implements Serializable {
       ls.getLog().severe("The stack is null! That should not "
           + "happen! New transaction name: "
             + xtransactionName);
-      stckTransaction = new Stack<Transaction<Securelisttype>>();
+      stckTransaction = newTransactionstack();
       return -1;
     }
     
@@ -803,8 +1352,7 @@ public class Securelist<Securelisttype> implements Serializable {
 
       //the old closedAciton
       Transaction<Securelisttype> caOld = 
-          ((Transaction<Securelisttype>)  
-              stckTransaction.getElemlast().getContent());
+          stckTransaction.peek();
       
       
       //if the given id does not equal the one of the last transaction
@@ -821,10 +1369,19 @@ public class Securelist<Securelisttype> implements Serializable {
     }
     
 
-    //create new closed action and insert it into the stack
-    Transaction<Securelisttype> caNew = new Transaction<Securelisttype>(
-        xtransactionName);
-    stckTransaction.insert(caNew);
+    //the changes of an outermost transaction form one group of the 
+    //journal.
+    final boolean outermost = stckTransaction.isEmpty();
+    
+    //create new transaction by reusing the frame on top of the stack
+    Transaction<Securelisttype> caNew = stckTransaction.push();
+    caNew.reset(xtransactionName);
+    if (journal != null && outermost) {
+      journal.begin(caNew.getidSecurelist());
+    }
+    if (history != null && outermost) {
+      history.begin();
+    }
     return caNew.getidSecurelist();
   }
 
@@ -842,7 +1399,7 @@ public class Securelist<Securelisttype> implements Serializable {
     if (stckTransaction == null) {
       ls.getLog().severe("The stack is null! That should not "
           + "happen!");
-      stckTransaction = new Stack<Transaction<Securelisttype>>();
+      stckTransaction = newTransactionstack();
       return -1;
     }
     
@@ -850,8 +1407,7 @@ public class Securelist<Securelisttype> implements Serializable {
 
     //the old closedAciton
     Transaction<Securelisttype> caOld = 
-        ((Transaction<Securelisttype>)  
-            stckTransaction.getElemlast().getContent());
+        stckTransaction.peek();
     
     
     //if the given id does not equal the one of the last transaction
@@ -872,10 +1428,17 @@ public class Securelist<Securelisttype> implements Serializable {
 
         //return the new current id.
         Transaction<Securelisttype> caCurrent = 
-            ((Transaction<Securelisttype>)  
-                stckTransaction.getElemlast().getContent());
+            stckTransaction.peek();
         return caCurrent.getidSecurelist();
       } else {
+        
+        //the outermost transaction has been finished.
+        if (journal != null) {
+          journal.commit();
+        }
+        if (history != null) {
+          history.commit();
+        }
         return -1;
       }
     }
@@ -946,7 +1509,7 @@ public class Securelist<Securelisttype> implements Serializable {
       //re-initialize the stack for being able to proceed without 
       //throwing this error each time a function is called that
       //deals with closed actions.
-      stckClosedaction = new Stack<Closedaction<Securelisttype>>();
+      stckClosedaction = newClosedactionstack();
       
       //return true because obviously no closed action is running; 
       //thus it is impossible that the current closed action is not 
@@ -958,8 +1521,7 @@ public class Securelist<Securelisttype> implements Serializable {
 
       //the current closed action
       Closedaction<Securelisttype> caOld = 
-          ((Closedaction<Securelisttype>)  
-          stckClosedaction.getElemlast().getContent());
+          stckClosedaction.peek();
       
 
       //if the closed action id is not equal to the id which is passed
@@ -1110,7 +1672,7 @@ public class Securelist<Securelisttype> implements Serializable {
       //re-initialize the stack for being able to proceed without 
       //throwing this error each time a function is called that
       //deals with transactions.
-      stckTransaction = new Stack<Transaction<Securelisttype>>();
+      stckTransaction = newTransactionstack();
       
       //return true because obviously no transaction is running; 
       //thus it is impossible that the current transaction is not 
@@ -1123,8 +1685,7 @@ public class Securelist<Securelisttype> implements Serializable {
 
       //the current transaction
       Transaction<Securelisttype> caOld = 
-          ((Transaction<Securelisttype>)  
-              stckTransaction.getElemlast().getContent());
+          stckTransaction.peek();
       
 
       //if the transaction id is not equal to the id which is passed
@@ -1221,21 +1782,825 @@ public class Securelist<Securelisttype> implements Serializable {
 
 
 
-  public void resetTransaction() {
-    stckTransaction = new Stack<Transaction<Securelisttype>>();
+  /*
+   * Hash index.
+   */
+  
+  /**
+   * Maintain a hash index of the contents; afterwards the find methods 
+   * look up the element in O(1) instead of passing the list.
+   * 
+   * @param xidentity 
+   *          whether the contents are compared by identity instead of 
+   *          <code>equals</code>.
+   * @see List#enableHashindex(boolean)
+   */
+  public final void enableHashindex(final boolean xidentity) {
+    final long stamp = lockWrite();
+    try {
+      ls.enableHashindex(xidentity);
+    } finally {
+      unlockWrite(stamp);
+    }
   }
-
-  public void resetClosedAction() {
-    stckClosedaction = new Stack<Closedaction<Securelisttype>>();
+  
+  
+  /**
+   * Do not maintain a hash index any more.
+   */
+  public final void disableHashindex() {
+    final long stamp = lockWrite();
+    try {
+      ls.disableHashindex();
+    } finally {
+      unlockWrite(stamp);
+    }
   }
-
-
+  
+  
   /**
-   * Return the logger.
-   * @return the log
+   * Return whether the list maintains a hash index.
+   * 
+   * @return whether the hash index is enabled.
    */
-  public Logger getLog() {
-    return ls.getLog();
+  public final boolean isHashindex() {
+    return ls.isHashindex();
   }
-}
-
+  
+  
+  /*
+   * Position index.
+   */
+  
+  /**
+   * Maintain an order-statistic index of the positions; afterwards the 
+   * positional methods need O(log n) steps instead of passing the list.
+   * 
+   * @see List#enablePositionindex()
+   */
+  public final void enablePositionindex() {
+    final long stamp = lockWrite();
+    try {
+      ls.enablePositionindex();
+    } finally {
+      unlockWrite(stamp);
+    }
+  }
+  
+  
+  /**
+   * Do not maintain an order-statistic index any more.
+   */
+  public final void disablePositionindex() {
+    final long stamp = lockWrite();
+    try {
+      ls.disablePositionindex();
+    } finally {
+      unlockWrite(stamp);
+    }
+  }
+  
+  
+  /**
+   * Return whether the list maintains an order-statistic index.
+   * 
+   * @return whether the position index is enabled.
+   */
+  public final boolean isPositionindex() {
+    return ls.isPositionindex();
+  }
+  
+  
+  /*
+   * Read-write locking mode.
+   */
+  
+  /**
+   * Enable or disable the read-write locking mode. Must not be changed 
+   * while other threads are using the list.
+   * 
+   * @param xreadwriteLocking whether to separate readers and writers.
+   */
+  public final void setReadwriteLocking(final boolean xreadwriteLocking) {
+    this.readwriteLocking = xreadwriteLocking;
+  }
+  
+  
+  /**
+   * Return whether the read-write locking mode is enabled.
+   * 
+   * @return the readwriteLocking
+   */
+  public final boolean isReadwriteLocking() {
+    return readwriteLocking;
+  }
+  
+  
+  /**
+   * Start a read transaction: until it is finished no other thread can 
+   * change the list, but other readers are not blocked. Used for passing 
+   * the list with a {@link Listcursor}. Inside a read transaction the 
+   * thread may call the reading methods of the list (and start nested 
+   * read transactions) which reuse its read lock, but it must neither 
+   * change the list nor move the current element.
+   * 
+   * @return the stamp which is to be passed to 
+   *         {@link #finishReadTransaction(long)}; 0 if the read-write 
+   *         locking mode is disabled.
+   */
+  public final long startReadTransaction() {
+    return lockRead();
+  }
+  
+  
+  /**
+   * Finish a read transaction.
+   * 
+   * @param xstamp the stamp returned by {@link #startReadTransaction()}.
+   */
+  public final void finishReadTransaction(final long xstamp) {
+    unlockRead(xstamp);
+  }
+  
+  
+  /**
+   * Acquire the read lock if the read-write locking mode is enabled.
+   * 
+   * @return the stamp or 0 if the mode is disabled.
+   */
+  private long lockRead() {
+    if (readwriteLocking) {
+      
+      //the thread already holds the read lock; a waiting writer can not 
+      //proceed before it is released, thus neither wait nor lock again.
+      final int[] amount = amountReadholds.get();
+      if (amount[0] > 0) {
+        amount[0]++;
+        return STAMP_NESTED;
+      }
+      
+      //new readers let waiting writers go first.
+      while (amountWaitingwriters.get() > 0) {
+        Thread.yield();
+      }
+      final long stamp = lock.readLock();
+      amount[0]++;
+      return stamp;
+    }
+    return 0L;
+  }
+  
+  
+  /**
+   * Release the read lock.
+   * 
+   * @param xstamp the stamp returned by {@link #lockRead()}.
+   */
+  private void unlockRead(final long xstamp) {
+    if (xstamp != 0L) {
+      amountReadholds.get()[0]--;
+      if (xstamp != STAMP_NESTED) {
+        lock.unlockRead(xstamp);
+      }
+    }
+  }
+  
+  
+  /**
+   * Create the per-thread amounts of held read locks.
+   * 
+   * @return the thread local amounts.
+   */
+  private static ThreadLocal<int[]> newReadholds() {
+    return new ThreadLocal<int[]>() {
+      @Override
+      protected int[] initialValue() {
+        return new int[1];
+      }
+    };
+  }
+  
+  
+  /**
+   * Acquire the write lock in read-write locking mode, otherwise the 
+   * {@link #monitor}.
+   * 
+   * @return the stamp or 0 if the monitor has been acquired.
+   */
+  private long lockExclusive() {
+    final long stamp = lockWrite();
+    if (stamp == 0L) {
+      monitor.lock();
+    }
+    return stamp;
+  }
+  
+  
+  /**
+   * Release the lock acquired by {@link #lockExclusive()}.
+   * 
+   * @param xstamp the stamp returned by {@link #lockExclusive()}.
+   */
+  private void unlockExclusive(final long xstamp) {
+    if (xstamp != 0L) {
+      unlockWrite(xstamp);
+    } else {
+      monitor.unlock();
+    }
+  }
+  
+  
+  /**
+   * Acquire the read lock in read-write locking mode, otherwise the 
+   * {@link #monitor}.
+   * 
+   * @return the stamp or 0 if the monitor has been acquired.
+   */
+  private long lockShared() {
+    final long stamp = lockRead();
+    if (stamp == 0L) {
+      monitor.lock();
+    }
+    return stamp;
+  }
+  
+  
+  /**
+   * Release the lock acquired by {@link #lockShared()}.
+   * 
+   * @param xstamp the stamp returned by {@link #lockShared()}.
+   */
+  private void unlockShared(final long xstamp) {
+    if (xstamp != 0L) {
+      unlockRead(xstamp);
+    } else {
+      monitor.unlock();
+    }
+  }
+  
+  
+  /**
+   * Acquire the write lock if the read-write locking mode is enabled. Used
+   * by the lists of this package that change the element chain directly.
+   * 
+   * @return the stamp or 0 if the mode is disabled.
+   */
+  final long lockWrite() {
+    if (readwriteLocking) {
+      amountWaitingwriters.incrementAndGet();
+      try {
+        return lock.writeLock();
+      } finally {
+        amountWaitingwriters.decrementAndGet();
+      }
+    }
+    return 0L;
+  }
+  
+  
+  /**
+   * Release the write lock.
+   * 
+   * @param xstamp the stamp returned by {@link #lockWrite()}.
+   */
+  final void unlockWrite(final long xstamp) {
+    if (xstamp != 0L) {
+      lock.unlockWrite(xstamp);
+    }
+  }
+
+
+  public void resetTransaction() {
+    stckTransaction.clear();
+    
+    //the changes of the dropped transactions have been performed; thus 
+    //they are committed.
+    if (journal != null) {
+      journal.commit();
+    }
+    if (history != null) {
+      history.commit();
+    }
+  }
+
+  public void resetClosedAction() {
+    stckClosedaction.clear();
+  }
+  
+  
+  /**
+   * Create an empty stack of closed actions.
+   * 
+   * @return the stack.
+   */
+  private Framestack<Closedaction<Securelisttype>> newClosedactionstack() {
+    return new Framestack<Closedaction<Securelisttype>>(
+        new Framestack.Framefactory<Closedaction<Securelisttype>>() {
+          @Override
+          public Closedaction<Securelisttype> createFrame() {
+            return new Closedaction<Securelisttype>(0);
+          }
+          
+          @Override
+          public void releaseFrame(
+              final Closedaction<Securelisttype> xframe) {
+            xframe.release();
+          }
+        });
+  }
+  
+  
+  /**
+   * Create an empty stack of transactions.
+   * 
+   * @return the stack.
+   */
+  private Framestack<Transaction<Securelisttype>> newTransactionstack() {
+    return new Framestack<Transaction<Securelisttype>>(
+        new Framestack.Framefactory<Transaction<Securelisttype>>() {
+          @Override
+          public Transaction<Securelisttype> createFrame() {
+            return new Transaction<Securelisttype>(0);
+          }
+          
+          @Override
+          public void releaseFrame(
+              final Transaction<Securelisttype> xframe) {
+            xframe.release();
+          }
+        });
+  }
+  
+  
+  /**
+   * Open a secure list whose changes are recorded by a write-ahead 
+   * {@link Journal}. If the file contains a journal the finished 
+   * transactions are replayed; a transaction which had not been finished
+   * when the journal was written the last time is discarded.
+   * 
+   * <p>
+   * Changes which bypass the secure list (e.g. by a {@link Listcursor} or
+   * by the direct relinking of {@link Securelistsort}) are not recorded.
+   * 
+   * @param <T> the type of the contents.
+   * 
+   * @param xfile 
+   *          the file of the journal.
+   *          
+   * @param xcodec 
+   *          the codec which converts the contents into the payloads of 
+   *          the records.
+   *          
+   * @param xlog 
+   *          the logger of the list.
+   *          
+   * @return the opened list.
+   * @throws IOException if the journal can not be read.
+   */
+  public static <T> Securelist<T> open(final File xfile, 
+      final Sortstore.Codec<T> xcodec, final Logger xlog) 
+      throws IOException {
+    
+    final Securelist<T> sl = new Securelist<T>(xlog);
+    final Journal<T> journalOpened = new Journal<T>(xfile, xcodec, xlog);
+    try {
+      journalOpened.replay(sl.ls);
+    } catch (IOException e) {
+      journalOpened.close();
+      throw e;
+    }
+    sl.journal = journalOpened;
+    return sl;
+  }
+  
+  
+  /**
+   * Return whether the changes are recorded by a journal.
+   * 
+   * @return whether the list has been opened by 
+   *         {@link #open(File, Sortstore.Codec, Logger)} and the journal
+   *         has not been closed.
+   */
+  public final boolean isJournaled() {
+    return journal != null;
+  }
+  
+  
+  /**
+   * Return the journal which records the changes or null.
+   * 
+   * @return the journal
+   */
+  public final Journal<Securelisttype> getJournal() {
+    return journal;
+  }
+  
+  
+  /**
+   * Replace the journal by one group which inserts the current items; 
+   * thus replaying does not need to pass the whole history. Has to be 
+   * called outside transactions.
+   * 
+   * @throws IOException if the journal can not be written.
+   */
+  public final void compactJournal() throws IOException {
+    
+    if (journal == null) {
+      ls.getLog().warning("compact without a journal.");
+      return;
+    }
+    final long stamp = lockWrite();
+    try {
+      journal.rewrite(ls);
+    } finally {
+      unlockWrite(stamp);
+    }
+  }
+  
+  
+  /**
+   * Write the current group, sync and close the journal. The list stays 
+   * usable in memory.
+   * 
+   * @throws IOException if closing the journal fails.
+   */
+  public final void closeJournal() throws IOException {
+    if (journal != null) {
+      journal.close();
+      journal = null;
+    }
+  }
+  
+  
+  /**
+   * Record the changes by a bounded undo and redo history: the changes of
+   * each outermost transaction (or each single change outside a 
+   * transaction) can be undone as a whole. The history records the 
+   * affected elements instead of copies of the list; thus undoing a group
+   * needs time proportional to its size.
+   * 
+   * @param xmaxGroups 
+   *          the maximal amount of groups that can be undone; the oldest
+   *          ones are evicted.
+   *          
+   * @param xmaxChanges 
+   *          the maximal amount of changes inside these groups.
+   * @see History
+   */
+  public final void enableHistory(final int xmaxGroups, 
+      final int xmaxChanges) {
+    final long stamp = lockWrite();
+    try {
+      history = new History<Securelisttype>(xmaxGroups, xmaxChanges);
+      if (!stckTransaction.isEmpty()) {
+        history.begin();
+      }
+    } finally {
+      unlockWrite(stamp);
+    }
+  }
+  
+  
+  /**
+   * Drop the history and do not record the changes any more.
+   */
+  public final void disableHistory() {
+    final long stamp = lockWrite();
+    try {
+      history = null;
+    } finally {
+      unlockWrite(stamp);
+    }
+  }
+  
+  
+  /**
+   * Return whether the changes are recorded by a history.
+   * 
+   * @return whether the history is enabled.
+   */
+  public final boolean isHistory() {
+    return history != null;
+  }
+  
+  
+  /**
+   * Return whether there is a group of changes which can be undone.
+   * 
+   * @return whether {@link #undo()} is possible.
+   */
+  public final boolean canUndo() {
+    return history != null && history.canUndo();
+  }
+  
+  
+  /**
+   * Return whether there is an undone group of changes which can be 
+   * redone.
+   * 
+   * @return whether {@link #redo()} is possible.
+   */
+  public final boolean canRedo() {
+    return history != null && history.canRedo();
+  }
+  
+  
+  /**
+   * Undo the latest group of changes. Has to be called outside 
+   * transactions and closed actions. If the current element is removed by
+   * undoing, its predecessor becomes the current element. The inverse 
+   * changes are recorded by the journal as one group.
+   * 
+   * @return whether a group has been undone.
+   */
+  public final boolean undo() {
+    return undoRedo(true);
+  }
+  
+  
+  /**
+   * Redo the latest undone group of changes. Has to be called outside 
+   * transactions and closed actions.
+   * 
+   * @return whether a group has been redone.
+   * @see #undo()
+   */
+  public final boolean redo() {
+    return undoRedo(false);
+  }
+  
+  
+  /**
+   * Undo or redo the latest group of changes.
+   * 
+   * @param xundo whether to undo or to redo.
+   * @return whether a group has been undone or redone.
+   */
+  private boolean undoRedo(final boolean xundo) {
+    
+    if (history == null) {
+      ls.getLog().warning("undo / redo without history.");
+      return false;
+    }
+    final long stamp = lockWrite();
+    try {
+      if (!stckTransaction.isEmpty() || !stckClosedaction.isEmpty()) {
+        ls.getLog().warning("undo / redo is impossible while a "
+            + "transaction or closed action is running.");
+        return false;
+      }
+      if (journal != null) {
+        journal.begin(Idallocator.nextId());
+      }
+      try {
+        return xundo ? history.undo(ls, journal) : history.redo(ls, journal);
+      } finally {
+        if (journal != null) {
+          journal.commit();
+        }
+      }
+    } finally {
+      unlockWrite(stamp);
+    }
+  }
+  
+  
+  /**
+   * Record the insertion of the current element by the journal and the 
+   * history.
+   */
+  private void recordInserted() {
+    final Element<Securelisttype> elem = ls.getElement();
+    if (journal != null) {
+      journal.inserted(elem, ls.getElemFirst());
+    }
+    if (history != null) {
+      history.inserted(elem);
+    }
+  }
+  
+  
+  /**
+   * Record the removal of an element by the journal and the history.
+   * 
+   * @param xelem the removed element.
+   * @param xelemPredecessor the predecessor at the time of the removal.
+   */
+  private void recordRemoved(final Element<Securelisttype> xelem,
+      final Element<Securelisttype> xelemPredecessor) {
+    if (journal != null) {
+      journal.removed(xelem);
+    }
+    if (history != null) {
+      history.removed(xelem, xelemPredecessor);
+    }
+  }
+  
+  
+  /**
+   * Record the replacement of the content of an element by the journal 
+   * and the history.
+   * 
+   * @param xelem the element.
+   * @param xcontentOld the former content.
+   */
+  private void recordReplaced(final Element<Securelisttype> xelem,
+      final Securelisttype xcontentOld) {
+    if (journal != null) {
+      journal.replaced(xelem);
+    }
+    if (history != null) {
+      history.replaced(xelem, xcontentOld);
+    }
+  }
+  
+  
+  /**
+   * Read the list and create empty stacks of closed actions and 
+   * transactions.
+   * 
+   * @param xin the input stream.
+   * @throws IOException if reading fails.
+   * @throws ClassNotFoundException if a class of the content is unknown.
+   */
+  private void readObject(final ObjectInputStream xin) 
+      throws IOException, ClassNotFoundException {
+    xin.defaultReadObject();
+    stckClosedaction = newClosedactionstack();
+    stckTransaction = newTransactionstack();
+    amountReadholds = newReadholds();
+  }
+
+
+  /**
+   * Return the logger.
+   * @return the log
+   */
+  public Logger getLog() {
+    return ls.getLog();
+  }
+  
+  
+  /**
+   * Return the list which is the base of the SecureList. Used by the lists
+   * of this package that operate on the element chain directly; they have
+   * to take care of the transactions themselves.
+   * 
+   * @return the ls
+   */
+  final List<Securelisttype> getList() {
+    return ls;
+  }
+  
+  
+  /**
+   * Move an element of the list behind another one without creating a 
+   * new element; afterwards the current element points to the moved 
+   * element. The journal and the history record the move as a removal 
+   * followed by an insertion. Used by {@link Securelistsort} for 
+   * repositioning an element whose sort index has been changed.
+   * 
+   * @param xelem 
+   *         the element which is moved.
+   * 
+   * @param xelemPredecessor 
+   *         the new predecessor (or the head of the list); must not be 
+   *         the moved element.
+   * 
+   * @param xtransactionId 
+   *         the id of the transaction to which performs the
+   *         method call.
+   */
+  final void move(final Element<Securelisttype> xelem, 
+      final Element<Securelisttype> xelemPredecessor,
+      final int xtransactionId) {
+
+    //the method name for being able to print additional information in 
+    //check methods
+    final String methodName = "move";
+    
+    //take exclusive ownership of the list in read-write locking mode
+    final long stamp = lockWrite();
+    try {
+      
+      //check whether the current transaction and the current closed action
+      //are okay
+      if ((checkTransaction(xtransactionId, methodName) 
+          && checkClosedaction(ID_NO_PREDECESSOR, methodName)) 
+          || debugStayrunning) {
+        
+        //perform method call.
+        final Element<Securelisttype> elemPredecessorOld = 
+            xelem.getElemPredecessor();
+        ls.unlink(xelem);
+        recordRemoved(xelem, elemPredecessorOld);
+        ls.link(xelem, xelemPredecessor);
+        ls.goToElement(xelem);
+        recordInserted();
+      }
+    } finally {
+      unlockWrite(stamp);
+    }
+  }
+  
+  
+  /**
+   * Remove an element of the list which is not necessarily the current 
+   * one. If it is the current element the current element becomes its 
+   * predecessor (like {@link #remove(int)}). Used by 
+   * {@link Securelistsort} for removing the items at both ends of the 
+   * list without moving the current element there first.
+   * 
+   * @param xelem 
+   *         the element which is removed.
+   * 
+   * @param xtransactionId 
+   *         the id of the transaction to which performs the
+   *         method call.
+   *         
+   * @return whether the element has been removed.
+   */
+  final boolean unlink(final Element<Securelisttype> xelem, 
+      final int xtransactionId) {
+
+    //the method name for being able to print additional information in 
+    //check methods
+    final String methodName = "unlink";
+    
+    //take exclusive ownership of the list in read-write locking mode
+    final long stamp = lockWrite();
+    try {
+      
+      //check whether the current transaction and the current closed action
+      //are okay
+      if ((checkTransaction(xtransactionId, methodName) 
+          && checkClosedaction(ID_NO_PREDECESSOR, methodName)) 
+          || debugStayrunning) {
+        
+        //perform method call.
+        final Element<Securelisttype> elemPredecessor = 
+            xelem.getElemPredecessor();
+        ls.unlink(xelem);
+        recordRemoved(xelem, elemPredecessor);
+        return true;
+      }
+      return false;
+    } finally {
+      unlockWrite(stamp);
+    }
+  }
+  
+  
+  /**
+   * Remove a run of consecutive elements of the list at once; afterwards
+   * the current element is the predecessor of the run. Each element is 
+   * recorded as removed like by {@link #remove(int)}. Used by 
+   * {@link Securelistsort} for removing a range of sort indices.
+   * 
+   * @param xelemStart 
+   *         the first element of the run.
+   * 
+   * @param xelemEnd 
+   *         the element behind the run (or the tail of the list).
+   * 
+   * @param xtransactionId 
+   *         the id of the transaction to which performs the
+   *         method call.
+   *         
+   * @return whether the elements have been removed.
+   */
+  final boolean unlinkRange(final Element<Securelisttype> xelemStart, 
+      final Element<Securelisttype> xelemEnd, final int xtransactionId) {
+
+    //the method name for being able to print additional information in 
+    //check methods
+    final String methodName = "unlinkRange";
+    
+    //take exclusive ownership of the list in read-write locking mode
+    final long stamp = lockWrite();
+    try {
+      
+      //check whether the current transaction and the current closed action
+      //are okay
+      if ((checkTransaction(xtransactionId, methodName) 
+          && checkClosedaction(ID_NO_PREDECESSOR, methodName)) 
+          || debugStayrunning) {
+        
+        //perform method call; each element is recorded as if it had been
+        //removed behind the predecessor of the run, thus undoing the 
+        //removals in reverse order restores the run.
+        final Element<Securelisttype> elemPredecessor = 
+            xelemStart.getElemPredecessor();
+        ls.unlinkRange(xelemStart, xelemEnd);
+        for (Element<Securelisttype> elem = xelemStart; elem != xelemEnd;
+            elem = elem.getElemSuccessor()) {
+          recordRemoved(elem, elemPredecessor);
+        }
+        return true;
+      }
+      return false;
+    } finally {
+      unlockWrite(stamp);
+    }
+  }
+}
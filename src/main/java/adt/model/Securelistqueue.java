@@ -0,0 +1,181 @@
+package adt.model;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.util.logging.Logger;
+
+
+/**
+ * Priority queue facade over a {@link Securelistsort}. The items are 
+ * inserted by their priority (the sort index) and are taken from both 
+ * ends of the sorted list.
+ * 
+ * <p>
+ * Unlike the sequence <code>toFirst</code>, <code>getItem</code>, 
+ * <code>remove</code> on the sorted list, a dequeue is one call which 
+ * takes the lock of the list once and unlinks the successor of the head 
+ * (respectively the predecessor of the tail) directly; the current 
+ * element of the list is not moved. The node of the skip-list index 
+ * which references the removed item (if any) is the first respectively 
+ * the last node of its lowest lane and is unlinked without a search; thus
+ * a dequeue needs O(1) expected steps. The insertion needs O(log n) 
+ * steps. If the sort indices have been changed behind the list (see 
+ * {@link Securelistsort#resort()}) a dequeue sorts the list first, 
+ * whereas {@link #peek()} and {@link #peekLast()} do not change the list 
+ * but pass it in O(n) steps.
+ * 
+ * <p>
+ * Items with the same priority are polled by {@link #pollFirst()} in the 
+ * order of their insertion (FIFO). If the list is sorted descending (see 
+ * {@link Securelistsort#setsortDesc()}) {@link #pollFirst()} returns the 
+ * item with the highest priority. Since an empty queue is signaled by 
+ * null the queue should not contain null items.
+ * 
+ * @param <Type> the type of the items.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+public class Securelistqueue<Type> {
+
+  
+  /**
+   * The id that is passed if there is no transaction / closed action.
+   */
+  private static final int NO_ID = Securelistsort.ID_NO_PREDECESSOR;
+  
+  
+  /**
+   * The sorted list which contains the items of the queue.
+   */
+  private final Securelistsort<Type> sls;
+  
+  
+  /**
+   * Constructor creating an empty queue that returns the item with the 
+   * lowest priority first.
+   * 
+   * @param xlog 
+   *          the logger of the list.
+   */
+  public Securelistqueue(final Logger xlog) {
+    this(new Securelistsort<Type>(xlog));
+  }
+  
+  
+  /**
+   * Constructor creating a queue over an existing sorted list; the items
+   * of the list become the items of the queue.
+   * 
+   * @param xsls 
+   *          the sorted list.
+   */
+  public Securelistqueue(final Securelistsort<Type> xsls) {
+    this.sls = xsls;
+  }
+  
+  
+  /**
+   * Insert an item by its priority behind all items with the same 
+   * priority.
+   * 
+   * @param xitem 
+   *          the item.
+   *          
+   * @param xpriority 
+   *          the priority.
+   */
+  public final void offer(final Type xitem, final double xpriority) {
+    sls.insertSorted(xitem, xpriority, NO_ID);
+  }
+  
+  
+  /**
+   * Remove and return the first item (by default the item with the lowest
+   * priority).
+   * 
+   * @return the item or null if the queue is empty.
+   */
+  public final Type pollFirst() {
+    return sls.pollEnd(true, NO_ID);
+  }
+  
+  
+  /**
+   * Remove and return the last item (by default the item with the highest
+   * priority).
+   * 
+   * @return the item or null if the queue is empty.
+   */
+  public final Type pollLast() {
+    return sls.pollEnd(false, NO_ID);
+  }
+  
+  
+  /**
+   * Return the first item without removing it.
+   * 
+   * @return the item or null if the queue is empty.
+   */
+  public final Type peek() {
+    return sls.peekEnd(true);
+  }
+  
+  
+  /**
+   * Return the last item without removing it.
+   * 
+   * @return the item or null if the queue is empty.
+   */
+  public final Type peekLast() {
+    return sls.peekEnd(false);
+  }
+  
+  
+  /**
+   * Return the amount of items inside the queue.
+   * 
+   * @return the size.
+   */
+  public final int size() {
+    return sls.size();
+  }
+  
+  
+  /**
+   * Return whether the queue is empty.
+   * 
+   * @return whether the queue is empty.
+   */
+  public final boolean isEmpty() {
+    return sls.isEmpty();
+  }
+  
+  
+  /**
+   * Return the sorted list which contains the items of the queue.
+   * 
+   * @return the list.
+   */
+  public final Securelistsort<Type> getList() {
+    return sls;
+  }
+}
@@ -20,20 +20,67 @@ package adt.model;
 
 
 //import declarations
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.PriorityQueue;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 
 /**
  * Sorted Secure list.
  * 
+ * <p>
+ * The sorted insertion and the lookup by sort index use a skip-list index
+ * ({@link Sortindex}) above the element chain and thus need O(log n) 
+ * steps. If the sort index of an element is changed by 
+ * {@link #changeSortIndex(double, int)} the element is moved to its new 
+ * position, thus the list stays sorted. A change of the sort index 
+ * directly at an element ({@link Element#setSortedindex(double)}) is not 
+ * detected: the list and its index are not sorted any more and the
+ * sorted insertion, the lookup and the range queries give undefined 
+ * results until the next {@link #resort()}. Removing such an element 
+ * still removes it out of the index: if it does not fit between its 
+ * neighbours any more, the index is passed in O(n) steps.
+ * 
+ * <p>
+ * A list which is opened by {@link #open(File, Sortstore.Codec, Logger)} 
+ * is backed by a memory-mapped {@link Sortstore}: each insertion appends
+ * a record, each removal marks its record as removed. Opening the file 
+ * again links the stored items in one pass instead of inserting them 
+ * one by one.
+ * 
+ * <p>
+ * The range queries ({@link #countRange(double, double)}, 
+ * {@link #forEachInRange(double, double, Consumer)}, 
+ * {@link #streamRange(double, double)}, 
+ * {@link #removeRange(double, double, int)}) look up both ends of the 
+ * range by the index and pass only the k elements inside; thus they need
+ * O(log n + k) steps.
+ * 
  * @author Julius Huelsmann
  * @version %I%, %U%
  * @param <SecureListType>
  */
-public class Securelistsort<SecureListType> implements Serializable {
+public class Securelistsort<SecureListType> 
+    implements Iterable<SecureListType>, Serializable {
 
   /**
    * Default serial version UID for being able to identify the list's 
@@ -75,6 +122,35 @@ public class Securelistsort<SecureListType> implements Serializable {
    */
   private Securelist<SecureListType> ls;
   
+  
+  /**
+   * The skip-list index above the element chain of {@link #ls}. It is 
+   * not serialized but rebuilt after the list has been read.
+   */
+  private transient Sortindex<SecureListType> index;
+  
+  
+  /**
+   * Whether the {@link #index} mirrors the element chain. This is not the
+   * case if the list is not sorted any more.
+   */
+  private transient boolean indexValid;
+  
+  
+  /**
+   * The persistent store which backs the list or null if the list is only
+   * kept in memory. It is not serialized.
+   */
+  private transient Sortstore<SecureListType> store;
+  
+  
+  /**
+   * The positions of the records of the elements inside the 
+   * {@link #store}.
+   */
+  private transient IdentityHashMap<Element<SecureListType>, Integer> 
+      storePositions;
+  
 
   /**
    * Constructor.
@@ -86,6 +162,10 @@ public class Securelistsort<SecureListType> implements Serializable {
     
     //initialize the list
     ls = new Securelist<SecureListType>(xlog);
+    
+    //initialize the index of the (empty and thus sorted) list
+    index = new Sortindex<SecureListType>(sortAsc);
+    indexValid = true;
   }
   
 
@@ -103,6 +183,16 @@ public class Securelistsort<SecureListType> implements Serializable {
   }
 
   
+  /**
+   * Return the amount of items.
+   * 
+   * @return the size.
+   */
+  public final int size() {
+    return ls.size();
+  }
+
+  
   /**
    * Return weather it is in front of.
    *
@@ -226,6 +316,25 @@ public class Securelistsort<SecureListType> implements Serializable {
   
   
 
+  /**
+   * Go to the item at a position.
+   * 
+   * @param xindex the position (the first item has got position 0).
+   * 
+   * @param xtransactionId 
+   *         the id of the transaction to which performs the
+   *         method call.
+   * 
+   * @param xclosedActionId 
+   *         the id of the closed action to which performs the
+   *         method call.
+   */
+  public final void goToIndex(final int xindex,
+      final int xtransactionId, final int xclosedActionId) {
+    ls.goToIndex(xindex, xtransactionId, xclosedActionId);
+  }
+  
+
   /*
    * Methods for getting content of the list's current element.
    */
@@ -262,6 +371,62 @@ public class Securelistsort<SecureListType> implements Serializable {
     return ls.subList();
   }
 
+  /**
+   * Return an iterator over the items of the list in sorting order.
+   * 
+   * @return the iterator.
+   * @see Securelist#iterator()
+   */
+  @Override
+  public final Iterator<SecureListType> iterator() {
+    return ls.iterator();
+  }
+  
+  
+  /**
+   * Return a spliterator over the items of the list in sorting order 
+   * which splits off batches for parallel processing.
+   * 
+   * @return the spliterator.
+   * @see Securelist#spliterator()
+   */
+  @Override
+  public final Spliterator<SecureListType> spliterator() {
+    return ls.spliterator();
+  }
+  
+  
+  /**
+   * Return a sequential stream of the items of the list.
+   * 
+   * @return the stream.
+   */
+  public final Stream<SecureListType> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+  
+  
+  /**
+   * Return a parallel stream of the items of the list.
+   * 
+   * @return the stream.
+   */
+  public final Stream<SecureListType> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+  
+  
+  /**
+   * Return a view of the items from the current element to the end of 
+   * the list without copying them.
+   * 
+   * @return the view.
+   * @see Securelist#subListView()
+   */
+  public final Listview<SecureListType> subListView() {
+    return ls.subListView();
+  }
+
   /**
    * Return sort index of the current Element.
    *
@@ -280,9 +445,23 @@ public class Securelistsort<SecureListType> implements Serializable {
    *         the id of the transaction to which performs the
    *         method call.
    */
-  public final void remove(
+  public final synchronized void remove(
       final int xtransactionId) {
+    
+    //the element has to be removed out of the index while it is still 
+    //part of the list.
+    final Element<SecureListType> elem = ls.getElement();
+    if (indexValid && elem != null) {
+      indexRemove(elem);
+    }
+    final int sizeBefore = ls.size();
     ls.remove(xtransactionId);
+    
+    //the record is only marked as removed if the element has been 
+    //unlinked (the transaction may not permit the removal).
+    if (store != null && ls.size() < sizeBefore) {
+      storeRemove(elem);
+    }
   }
   
   
@@ -324,6 +503,161 @@ public class Securelistsort<SecureListType> implements Serializable {
   }
   
   
+  /**
+   * Return the item at a position.
+   * 
+   * @param xindex the position (the first item has got position 0).
+   * @return the item or null if the position is not inside the list.
+   */
+  public final SecureListType get(final int xindex) {
+    return ls.get(xindex);
+  }
+  
+  
+  /**
+   * Return the position of an element.
+   * 
+   * @param xelem the element.
+   * @return the position or -1 if the element is not part of the list.
+   */
+  public final int indexOf(final Element<SecureListType> xelem) {
+    return ls.indexOf(xelem);
+  }
+  
+  
+  /**
+   * Copy the items which are instances of the given class into a new 
+   * array in one pass.
+   * 
+   * @param xclass 
+   *          the component type of the array.
+   *          
+   * @param <T> 
+   *          the component type of the array.
+   *          
+   * @return the array from list.
+   * @see Securelist#toArray(Class)
+   */
+  public final <T> T[] toArray(final Class<T> xclass) {
+    return ls.toArray(xclass);
+  }
+  
+  
+  /**
+   * Move the first items (in sorting order) into the given array.
+   * 
+   * @param xarray 
+   *          the array which is filled beginning at index 0.
+   * 
+   * @param xtransactionId 
+   *         the id of the transaction to which performs the
+   *         method call.
+   *          
+   * @return the amount of items that have been moved.
+   * @see List#drainTo(Object[])
+   */
+  public final synchronized int drainTo(final SecureListType[] xarray, 
+      final int xtransactionId) {
+    
+    //the elements have to be removed out of the index while they are 
+    //still part of the list.
+    final List<SecureListType> list = ls.getList();
+    final Element<SecureListType> elemFirst = 
+        list.getElemFirst().getElemSuccessor();
+    if (indexValid) {
+      Element<SecureListType> elem = elemFirst;
+      for (int i = 0; i < xarray.length && elem != list.getElemLast(); 
+          i++) {
+        indexRemove(elem);
+        elem = elem.getElemSuccessor();
+      }
+    }
+    final int amount = ls.drainTo(xarray, xtransactionId);
+    
+    //the drained elements are still linked by their successors.
+    if (store != null) {
+      Element<SecureListType> elem = elemFirst;
+      for (int i = 0; i < amount; i++) {
+        storeRemove(elem);
+        elem = elem.getElemSuccessor();
+      }
+    }
+    return amount;
+  }
+  
+  
+  /**
+   * Maintain a hash index of the contents which is used by the find 
+   * methods.
+   * 
+   * @param xidentity 
+   *          whether the contents are compared by identity instead of 
+   *          <code>equals</code>.
+   * @see Securelist#enableHashindex(boolean)
+   */
+  public final void enableHashindex(final boolean xidentity) {
+    ls.enableHashindex(xidentity);
+  }
+  
+  
+  /**
+   * Do not maintain a hash index any more.
+   */
+  public final void disableHashindex() {
+    ls.disableHashindex();
+  }
+  
+  
+  /**
+   * Maintain an order-statistic index of the positions.
+   * 
+   * @see Securelist#enablePositionindex()
+   */
+  public final void enablePositionindex() {
+    ls.enablePositionindex();
+  }
+  
+  
+  /**
+   * Do not maintain an order-statistic index any more.
+   */
+  public final void disablePositionindex() {
+    ls.disablePositionindex();
+  }
+  
+  
+  /**
+   * Return whether the list maintains an order-statistic index.
+   * 
+   * @return whether the position index is enabled.
+   */
+  public final boolean isPositionindex() {
+    return ls.isPositionindex();
+  }
+  
+  
+  /**
+   * Return whether the list maintains a hash index.
+   * 
+   * @return whether the hash index is enabled.
+   */
+  public final boolean isHashindex() {
+    return ls.isHashindex();
+  }
+  
+  
+  /**
+   * Return a new cursor which passes the list independently of the 
+   * current element.
+   * 
+   * @return the cursor.
+   * @see Securelist#newCursor()
+   */
+  public final Listcursor<SecureListType> newCursor() {
+    return ls.newCursor();
+  }
+  
+  
   
   
   
@@ -470,6 +804,17 @@ public class Securelistsort<SecureListType> implements Serializable {
   public final synchronized void insertSorted(final SecureListType xcontent, 
       final double xsearchCriteria, final int xoldTransactionid) {
     
+    //the record is written first; an item which can not be persisted is
+    //not inserted.
+    int position = -1;
+    if (store != null) {
+      position = storeAppend(xsearchCriteria, xcontent);
+      if (position < 0) {
+        return;
+      }
+    }
+    final int sizeBefore = ls.size();
+    
     final int transactionId = ls.startTransaction(
         internalAction + "insert Sorted", xoldTransactionid);
     
@@ -477,18 +822,191 @@ public class Securelistsort<SecureListType> implements Serializable {
     //than the one which is inserted.
     findSorted(xsearchCriteria, transactionId, ID_NO_PREDECESSOR);
     
-    //insert the new item depending on sorting order
-    if (sortAsc) {
+    if (indexValid) {
+      
+      //the indexed lookup stops at the first element that comes after
+      //the new one, independent of the sorting order. Insert in front of
+      //it and add the new element to the index.
       ls.insertInFrontOf(xcontent, transactionId);
+      ls.getElement().setSortedindex(xsearchCriteria);
+      index.add(ls.getElement());
     } else {
-      ls.insertBehind(xcontent, transactionId);
+      
+      //insert the new item depending on sorting order
+      if (sortAsc) {
+        ls.insertInFrontOf(xcontent, transactionId);
+      } else {
+        ls.insertBehind(xcontent, transactionId);
+      }
+      
+      //apply the sorting index to the new item
+      ls.getElement().setSortedindex(xsearchCriteria);
+    }
+    
+    //the record is marked as removed again if the transaction did not 
+    //permit the insertion.
+    if (store != null) {
+      if (ls.size() > sizeBefore) {
+        storePositions.put(ls.getElement(), position);
+      } else {
+        store.remove(position);
+      }
+    }
+    ls.finishTransaction(transactionId);
+  }
+
+  
+  /**
+   * Insert a batch of items sorted. The batch is sorted once and merged 
+   * into the element chain in one pass inside a single transaction; thus
+   * loading m items into a list of n items needs O(n + m log m) steps 
+   * instead of m calls of {@link #insertSorted(Object, double, int)}.
+   * Items with the same sort index keep the order of the collection and
+   * are inserted behind the items of the list with that index.
+   * 
+   * <p>
+   * Afterwards the current element is the last inserted item. If the 
+   * list is not sorted (see {@link #resort()}) the items are inserted one
+   * by one.
+   * 
+   * @param xcontents 
+   *         the contents to be inserted.
+   * 
+   * @param xsearchCriteria 
+   *         the function returning the index of sorting of a content.
+   * 
+   * @param xoldTransactionid
+   *         the id of the current operation for being able to start a 
+   *         new transaction.
+   */
+  public final synchronized void insertAllSorted(
+      final Collection<? extends SecureListType> xcontents,
+      final ToDoubleFunction<? super SecureListType> xsearchCriteria,
+      final int xoldTransactionid) {
+    
+    if (xcontents.isEmpty()) {
+      return;
+    }
+    
+    final int transactionId = ls.startTransaction(
+        internalAction + "insert all Sorted", xoldTransactionid);
+    
+    //the list is not sorted; thus there is nothing to merge into.
+    if (!indexValid) {
+      for (SecureListType content : xcontents) {
+        insertSorted(content, xsearchCriteria.applyAsDouble(content), 
+            transactionId);
+      }
+      ls.finishTransaction(transactionId);
+      return;
     }
     
-    //apply the sorting index to the new item
-    ls.getElement().setSortedindex(xsearchCriteria);
+    //create the new elements and sort them (stable) in the sorting 
+    //order of the list.
+    final Element<SecureListType>[] elemsNew = newElements(
+        xcontents.size());
+    int amountNew = 0;
+    for (SecureListType content : xcontents) {
+      final Element<SecureListType> elem = new Element<SecureListType>(
+          content, null, null);
+      elem.setSortedindex(xsearchCriteria.applyAsDouble(content));
+      elemsNew[amountNew] = elem;
+      amountNew++;
+    }
+    
+    //the records are written first; if one of them can not be written
+    //the batch is not inserted.
+    if (store != null) {
+      final int[] positions = new int[amountNew];
+      for (int i = 0; i < amountNew; i++) {
+        positions[i] = storeAppend(elemsNew[i].getSortedindex(), 
+            elemsNew[i].getContent());
+        if (positions[i] < 0) {
+          for (int j = 0; j < i; j++) {
+            store.remove(positions[j]);
+          }
+          ls.finishTransaction(transactionId);
+          return;
+        }
+      }
+      for (int i = 0; i < amountNew; i++) {
+        storePositions.put(elemsNew[i], positions[i]);
+      }
+    }
+    mergeSorted(elemsNew, amountNew);
     
+    ls.goToElement(elemsNew[amountNew - 1], transactionId, 
+        ID_NO_PREDECESSOR);
     ls.finishTransaction(transactionId);
   }
+  
+  
+  /**
+   * Sort new elements (stable) in the sorting order of the list and merge
+   * them into the element chain in one pass; afterwards the index is 
+   * rebuilt. The list has to be sorted.
+   * 
+   * @param xelemsNew 
+   *          the new elements which are not linked yet.
+   * 
+   * @param xamountNew 
+   *          the amount of new elements at the beginning of the array.
+   */
+  private void mergeSorted(final Element<SecureListType>[] xelemsNew,
+      final int xamountNew) {
+    
+    Arrays.sort(xelemsNew, 0, xamountNew, 
+        new Comparator<Element<SecureListType>>() {
+      @Override
+      public int compare(final Element<SecureListType> xelem1, 
+          final Element<SecureListType> xelem2) {
+        if (comesAfter(xelem1.getSortedindex(), xelem2.getSortedindex())) {
+          return 1;
+        } else if (comesAfter(xelem2.getSortedindex(), 
+            xelem1.getSortedindex())) {
+          return -1;
+        }
+        return 0;
+      }
+    });
+    
+    //the chain is relinked directly; thus take exclusive ownership of 
+    //the list (if the secure list is in read-write locking mode).
+    final long stamp = ls.lockWrite();
+    try {
+      
+      //merge: pass the chain once and link each new element in front of
+      //the first element that comes after it. Because the batch is 
+      //sorted, the next new element can not be inserted in front of the
+      //current position.
+      ls.getList().changing();
+      final Element<SecureListType> elemTail = ls.getList().getElemLast();
+      Element<SecureListType> elem = 
+          ls.getList().getElemFirst().getElemSuccessor();
+      for (int i = 0; i < xamountNew; i++) {
+        
+        final Element<SecureListType> elemNew = xelemsNew[i];
+        while (elem != elemTail && !comesAfter(elem.getSortedindex(), 
+            elemNew.getSortedindex())) {
+          elem = elem.getElemSuccessor();
+        }
+        
+        final Element<SecureListType> elemPredecessor = 
+            elem.getElemPredecessor();
+        elemNew.setElemPredecessor(elemPredecessor);
+        elemNew.setElemSuccessor(elem);
+        elemPredecessor.setElemSuccessor(elemNew);
+        elem.setElemPredecessor(elemNew);
+        ls.getList().linked(elemNew);
+      }
+      
+      //the chain has already been passed once; thus rebuilding the index
+      //does not change the complexity.
+      rebuildIndex();
+    } finally {
+      ls.unlockWrite(stamp);
+    }
+  }
 
   
   /**
@@ -497,6 +1015,7 @@ public class Securelistsort<SecureListType> implements Serializable {
   public final synchronized void setSortAsc() {
     if (ls.isEmpty()) {
       sortAsc = true;
+      index.setSortAsc(sortAsc);
     } else {
       ls.getLog().warning("tried to change sorting order without"
           + "success: The list is not empty and thus may have"
@@ -511,6 +1030,7 @@ public class Securelistsort<SecureListType> implements Serializable {
   public final synchronized void setsortDesc() {
     if (ls.isEmpty()) {
       sortAsc = false;
+      index.setSortAsc(sortAsc);
     } else {
       ls.getLog().warning("tried to change sorting order without"
           + "success: The list is not empty and thus may have"
@@ -521,8 +1041,9 @@ public class Securelistsort<SecureListType> implements Serializable {
   
   
   /**
-   * Sort the list with bubble-sort algorithm.
-   * 
+   * Sort the list with a stable bottom-up merge sort in O(n log n). The
+   * elements are relinked directly; there is no allocation per element.
+   * The current element of the list stays the same item.
    */
   public final synchronized void resort() {
 
@@ -531,57 +1052,119 @@ public class Securelistsort<SecureListType> implements Serializable {
       return;
     }
     
-    /* 
-     * start new transaction and go to the beginning of the list.
-     * Initialize the first element as temporarily maintained one.
-     * Go to the second element.
-     */
     final int transactionId = ls.startTransaction(
         "Resort the list", Securelist.ID_NO_PREDECESSOR);
     
-    int amountSteps = 1;
-    for (int i = 0; i < amountSteps; i++) {
-      amountSteps = 1; //=1 - 1;
+    //the chain is relinked directly; thus take exclusive ownership of 
+    //the list (if the secure list is in read-write locking mode).
+    final long stamp = ls.lockWrite();
+    try {
       
-      ls.toFirst(transactionId, Securelist.ID_NO_PREDECESSOR);
-      Element<SecureListType> elemMaintained = ls.getElement();
-      ls.next(transactionId, Securelist.ID_NO_PREDECESSOR);
+      final List<SecureListType> list = ls.getList();
+      list.changing();
+      final Element<SecureListType> elemHead = list.getElemFirst();
+      final Element<SecureListType> elemTail = list.getElemLast();
       
-      while (!ls.isEmpty() && !ls.isBehind()) {
-
-        //if the maintained element is to be maintained once again:
-        if ((elemMaintained.getSortedindex() 
-            > ls.getElement().getSortedindex()) == sortAsc) {
-          
-          // P  <->    elem_maintained  <->  elem_current  <->  S
-          // is to be transformed into
-          // P   <->    elem_current  <->  elem_maintained  <->  S
-          
-          final Element<SecureListType> elemP = elemMaintained
-              .getElemPredecessor();
-          final Element<SecureListType> elemS = ls.getElement()
-              .getElemSuccessor();
-          final Element<SecureListType> elemCurrent = ls.getElement();
-          
-          elemMaintained.setElemPredecessor(elemCurrent);
-          elemCurrent.setElemSuccessor(elemMaintained);
-          
-          elemCurrent.setElemPredecessor(elemP);
-          elemP.setElemSuccessor(elemCurrent);
+      //detach the chain from the sentinels and sort it as a singly linked
+      //chain which is terminated by null.
+      elemTail.getElemPredecessor().setElemSuccessor(null);
+      final Element<SecureListType> elemSorted = mergeSort(
+          elemHead.getElemSuccessor());
+      
+      //restore the predecessor pointers and attach the sentinels again.
+      Element<SecureListType> elemPredecessor = elemHead;
+      for (Element<SecureListType> elem = elemSorted; elem != null; 
+          elem = elem.getElemSuccessor()) {
+        elem.setElemPredecessor(elemPredecessor);
+        elemPredecessor.setElemSuccessor(elem);
+        elemPredecessor = elem;
+      }
+      elemPredecessor.setElemSuccessor(elemTail);
+      elemTail.setElemPredecessor(elemPredecessor);
+      list.relinked();
+      
+      //the list is sorted again; thus the index can be rebuilt.
+      rebuildIndex();
+    } finally {
+      ls.unlockWrite(stamp);
+    }
+    ls.finishTransaction(transactionId);
+  }
+  
+  
+  /**
+   * Bottom-up merge sort of a chain of elements which is linked by the 
+   * successor pointers and terminated by null. In each pass neighbouring 
+   * runs of the current width are merged; the width is doubled until a 
+   * single run remains. Elements with the same sort index keep their 
+   * order. The predecessor pointers are not maintained.
+   * 
+   * @param xfirst 
+   *          the first element of the chain.
+   *          
+   * @return the first element of the sorted chain.
+   */
+  private Element<SecureListType> mergeSort(
+      final Element<SecureListType> xfirst) {
+    
+    Element<SecureListType> elemFirst = xfirst;
+    int width = 1;
+    while (true) {
+      
+      Element<SecureListType> elemLeft = elemFirst;
+      Element<SecureListType> elemTail = null;
+      elemFirst = null;
+      int amountMerges = 0;
+      
+      while (elemLeft != null) {
+        amountMerges++;
+        
+        //the right run starts width elements behind the left one.
+        Element<SecureListType> elemRight = elemLeft;
+        int sizeLeft = 0;
+        while (sizeLeft < width && elemRight != null) {
+          sizeLeft++;
+          elemRight = elemRight.getElemSuccessor();
+        }
+        int sizeRight = width;
+        
+        //merge both runs; take the left element if the right one does
+        //not come in front of it (stable).
+        while (sizeLeft > 0 || (sizeRight > 0 && elemRight != null)) {
           
-          elemMaintained.setElemSuccessor(elemS);
-          elemS.setElemPredecessor(elemMaintained);
-        } else {
+          final Element<SecureListType> elem;
+          if (sizeLeft == 0) {
+            elem = elemRight;
+            elemRight = elemRight.getElemSuccessor();
+            sizeRight--;
+          } else if (sizeRight == 0 || elemRight == null
+              || !comesAfter(elemLeft.getSortedindex(), 
+                  elemRight.getSortedindex())) {
+            elem = elemLeft;
+            elemLeft = elemLeft.getElemSuccessor();
+            sizeLeft--;
+          } else {
+            elem = elemRight;
+            elemRight = elemRight.getElemSuccessor();
+            sizeRight--;
+          }
           
-          elemMaintained = ls.getElement();
+          if (elemTail == null) {
+            elemFirst = elem;
+          } else {
+            elemTail.setElemSuccessor(elem);
+          }
+          elemTail = elem;
         }
-
-
-        ls.next(transactionId, ID_NO_PREDECESSOR);
-        amountSteps++;
+        elemLeft = elemRight;
+      }
+      elemTail.setElemSuccessor(null);
+      
+      if (amountMerges <= 1) {
+        return elemFirst;
       }
+      width *= 2;
     }
-    ls.finishTransaction(transactionId);
   }
   
   
@@ -600,35 +1183,129 @@ public class Securelistsort<SecureListType> implements Serializable {
       sls.ls.insertBehind(rand + "", ID_NO_PREDECESSOR);
       sls.ls.getElement().setSortedindex(rand);
     }
+    sls.indexValid = false;
   }
   
   /**
    * Change the sort index of the current element.
    * @param xsortedIndex the new sorted index of the current element.
+   * @see #changeSortIndex(double, int)
    */
-  public final void changeSortIndex(final int xsortedIndex) {
-    
-    //if the current element is not null change sort index.
-    if (getElement() != null) {
-      getElement().setSortedindex(xsortedIndex);
-    } else {
-      ls.getLog().warning("The current element is null. Thus it "
-          + "is impossible to change the sort index.");
-    }
+  public final synchronized void changeSortIndex(final int xsortedIndex) {
+    changeSortIndex(xsortedIndex, ID_NO_PREDECESSOR);
   }
   
   
   /**
-   * goes behind the searched position.
+   * Change the sort index of the current element and move the element to 
+   * its new position inside one transaction; afterwards the current 
+   * element is still the changed one. Like an item inserted by 
+   * {@link #insertSorted(Object, double, int)} the element is placed 
+   * behind all elements with the same sort index.
    * 
+   * <p>
+   * If the element still fits between its neighbors it is not moved at 
+   * all. Otherwise the new position is looked up by the index in 
+   * O(log n) steps and the element is relinked there; there is no need 
+   * for a subsequent {@link #resort()}. If the list is not sorted the sort
+   * index is changed only.
    * 
-   * @param xsearchCriteria 
-   *         the index of sorting.
+   * @param xsortedIndex 
+   *         the new sorted index of the current element.
    * 
-   * @param xtransactionId
+   * @param xoldTransactionid
    *         the id of the current operation for being able to start a 
    *         new transaction.
-   * 
+   */
+  public final synchronized void changeSortIndex(final double xsortedIndex,
+      final int xoldTransactionid) {
+    
+    final Element<SecureListType> elem = getElement();
+    if (elem == null) {
+      ls.getLog().warning("The current element is null. Thus it "
+          + "is impossible to change the sort index.");
+      return;
+    }
+    
+    //the element comes behind all elements with the same sort index; 
+    //thus its record is appended again instead of changing its key in 
+    //place, which keeps the order of the records with the same index 
+    //equal to the order of the list when the store is opened again. The
+    //change is refused if the record can not be written.
+    if (store != null && storePositions.containsKey(elem)) {
+      final int position = storeAppend(xsortedIndex, elem.getContent());
+      if (position < 0) {
+        return;
+      }
+      storeRemove(elem);
+      storePositions.put(elem, position);
+    }
+    
+    if (!indexValid) {
+      elem.setSortedindex(xsortedIndex);
+    } else {
+      
+      //the element has to be removed out of the index while it has got 
+      //its old sort index.
+      indexRemove(elem);
+      elem.setSortedindex(xsortedIndex);
+      
+      //the element stays at its position if it comes behind its 
+      //predecessor and in front of its successor.
+      final Element<SecureListType> elemPredecessor = 
+          elem.getElemPredecessor();
+      final Element<SecureListType> elemSuccessor = elem.getElemSuccessor();
+      if ((elemPredecessor == elemHead() || !comesAfter(
+          elemPredecessor.getSortedindex(), xsortedIndex))
+          && (elemSuccessor == elemTail() || comesAfter(
+              elemSuccessor.getSortedindex(), xsortedIndex))) {
+        index.add(elem);
+      } else {
+        
+        //look up the last element that does not come after the new sort 
+        //index, skipping the moved element itself.
+        final Element<SecureListType> elemFloor = 
+            index.floor(xsortedIndex);
+        Element<SecureListType> elemNewPredecessor = 
+            elemFloor == null ? elemHead() : elemFloor;
+        Element<SecureListType> elemNext = 
+            elemNewPredecessor.getElemSuccessor();
+        while (elemNext != elemTail() && (elemNext == elem 
+            || !comesAfter(elemNext.getSortedindex(), xsortedIndex))) {
+          if (elemNext != elem) {
+            elemNewPredecessor = elemNext;
+          }
+          elemNext = elemNext.getElemSuccessor();
+        }
+        
+        final int transactionId = ls.startTransaction(
+            internalAction + "change sort index", xoldTransactionid);
+        ls.move(elem, elemNewPredecessor, transactionId);
+        ls.finishTransaction(transactionId);
+        
+        //if the transaction did not permit the move the element is at a
+        //wrong position and the list is not sorted any more.
+        if (elem.getElemPredecessor() == elemNewPredecessor) {
+          index.add(elem);
+        } else {
+          rebuildIndex();
+        }
+      }
+    }
+  }
+  
+  
+  /**
+   * goes behind the searched position.
+   * 
+   * 
+   * @param xsearchCriteria 
+   *         the index of sorting.
+   * 
+   * @param xtransactionId
+   *         the id of the current operation for being able to start a 
+   *         new transaction.
+   * 
    * @param xclosedactionId 
    *         the id of the closed action to which performs the
    *         method call.
@@ -636,6 +1313,63 @@ public class Securelistsort<SecureListType> implements Serializable {
   public final synchronized void findSorted(final double xsearchCriteria,
       final int xtransactionId, final int xclosedactionId) {
     
+    if (indexValid) {
+      findSortedIndexed(xsearchCriteria, xtransactionId, xclosedactionId);
+    } else {
+      findSortedLinear(xsearchCriteria, xtransactionId, xclosedactionId);
+    }
+  }
+  
+  
+  /**
+   * Goes behind the searched position by using the index: go to the last 
+   * indexed element that does not come after the searched position and 
+   * proceed from there until the first element that comes after it (or 
+   * until the end of the list).
+   * 
+   * @param xsearchCriteria 
+   *         the index of sorting.
+   * 
+   * @param xtransactionId
+   *         the id of the current transaction.
+   * 
+   * @param xclosedactionId 
+   *         the id of the current closed action.
+   */
+  private void findSortedIndexed(final double xsearchCriteria,
+      final int xtransactionId, final int xclosedactionId) {
+    
+    final Element<SecureListType> elemFloor = index.floor(xsearchCriteria);
+    if (elemFloor == null) {
+      ls.toFirst(xtransactionId, xclosedactionId);
+    } else {
+      ls.goToElement(elemFloor, xtransactionId, xclosedactionId);
+    }
+    
+    while (!ls.isBehind() 
+        && (ls.getElement() == null 
+        || !comesAfter(ls.getElement().getSortedindex(), xsearchCriteria))) {
+      ls.next(xtransactionId, xclosedactionId);
+    }
+  }
+  
+  
+  /**
+   * Goes behind the searched position by passing the list beginning at 
+   * the current element. Used if the list is not sorted.
+   * 
+   * @param xsearchCriteria 
+   *         the index of sorting.
+   * 
+   * @param xtransactionId
+   *         the id of the current transaction.
+   * 
+   * @param xclosedactionId 
+   *         the id of the current closed action.
+   */
+  private void findSortedLinear(final double xsearchCriteria,
+      final int xtransactionId, final int xclosedactionId) {
+    
     //if list is empty there is nothing to do. Thus only perform action 
     //if list is not empty.
     if (!ls.isEmpty()) {
@@ -676,18 +1410,893 @@ public class Securelistsort<SecureListType> implements Serializable {
           }
           if (!ls.isBehind()) {
 
-            findSorted(xsearchCriteria, xtransactionId, 
+            findSortedLinear(xsearchCriteria, xtransactionId, 
                 xclosedactionId);
           }
         }
       } else if (ls.isBehind()) {
         ls.toLast(xtransactionId, xclosedactionId);
-        findSorted(xsearchCriteria, xtransactionId, xclosedactionId);
+        findSortedLinear(xsearchCriteria, xtransactionId, xclosedactionId);
       } else {
         ls.toFirst(xtransactionId, xclosedactionId);
-        findSorted(xsearchCriteria, xtransactionId, xclosedactionId);
+        findSortedLinear(xsearchCriteria, xtransactionId, xclosedactionId);
+      }
+    }
+  }
+
+
+  /**
+   * Return the amount of items whose sort index is inside the range 
+   * [xfrom, xto). If the list maintains a position index (see 
+   * {@link #enablePositionindex()}) the amount is computed from the 
+   * positions of both ends in O(log n); otherwise the range is passed.
+   * 
+   * @param xfrom the lowest sort index inside the range.
+   * @param xto the lowest sort index behind the range.
+   * @return the amount of items.
+   */
+  public final synchronized int countRange(final double xfrom, 
+      final double xto) {
+    
+    final long stamp = ls.startReadTransaction();
+    try {
+      if (!indexValid) {
+        int amount = 0;
+        for (Element<SecureListType> elem = elemHead().getElemSuccessor();
+            elem != elemTail(); elem = elem.getElemSuccessor()) {
+          if (inRange(elem.getSortedindex(), xfrom, xto)) {
+            amount++;
+          }
+        }
+        return amount;
+      }
+      
+      final Element<SecureListType> elemStart = rangeStart(xfrom, xto);
+      final Element<SecureListType> elemEnd = rangeEnd(xfrom, xto);
+      if (elemStart == elemEnd) {
+        return 0;
+      }
+      if (ls.isPositionindex()) {
+        final int indexEnd = elemEnd == elemTail() 
+            ? ls.size() : ls.indexOf(elemEnd);
+        return indexEnd - ls.indexOf(elemStart);
+      }
+      int amount = 0;
+      for (Element<SecureListType> elem = elemStart; elem != elemEnd; 
+          elem = elem.getElemSuccessor()) {
+        amount++;
+      }
+      return amount;
+    } finally {
+      ls.finishReadTransaction(stamp);
+    }
+  }
+  
+  
+  /**
+   * Pass the items whose sort index is inside the range [xfrom, xto) in 
+   * the sorting order of the list. The action must not change the list.
+   * 
+   * @param xfrom the lowest sort index inside the range.
+   * @param xto the lowest sort index behind the range.
+   * @param xaction the action which is performed for each item.
+   */
+  public final synchronized void forEachInRange(final double xfrom, 
+      final double xto, final Consumer<? super SecureListType> xaction) {
+    
+    final long stamp = ls.startReadTransaction();
+    try {
+      if (!indexValid) {
+        for (Element<SecureListType> elem = elemHead().getElemSuccessor();
+            elem != elemTail(); elem = elem.getElemSuccessor()) {
+          if (inRange(elem.getSortedindex(), xfrom, xto)) {
+            xaction.accept(elem.getContent());
+          }
+        }
+        return;
+      }
+      
+      final Element<SecureListType> elemEnd = rangeEnd(xfrom, xto);
+      for (Element<SecureListType> elem = rangeStart(xfrom, xto); 
+          elem != elemEnd; elem = elem.getElemSuccessor()) {
+        xaction.accept(elem.getContent());
+      }
+    } finally {
+      ls.finishReadTransaction(stamp);
+    }
+  }
+  
+  
+  /**
+   * Return a stream of the items whose sort index is inside the range 
+   * [xfrom, xto) in the sorting order of the list. The ends of the range 
+   * are looked up at once; the items are passed lazily and must not be 
+   * changed while the stream is consumed.
+   * 
+   * @param xfrom the lowest sort index inside the range.
+   * @param xto the lowest sort index behind the range.
+   * @return the stream.
+   */
+  public final synchronized Stream<SecureListType> streamRange(
+      final double xfrom, final double xto) {
+    
+    final long stamp = ls.startReadTransaction();
+    try {
+      if (!indexValid) {
+        final Iterator<SecureListType> contents = 
+            new Iterator<SecureListType>() {
+              private Element<SecureListType> elem = 
+                  nextInRange(elemHead().getElemSuccessor());
+              
+              @Override
+              public boolean hasNext() {
+                return elem != elemTail();
+              }
+              
+              @Override
+              public SecureListType next() {
+                final SecureListType content = elem.getContent();
+                elem = nextInRange(elem.getElemSuccessor());
+                return content;
+              }
+              
+              private Element<SecureListType> nextInRange(
+                  final Element<SecureListType> xelem) {
+                Element<SecureListType> elemNext = xelem;
+                while (elemNext != elemTail() && !inRange(
+                    elemNext.getSortedindex(), xfrom, xto)) {
+                  elemNext = elemNext.getElemSuccessor();
+                }
+                return elemNext;
+              }
+            };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+            contents, Spliterator.ORDERED), false);
+      }
+      
+      final Element<SecureListType> elemStart = rangeStart(xfrom, xto);
+      final Element<SecureListType> elemEnd = rangeEnd(xfrom, xto);
+      long size = 0;
+      if (elemStart != elemEnd && ls.isPositionindex()) {
+        size = (elemEnd == elemTail() ? ls.size() : ls.indexOf(elemEnd))
+            - ls.indexOf(elemStart);
+      } else {
+        for (Element<SecureListType> elem = elemStart; elem != elemEnd;
+            elem = elem.getElemSuccessor()) {
+          size++;
+        }
+      }
+      return StreamSupport.stream(new Elementspliterator<SecureListType>(
+          elemStart, elemEnd, size), false);
+    } finally {
+      ls.finishReadTransaction(stamp);
+    }
+  }
+  
+  
+  /**
+   * Remove the items whose sort index is inside the range [xfrom, xto) in
+   * one transaction. Afterwards the current element is the predecessor of
+   * the removed items.
+   * 
+   * @param xfrom the lowest sort index inside the range.
+   * @param xto the lowest sort index behind the range.
+   * 
+   * @param xoldTransactionid
+   *         the id of the current operation for being able to start a 
+   *         new transaction.
+   *         
+   * @return the amount of removed items.
+   */
+  public final synchronized int removeRange(final double xfrom, 
+      final double xto, final int xoldTransactionid) {
+    
+    final int transactionId = ls.startTransaction(
+        internalAction + "remove Range", xoldTransactionid);
+    int amount = 0;
+    
+    if (indexValid) {
+      
+      //the range is one run of the list; it is unlinked at once and its
+      //nodes are removed out of the index while the elements still have 
+      //got their sort indices.
+      final Element<SecureListType> elemStart = rangeStart(xfrom, xto);
+      final Element<SecureListType> elemEnd = rangeEnd(xfrom, xto);
+      final Element<SecureListType> elemLast = elemEnd.getElemPredecessor();
+      if (elemStart != elemEnd 
+          && ls.unlinkRange(elemStart, elemEnd, transactionId)) {
+        index.removeRun(elemStart.getSortedindex(), 
+            elemLast.getSortedindex());
+        
+        //the unlinked elements are still linked among each other.
+        for (Element<SecureListType> elem = elemStart; elem != elemEnd; 
+            elem = elem.getElemSuccessor()) {
+          if (store != null) {
+            storeRemove(elem);
+          }
+          amount++;
+        }
+      }
+    } else {
+      
+      //each element is removed like the current element (see remove); 
+      //thus the store and the records of the secure list stay consistent.
+      Element<SecureListType> elem = elemHead().getElemSuccessor();
+      while (elem != elemTail()) {
+        final Element<SecureListType> elemSuccessor = 
+            elem.getElemSuccessor();
+        if (inRange(elem.getSortedindex(), xfrom, xto)) {
+          ls.goToElement(elem, transactionId, ID_NO_PREDECESSOR);
+          remove(transactionId);
+          amount++;
+        }
+        elem = elemSuccessor;
       }
     }
+    
+    ls.finishTransaction(transactionId);
+    return amount;
+  }
+  
+  
+  /**
+   * Pass the (at most) k items with the highest sort indices, beginning 
+   * with the highest one. In a sorted list these are the items at one end
+   * which are passed in O(k); otherwise the list is passed once and the 
+   * items are selected by a heap of size k.
+   * 
+   * @param xk the amount of items.
+   * @param xaction the action which is performed for each item.
+   */
+  public final synchronized void topK(final int xk, 
+      final Consumer<? super SecureListType> xaction) {
+    
+    if (xk <= 0) {
+      return;
+    }
+    final long stamp = ls.startReadTransaction();
+    try {
+      if (indexValid) {
+        
+        //the highest indices are at the end of an ascending list and at 
+        //the beginning of a descending one.
+        Element<SecureListType> elem = sortAsc 
+            ? elemTail().getElemPredecessor() 
+            : elemHead().getElemSuccessor();
+        for (int i = 0; i < xk && elem != elemHead() && elem != elemTail();
+            i++) {
+          xaction.accept(elem.getContent());
+          elem = sortAsc ? elem.getElemPredecessor() 
+              : elem.getElemSuccessor();
+        }
+        return;
+      }
+      
+      //keep the k highest indices in a heap whose root is the lowest.
+      final PriorityQueue<Element<SecureListType>> heap = 
+          new PriorityQueue<Element<SecureListType>>(Math.min(xk, 1024),
+              new Comparator<Element<SecureListType>>() {
+                @Override
+                public int compare(final Element<SecureListType> xelem1,
+                    final Element<SecureListType> xelem2) {
+                  return Double.compare(xelem1.getSortedindex(), 
+                      xelem2.getSortedindex());
+                }
+              });
+      for (Element<SecureListType> elem = elemHead().getElemSuccessor();
+          elem != elemTail(); elem = elem.getElemSuccessor()) {
+        if (heap.size() < xk) {
+          heap.add(elem);
+        } else if (elem.getSortedindex() 
+            > heap.peek().getSortedindex()) {
+          heap.poll();
+          heap.add(elem);
+        }
+      }
+      final Element<SecureListType>[] elems = newElements(heap.size());
+      for (int i = elems.length - 1; i >= 0; i--) {
+        elems[i] = heap.poll();
+      }
+      for (Element<SecureListType> elem : elems) {
+        xaction.accept(elem.getContent());
+      }
+    } finally {
+      ls.finishReadTransaction(stamp);
+    }
+  }
+  
+  
+  /**
+   * Remove the first or the last item of the list by unlinking the 
+   * successor of the head respectively the predecessor of the tail; the 
+   * current element is not moved there first. If the list is not sorted 
+   * it is sorted before. Used by {@link Securelistqueue}.
+   * 
+   * @param xfirst 
+   *         whether to remove the first or the last item.
+   * 
+   * @param xtransactionId 
+   *         the id of the transaction to which performs the
+   *         method call.
+   *         
+   * @return the removed item or null if the list is empty or the 
+   *         transaction does not permit the removal.
+   */
+  final synchronized SecureListType pollEnd(final boolean xfirst, 
+      final int xtransactionId) {
+    
+    if (!indexValid) {
+      resort();
+    }
+    final Element<SecureListType> elem = xfirst 
+        ? elemHead().getElemSuccessor() : elemTail().getElemPredecessor();
+    if (elem == elemHead() || elem == elemTail()) {
+      return null;
+    }
+    if (!ls.unlink(elem, xtransactionId)) {
+      return null;
+    }
+    
+    //the element is the first (last) element; thus its node is found 
+    //without a search.
+    if (indexValid) {
+      index.removeEnd(elem, xfirst);
+    }
+    if (store != null) {
+      storeRemove(elem);
+    }
+    return elem.getContent();
+  }
+  
+  
+  /**
+   * Return the first or the last item of the list without removing it. 
+   * Used by {@link Securelistqueue}. If the list is not sorted it is not 
+   * changed; instead the item which would be the first respectively the 
+   * last one after {@link #resort()} is searched in O(n) steps.
+   * 
+   * @param xfirst 
+   *         whether to return the first or the last item.
+   *         
+   * @return the item or null if the list is empty.
+   */
+  final synchronized SecureListType peekEnd(final boolean xfirst) {
+    
+    final long stamp = ls.startReadTransaction();
+    try {
+      Element<SecureListType> elem = xfirst 
+          ? elemHead().getElemSuccessor() : elemTail().getElemPredecessor();
+      if (elem == elemHead() || elem == elemTail()) {
+        return null;
+      }
+      
+      //the stable resort keeps the order of the items with the same sort
+      //index; thus the first one of them is the first item and the last
+      //one is the last item.
+      if (!indexValid) {
+        for (Element<SecureListType> elemNext = elemHead().getElemSuccessor();
+            elemNext != elemTail(); elemNext = elemNext.getElemSuccessor()) {
+          if (xfirst ? comesAfter(elem.getSortedindex(), 
+              elemNext.getSortedindex()) : !comesAfter(
+                  elem.getSortedindex(), elemNext.getSortedindex())) {
+            elem = elemNext;
+          }
+        }
+      }
+      return elem.getContent();
+    } finally {
+      ls.finishReadTransaction(stamp);
+    }
+  }
+  
+  
+  /**
+   * Return the first element of the range [xfrom, xto) in the sorting 
+   * order of the list or the first element behind it if the range is 
+   * empty. The list has to be sorted.
+   * 
+   * @param xfrom the lowest sort index inside the range.
+   * @param xto the lowest sort index behind the range.
+   * @return the element or the tail of the list.
+   */
+  private Element<SecureListType> rangeStart(final double xfrom, 
+      final double xto) {
+    if (!(xfrom < xto)) {
+      return rangeEnd(xfrom, xto);
+    }
+    return sortAsc ? firstNotBefore(xfrom) : firstAfter(xto);
+  }
+  
+  
+  /**
+   * Return the first element behind the range [xfrom, xto) in the sorting
+   * order of the list. The list has to be sorted.
+   * 
+   * @param xfrom the lowest sort index inside the range.
+   * @param xto the lowest sort index behind the range.
+   * @return the element or the tail of the list.
+   */
+  private Element<SecureListType> rangeEnd(final double xfrom, 
+      final double xto) {
+    return sortAsc ? firstNotBefore(xto) : firstAfter(xfrom);
+  }
+  
+  
+  /**
+   * Return the first element whose sort index does not come before the 
+   * given one.
+   * 
+   * @param xsortedIndex the sort index.
+   * @return the element or the tail of the list.
+   */
+  private Element<SecureListType> firstNotBefore(final double xsortedIndex) {
+    final Element<SecureListType> elemLower = index.lower(xsortedIndex);
+    Element<SecureListType> elem = elemLower == null 
+        ? elemHead().getElemSuccessor() : elemLower.getElemSuccessor();
+    while (elem != elemTail() 
+        && comesAfter(xsortedIndex, elem.getSortedindex())) {
+      elem = elem.getElemSuccessor();
+    }
+    return elem;
+  }
+  
+  
+  /**
+   * Return the first element whose sort index comes after the given one.
+   * 
+   * @param xsortedIndex the sort index.
+   * @return the element or the tail of the list.
+   */
+  private Element<SecureListType> firstAfter(final double xsortedIndex) {
+    final Element<SecureListType> elemFloor = index.floor(xsortedIndex);
+    Element<SecureListType> elem = elemFloor == null 
+        ? elemHead().getElemSuccessor() : elemFloor.getElemSuccessor();
+    while (elem != elemTail() 
+        && !comesAfter(elem.getSortedindex(), xsortedIndex)) {
+      elem = elem.getElemSuccessor();
+    }
+    return elem;
+  }
+  
+  
+  /**
+   * Return whether a sort index is inside the range [xfrom, xto).
+   * 
+   * @param xsortedIndex the sort index.
+   * @param xfrom the lowest sort index inside the range.
+   * @param xto the lowest sort index behind the range.
+   * @return whether the index is inside the range.
+   */
+  private static boolean inRange(final double xsortedIndex, 
+      final double xfrom, final double xto) {
+    return xsortedIndex >= xfrom && xsortedIndex < xto;
+  }
+  
+  
+  /**
+   * Return the head of the element chain.
+   * 
+   * @return the element in front of the first one.
+   */
+  private Element<SecureListType> elemHead() {
+    return ls.getList().getElemFirst();
+  }
+  
+  
+  /**
+   * Return the tail of the element chain.
+   * 
+   * @return the element behind the last one.
+   */
+  private Element<SecureListType> elemTail() {
+    return ls.getList().getElemLast();
+  }
+  
+  
+  /**
+   * Return whether the first sort index comes after the second one in the
+   * sorting order of the list.
+   * 
+   * @param xfirst the first sort index.
+   * @param xsecond the second sort index.
+   * @return whether the first index comes after the second one.
+   */
+  private boolean comesAfter(final double xfirst, final double xsecond) {
+    if (sortAsc) {
+      return xfirst > xsecond;
+    } else {
+      return xfirst < xsecond;
+    }
+  }
+  
+  
+  /**
+   * Remove an element out of the index while it is part of the list. If 
+   * the search by sort index misses the element although its sort index 
+   * does not fit between its neighbours, the sort index has been changed
+   * directly at the element; then its node is searched by passing the 
+   * index. Otherwise the element has not been indexed.
+   * 
+   * @param xelem the element.
+   */
+  private void indexRemove(final Element<SecureListType> xelem) {
+    if (index.remove(xelem)) {
+      return;
+    }
+    final List<SecureListType> list = ls.getList();
+    final Element<SecureListType> elemPredecessor = 
+        xelem.getElemPredecessor();
+    final Element<SecureListType> elemSuccessor = 
+        xelem.getElemSuccessor();
+    if (elemPredecessor != list.getElemFirst() && comesAfter(
+        elemPredecessor.getSortedindex(), xelem.getSortedindex())
+        || elemSuccessor != list.getElemLast() && comesAfter(
+            xelem.getSortedindex(), elemSuccessor.getSortedindex())) {
+      index.removeIdentity(xelem);
+    }
+  }
+  
+  
+  /**
+   * Create an array of elements.
+   * 
+   * @param <T> the list's type.
+   * @param xlength the length.
+   * @return the array.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes" })
+  private static <T> Element<T>[] newElements(final int xlength) {
+    return new Element[xlength];
+  }
+  
+  
+  /**
+   * Rebuild the {@link #index} by passing the element chain once. If the
+   * chain turns out not to be sorted the index stays invalid.
+   */
+  private void rebuildIndex() {
+
+    index.clear();
+    indexValid = false;
+    
+    final List<SecureListType> list = ls.getList();
+    Element<SecureListType> elem = list.getElemFirst().getElemSuccessor();
+    Element<SecureListType> elemPrevious = null;
+    while (elem != list.getElemLast()) {
+      
+      if (elemPrevious != null && comesAfter(
+          elemPrevious.getSortedindex(), elem.getSortedindex())) {
+        index.clear();
+        return;
+      }
+      index.append(elem);
+      elemPrevious = elem;
+      elem = elem.getElemSuccessor();
+    }
+    indexValid = true;
+  }
+  
+  
+  /**
+   * Open a sorted list which is backed by a memory-mapped 
+   * {@link Sortstore}. If the file contains a store its live records are
+   * read and linked into the (ascending) list in one pass: the records 
+   * are sorted once by their sort index - records with the same index 
+   * keep the order of their insertion - and the index is built while 
+   * linking. Otherwise a new store is created.
+   * 
+   * <p>
+   * Afterwards each insertion appends a record to the file, each removal 
+   * marks the record of the removed item and 
+   * {@link #changeSortIndex(double, int)} marks the record of the item and
+   * appends a new one; thus items with the same sort index are read in 
+   * the order of the list. If a record can not be written the insertion
+   * respectively the change of the sort index is refused and reported to
+   * the logger. Changes which bypass the sorted list (e.g. 
+   * {@link Element#setSortedindex(double)} or 
+   * {@link Element#setContent(Object)} applied to an element directly) 
+   * are not persisted.
+   * 
+   * @param <T> the type of the contents.
+   * 
+   * @param xfile 
+   *          the file of the store.
+   *          
+   * @param xcodec 
+   *          the codec which converts the contents into the payloads of 
+   *          the records.
+   *          
+   * @param xlog 
+   *          the logger of the list.
+   *          
+   * @return the opened list.
+   * @throws IOException if the file can not be opened.
+   */
+  public static <T> Securelistsort<T> open(final File xfile, 
+      final Sortstore.Codec<T> xcodec, final Logger xlog) 
+      throws IOException {
+    
+    final Securelistsort<T> sls = new Securelistsort<T>(xlog);
+    final Sortstore<T> storeOpened = new Sortstore<T>(xfile, xcodec);
+    sls.store = storeOpened;
+    sls.storePositions = new IdentityHashMap<Element<T>, Integer>();
+    sls.loadStore();
+    return sls;
+  }
+  
+  
+  /**
+   * Link the live records of the {@link #store} into the empty list. The 
+   * records are ordered by a stable merge sort of their (primitive) sort
+   * indices; the records of a compacted store are already sorted and thus
+   * only checked. Afterwards the elements are linked in one pass.
+   */
+  private void loadStore() {
+    
+    //read the records into parallel arrays.
+    final int capacity = (int) Math.min(Integer.MAX_VALUE - 8, 
+        Math.max(16, store.getAmountLive()));
+    final Object[][] contents = new Object[][] {new Object[capacity]};
+    final double[][] keys = new double[][] {new double[capacity]};
+    final int[][] positions = new int[][] {new int[capacity]};
+    final int[] amount = new int[1];
+    store.forEach(new Sortstore.Recordvisitor<SecureListType>() {
+      @Override
+      public void visit(final int xposition, final double xkey,
+          final SecureListType xcontent) {
+        if (amount[0] == keys[0].length) {
+          final int capacityNew = 2 * amount[0];
+          contents[0] = Arrays.copyOf(contents[0], capacityNew);
+          keys[0] = Arrays.copyOf(keys[0], capacityNew);
+          positions[0] = Arrays.copyOf(positions[0], capacityNew);
+        }
+        contents[0][amount[0]] = xcontent;
+        keys[0][amount[0]] = xkey;
+        positions[0][amount[0]] = xposition;
+        amount[0]++;
+      }
+    });
+    if (amount[0] == 0) {
+      return;
+    }
+    
+    final int[] order = sortedOrder(keys[0], amount[0]);
+    storePositions = new IdentityHashMap<Element<SecureListType>, Integer>(
+        amount[0]);
+    final Element<SecureListType>[] elemsNew = newElements(amount[0]);
+    for (int i = 0; i < amount[0]; i++) {
+      final int record = order == null ? i : order[i];
+      @SuppressWarnings("unchecked")
+      final SecureListType content = (SecureListType) contents[0][record];
+      final Element<SecureListType> elem = new Element<SecureListType>(
+          content, null, null);
+      elem.setSortedindex(keys[0][record]);
+      elemsNew[i] = elem;
+      storePositions.put(elem, positions[0][record]);
+    }
+    
+    //the elements are sorted; thus the sort of the merge only checks 
+    //them.
+    mergeSorted(elemsNew, elemsNew.length);
+  }
+  
+  
+  /**
+   * Compute the stable sorting order of sort indices by a bottom-up merge
+   * sort of their positions.
+   * 
+   * @param xkeys 
+   *          the sort indices.
+   *          
+   * @param xamount 
+   *          the amount of sort indices at the beginning of the array.
+   *          
+   * @return the positions of the sort indices in sorting order or null if
+   *          they are already sorted.
+   */
+  private int[] sortedOrder(final double[] xkeys, final int xamount) {
+    
+    boolean sorted = true;
+    for (int i = 1; i < xamount && sorted; i++) {
+      sorted = !comesAfter(xkeys[i - 1], xkeys[i]);
+    }
+    if (sorted) {
+      return null;
+    }
+    
+    //the sort indices are moved together with their positions; thus the
+    //merge passes the arrays sequentially.
+    int[] order = new int[xamount];
+    int[] orderMerged = new int[xamount];
+    double[] keys = Arrays.copyOf(xkeys, xamount);
+    double[] keysMerged = new double[xamount];
+    for (int i = 0; i < xamount; i++) {
+      order[i] = i;
+    }
+    for (int width = 1; width < xamount; width *= 2) {
+      for (int left = 0; left < xamount; left += 2 * width) {
+        
+        //merge [left, middle) and [middle, right); take the left position
+        //if the right one does not come in front of it (stable).
+        final int middle = Math.min(left + width, xamount);
+        final int right = Math.min(left + 2 * width, xamount);
+        int i = left;
+        int j = middle;
+        for (int k = left; k < right; k++) {
+          if (i < middle 
+              && (j >= right || !comesAfter(keys[i], keys[j]))) {
+            orderMerged[k] = order[i];
+            keysMerged[k] = keys[i];
+            i++;
+          } else {
+            orderMerged[k] = order[j];
+            keysMerged[k] = keys[j];
+            j++;
+          }
+        }
+      }
+      final int[] swap = order;
+      order = orderMerged;
+      orderMerged = swap;
+      final double[] swapKeys = keys;
+      keys = keysMerged;
+      keysMerged = swapKeys;
+    }
+    return order;
+  }
+  
+  
+  /**
+   * Return whether the list is backed by a persistent store.
+   * 
+   * @return whether the list has been opened by 
+   *         {@link #open(File, Sortstore.Codec, Logger)} and the store
+   *         has not been closed.
+   */
+  public final synchronized boolean isStored() {
+    return store != null;
+  }
+  
+  
+  /**
+   * Write the changes of the persistent store to the disk.
+   */
+  public final synchronized void checkpoint() {
+    if (store != null) {
+      store.force();
+    } else {
+      ls.getLog().warning("checkpoint without a persistent store.");
+    }
+  }
+  
+  
+  /**
+   * Rewrite the persistent store: the live items are written in their 
+   * sorting order into a new file which replaces the old one. Thus the 
+   * space of removed records is reclaimed and the next 
+   * {@link #open(File, Sortstore.Codec, Logger)} does not need to 
+   * reorder the records.
+   * 
+   * @throws IOException if the new file can not be written.
+   */
+  public final synchronized void compactStore() throws IOException {
+    
+    if (store == null) {
+      ls.getLog().warning("compact without a persistent store.");
+      return;
+    }
+    
+    final File file = store.getFile();
+    final File fileCompact = new File(file.getPath() + ".compact");
+    Files.deleteIfExists(fileCompact.toPath());
+    
+    //write the live items in the order of the chain.
+    final IdentityHashMap<Element<SecureListType>, Integer> positions = 
+        new IdentityHashMap<Element<SecureListType>, Integer>();
+    final Sortstore<SecureListType> storeCompact = 
+        new Sortstore<SecureListType>(fileCompact, store.getCodec());
+    try {
+      final List<SecureListType> list = ls.getList();
+      for (Element<SecureListType> elem = 
+          list.getElemFirst().getElemSuccessor(); 
+          elem != list.getElemLast(); elem = elem.getElemSuccessor()) {
+        positions.put(elem, storeCompact.append(elem.getSortedindex(), 
+            elem.getContent()));
+      }
+    } finally {
+      storeCompact.close();
+    }
+    
+    //replace the old file and open it again; the positions of the new 
+    //records are the ones inside the compacted file. If the file can not
+    //be replaced the old one is opened again and its positions stay.
+    store.close();
+    try {
+      Files.move(fileCompact.toPath(), file.toPath(), 
+          StandardCopyOption.REPLACE_EXISTING, 
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      try {
+        store = new Sortstore<SecureListType>(file, 
+            storeCompact.getCodec());
+      } catch (IOException eReopen) {
+        
+        //the list must not keep the closed store.
+        e.addSuppressed(eReopen);
+        store = null;
+        storePositions = null;
+        ls.getLog().severe("failed to reopen the store " + file 
+            + "; it is detached from the list.");
+      }
+      throw e;
+    }
+    store = new Sortstore<SecureListType>(file, storeCompact.getCodec());
+    storePositions = positions;
+  }
+  
+  
+  /**
+   * Write the changes of the persistent store to the disk and detach it
+   * from the list. The list stays usable in memory.
+   * 
+   * @throws IOException if closing the file fails.
+   */
+  public final synchronized void closeStore() throws IOException {
+    if (store != null) {
+      store.close();
+      store = null;
+      storePositions = null;
+    }
+  }
+  
+  
+  /**
+   * Append a record to the {@link #store}. Has to be called before the 
+   * list is changed; if the record can not be written the change is 
+   * refused, thus the list does not contain items that are not persisted.
+   * 
+   * @param xsortedIndex the sort index of the item.
+   * @param xcontent the item.
+   * 
+   * @return the position of the record or -1 if writing has failed.
+   */
+  private int storeAppend(final double xsortedIndex, 
+      final SecureListType xcontent) {
+    try {
+      return store.append(xsortedIndex, xcontent);
+    } catch (IOException e) {
+      ls.getLog().severe("failed to persist item; the change is refused: " 
+          + e.getMessage());
+      return -1;
+    }
+  }
+  
+  
+  /**
+   * Mark the record of a removed element inside the {@link #store}.
+   * 
+   * @param xelem the removed element.
+   */
+  private void storeRemove(final Element<SecureListType> xelem) {
+    final Integer position = storePositions.remove(xelem);
+    if (position != null) {
+      store.remove(position);
+    }
+  }
+  
+  
+  /**
+   * Read the list and rebuild the transient index.
+   * 
+   * @param xin the input stream.
+   * @throws IOException if reading fails.
+   * @throws ClassNotFoundException if a class of the content is unknown.
+   */
+  private void readObject(final ObjectInputStream xin) 
+      throws IOException, ClassNotFoundException {
+    xin.defaultReadObject();
+    index = new Sortindex<SecureListType>(sortAsc);
+    rebuildIndex();
   }
 
 
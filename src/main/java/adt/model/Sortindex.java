@@ -0,0 +1,502 @@
+package adt.model;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.io.Serializable;
+
+
+/**
+ * Skip-list index over the element chain of a sorted list.
+ * 
+ * <p>
+ * The index does not contain elements on its own but is an express lane 
+ * above the elements of the list: About every second element of the list
+ * is referenced by a node of the lowest lane, about every fourth one 
+ * additionally by the second lane and so on. Thus a lookup by sort index 
+ * skips through the lanes in O(log n) and afterwards only walks a few 
+ * steps along the element chain.
+ * 
+ * <p>
+ * The lanes have to mirror the order of the element chain. Therefore an 
+ * element has to be added to the index after it has been linked into the 
+ * list behind all elements that have got the same sort index, and it has 
+ * to be removed out of the index before its sort index is changed.
+ * 
+ * @param <Type> the type of the list's content.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+public class Sortindex<Type> implements Serializable {
+
+  /**
+   * Default serial version UID for being able to identify the list's 
+   * version if saved to the disk and check whether it is possible to 
+   * load it or whether important features have been added so that the
+   * saved file is out-dated.
+   */
+  private static final long serialVersionUID = 1L;
+
+  
+  /**
+   * The maximal amount of lanes.
+   */
+  private static final int MAX_LEVEL = 32;
+  
+  
+  /**
+   * The head node which does not reference an element and which is in 
+   * front of all lanes.
+   */
+  private final Indexnode<Type> head;
+  
+  
+  /**
+   * The last node of each lane (or the head if the lane is empty).
+   */
+  private final Indexnode<Type>[] tail;
+  
+  
+  /**
+   * Array that is reused for collecting the predecessors of a new node 
+   * inside each lane.
+   */
+  private final Indexnode<Type>[] update;
+  
+  
+  /**
+   * The amount of lanes which are currently in use.
+   */
+  private int level;
+  
+  
+  /**
+   * Whether the list is sorted ascending or descending.
+   */
+  private boolean sortAsc;
+  
+  
+  /**
+   * The state of the random generator that chooses the height of new 
+   * nodes (xorshift; there is no need for the synchronized 
+   * java.util.Random here).
+   */
+  private int seed;
+  
+
+  /**
+   * Constructor: initializes the empty index.
+   * 
+   * @param xsortAsc 
+   *          whether the indexed list is sorted ascending.
+   */
+  public Sortindex(final boolean xsortAsc) {
+    this.head = new Indexnode<Type>(null, MAX_LEVEL);
+    this.tail = newNodes(MAX_LEVEL);
+    this.update = newNodes(MAX_LEVEL);
+    this.sortAsc = xsortAsc;
+    this.seed = (int) System.nanoTime() | 1;
+    clear();
+  }
+  
+  
+  /**
+   * Remove all nodes out of the index.
+   */
+  public final void clear() {
+    for (int i = 0; i < MAX_LEVEL; i++) {
+      head.next[i] = null;
+      tail[i] = head;
+    }
+    level = 0;
+  }
+  
+  
+  /**
+   * Set the sort order; only to be called if the index is empty.
+   * 
+   * @param xsortAsc whether the indexed list is sorted ascending.
+   */
+  public final void setSortAsc(final boolean xsortAsc) {
+    this.sortAsc = xsortAsc;
+  }
+  
+  
+  /**
+   * Return the last indexed element whose sort index does not come after
+   * the given one. Thus the searched position is reached by proceeding
+   * from the returned element along the element chain.
+   * 
+   * @param xsortedIndex 
+   *          the searched sort index.
+   *          
+   * @return the element or null if there is no such indexed element.
+   */
+  public final Element<Type> floor(final double xsortedIndex) {
+    Indexnode<Type> x = head;
+    for (int i = level - 1; i >= 0; i--) {
+      while (x.next[i] != null 
+          && !comesAfter(x.next[i].key(), xsortedIndex)) {
+        x = x.next[i];
+      }
+    }
+    return x.elem;
+  }
+  
+  
+  /**
+   * Return the last indexed element whose sort index comes before the 
+   * given one. Unlike {@link #floor(double)} no element with the given 
+   * sort index is passed; thus the first element with that index is 
+   * reached by proceeding from the returned element.
+   * 
+   * @param xsortedIndex 
+   *          the searched sort index.
+   *          
+   * @return the element or null if there is no such indexed element.
+   */
+  public final Element<Type> lower(final double xsortedIndex) {
+    Indexnode<Type> x = head;
+    for (int i = level - 1; i >= 0; i--) {
+      while (x.next[i] != null 
+          && comesAfter(xsortedIndex, x.next[i].key())) {
+        x = x.next[i];
+      }
+    }
+    return x.elem;
+  }
+  
+  
+  /**
+   * Add an element to the index. The element has to be linked into the 
+   * list behind all elements with the same sort index.
+   * 
+   * @param xelem the element.
+   */
+  public final void add(final Element<Type> xelem) {
+    
+    final int height = randomHeight();
+    if (height == 0) {
+      return;
+    }
+    
+    //find the predecessor of the new node inside each lane
+    final double key = xelem.getSortedindex();
+    Indexnode<Type> x = head;
+    for (int i = Math.max(level, height) - 1; i >= 0; i--) {
+      while (x.next[i] != null && !comesAfter(x.next[i].key(), key)) {
+        x = x.next[i];
+      }
+      update[i] = x;
+    }
+    if (height > level) {
+      level = height;
+    }
+    
+    //link the new node
+    final Indexnode<Type> node = new Indexnode<Type>(xelem, height);
+    for (int i = 0; i < height; i++) {
+      link(update[i], node, i);
+      update[i] = null;
+    }
+  }
+  
+  
+  /**
+   * Append an element behind all nodes of the index. Used for building
+   * the index out of an already sorted element chain in linear time.
+   * 
+   * @param xelem the element.
+   */
+  public final void append(final Element<Type> xelem) {
+    
+    final int height = randomHeight();
+    if (height == 0) {
+      return;
+    }
+    if (height > level) {
+      level = height;
+    }
+    final Indexnode<Type> node = new Indexnode<Type>(xelem, height);
+    for (int i = 0; i < height; i++) {
+      link(tail[i], node, i);
+    }
+  }
+  
+  
+  /**
+   * Remove an element out of the index. Has to be called before the
+   * sort index of the element is changed.
+   * 
+   * @param xelem the element.
+   * 
+   * @return whether the element has been indexed.
+   */
+  public final boolean remove(final Element<Type> xelem) {
+    
+    //go to the last node of the lowest lane which comes in front of the
+    //sort index
+    final double key = xelem.getSortedindex();
+    Indexnode<Type> x = head;
+    for (int i = level - 1; i >= 0; i--) {
+      while (x.next[i] != null && comesAfter(key, x.next[i].key())) {
+        x = x.next[i];
+      }
+    }
+    
+    //search the element among those nodes that have got the same index
+    Indexnode<Type> node = x.next[0];
+    while (node != null && !comesAfter(node.key(), key)) {
+      if (node.elem == xelem) {
+        unlink(node);
+        return true;
+      }
+      node = node.next[0];
+    }
+    return false;
+  }
+  
+  
+  /**
+   * Remove the elements whose sort indices lie between two sort indices 
+   * (both inclusive) out of the index. Has to be called for a run of the
+   * list which contains all elements with these sort indices; their 
+   * nodes follow each other in the lowest lane. Needs O(log n + k) 
+   * expected steps for k removed nodes.
+   * 
+   * @param xfirst the sort index of the first element of the run.
+   * @param xlast the sort index of the last element of the run.
+   */
+  public final void removeRun(final double xfirst, final double xlast) {
+    
+    //go to the last node which comes in front of the run.
+    Indexnode<Type> x = head;
+    for (int i = level - 1; i >= 0; i--) {
+      while (x.next[i] != null && comesAfter(xfirst, x.next[i].key())) {
+        x = x.next[i];
+      }
+    }
+    
+    //unlink the nodes of the run one after another.
+    Indexnode<Type> node = x.next[0];
+    while (node != null && !comesAfter(node.key(), xlast)) {
+      final Indexnode<Type> successor = node.next[0];
+      unlink(node);
+      node = successor;
+    }
+  }
+  
+  
+  /**
+   * Remove an element out of the index by passing the lowest lane. Used 
+   * if the sort index of the element has been changed without removing 
+   * it out of the index before, thus {@link #remove(Element)} can not 
+   * find its node. Needs O(n) steps.
+   * 
+   * @param xelem the element.
+   * 
+   * @return whether the element has been indexed.
+   */
+  public final boolean removeIdentity(final Element<Type> xelem) {
+    for (Indexnode<Type> node = head.next[0]; node != null; 
+        node = node.next[0]) {
+      if (node.elem == xelem) {
+        unlink(node);
+        return true;
+      }
+    }
+    return false;
+  }
+  
+  
+  /**
+   * Remove the first or the last element of the indexed list out of the 
+   * index without a search. The nodes of the index are in the order of 
+   * the element chain; thus if the element is indexed at all it is 
+   * referenced by the first respectively the last node of the lowest 
+   * lane. Needs O(1) expected steps.
+   * 
+   * @param xelem 
+   *          the first or the last element of the list.
+   *          
+   * @param xfirst 
+   *          whether it is the first element.
+   * 
+   * @return whether the element has been indexed.
+   */
+  public final boolean removeEnd(final Element<Type> xelem, 
+      final boolean xfirst) {
+    final Indexnode<Type> node = xfirst ? head.next[0] : tail[0];
+    if (node != null && node != head && node.elem == xelem) {
+      unlink(node);
+      return true;
+    }
+    return false;
+  }
+  
+  
+  /**
+   * Link a node behind its predecessor inside one lane.
+   * 
+   * @param xpredecessor the predecessor.
+   * @param xnode the new node.
+   * @param xlevel the lane.
+   */
+  private void link(final Indexnode<Type> xpredecessor,
+      final Indexnode<Type> xnode, final int xlevel) {
+    
+    final Indexnode<Type> successor = xpredecessor.next[xlevel];
+    xnode.prev[xlevel] = xpredecessor;
+    xnode.next[xlevel] = successor;
+    xpredecessor.next[xlevel] = xnode;
+    if (successor != null) {
+      successor.prev[xlevel] = xnode;
+    } else {
+      tail[xlevel] = xnode;
+    }
+  }
+  
+  
+  /**
+   * Unlink a node out of all its lanes.
+   * 
+   * @param xnode the node.
+   */
+  private void unlink(final Indexnode<Type> xnode) {
+    
+    for (int i = 0; i < xnode.next.length; i++) {
+      final Indexnode<Type> predecessor = xnode.prev[i];
+      final Indexnode<Type> successor = xnode.next[i];
+      predecessor.next[i] = successor;
+      if (successor != null) {
+        successor.prev[i] = predecessor;
+      } else {
+        tail[i] = predecessor;
+      }
+    }
+    
+    //remove empty lanes.
+    while (level > 0 && head.next[level - 1] == null) {
+      level--;
+    }
+  }
+  
+  
+  /**
+   * Return whether the first sort index comes after the second one in the
+   * order of the list.
+   * 
+   * @param xfirst the first sort index.
+   * @param xsecond the second sort index.
+   * @return whether the first index comes after the second one.
+   */
+  private boolean comesAfter(final double xfirst, final double xsecond) {
+    if (sortAsc) {
+      return xfirst > xsecond;
+    } else {
+      return xfirst < xsecond;
+    }
+  }
+  
+  
+  /**
+   * Create an array of index nodes.
+   * 
+   * @param <T> the type of the indexed list.
+   * @param xlength the length.
+   * @return the array.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes" })
+  private static <T> Indexnode<T>[] newNodes(final int xlength) {
+    return new Indexnode[xlength];
+  }
+  
+  
+  /**
+   * Return the height of a new node: 0 with probability 1/2 (the element
+   * is not indexed at all), otherwise geometrically distributed.
+   * 
+   * @return the height.
+   */
+  private int randomHeight() {
+    int x = seed;
+    x ^= x << 13;
+    x ^= x >>> 17;
+    x ^= x << 5;
+    seed = x;
+    if ((x & 1) == 0) {
+      return 0;
+    }
+    return Math.min(MAX_LEVEL, 
+        1 + Integer.numberOfTrailingZeros(~(x >>> 1)));
+  }
+  
+  
+  /**
+   * Node of the index which references one element of the list and its
+   * neighbours inside each lane it belongs to.
+   * 
+   * @param <Nodetype> the type of the list's content.
+   */
+  private static final class Indexnode<Nodetype> implements Serializable {
+
+    /**
+     * Default serial version UID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The referenced element.
+     */
+    private final Element<Nodetype> elem;
+    
+    /**
+     * The successor inside each lane.
+     */
+    private final Indexnode<Nodetype>[] next;
+    
+    /**
+     * The predecessor inside each lane.
+     */
+    private final Indexnode<Nodetype>[] prev;
+    
+    /**
+     * Constructor.
+     * 
+     * @param xelem the referenced element.
+     * @param xheight the amount of lanes the node belongs to.
+     */
+    private Indexnode(final Element<Nodetype> xelem, final int xheight) {
+      this.elem = xelem;
+      this.next = newNodes(xheight);
+      this.prev = newNodes(xheight);
+    }
+    
+    /**
+     * Return the sort index of the referenced element.
+     * 
+     * @return the sort index.
+     */
+    private double key() {
+      return elem.getSortedindex();
+    }
+  }
+}
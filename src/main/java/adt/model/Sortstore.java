@@ -0,0 +1,518 @@
+package adt.model;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * Append-only store of sorted items inside a memory-mapped file; the 
+ * persistent backing of a {@link Securelistsort} 
+ * (see {@link Securelistsort#open(File, Codec, java.util.logging.Logger)}).
+ * 
+ * <p>
+ * The file consists of a header followed by the records:
+ * <pre>
+ * header:  int magic | int version | long end | long amountLive
+ * record:  byte state | double key | int length | byte[length] payload
+ * </pre>
+ * A record is appended behind the last one and afterwards the end inside
+ * the header is moved behind it; thus a record that has not been written 
+ * completely is ignored when the file is opened again. Removing an item 
+ * marks its record as removed (tombstone); changing the sort index of an 
+ * item overwrites the key of its record. The space of removed records is 
+ * reclaimed by rewriting the file 
+ * ({@link Securelistsort#compactStore()}).
+ * 
+ * <p>
+ * The file is mapped as a whole and grows by doubling; a mapping is 
+ * limited to {@link Integer#MAX_VALUE} bytes. Writes reach the page cache 
+ * immediately; {@link #force()} writes them to the disk.
+ * 
+ * @param <Type> the type of the items.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+public class Sortstore<Type> {
+
+  
+  /**
+   * The magic number at the beginning of the file ("SLS1").
+   */
+  private static final int MAGIC = 0x534c5331;
+  
+  
+  /**
+   * The version of the file format.
+   */
+  private static final int VERSION = 1;
+  
+  
+  /**
+   * The size of the header in bytes.
+   */
+  static final int HEADER_SIZE = 24;
+  
+  
+  /**
+   * The position of the end of the records inside the header.
+   */
+  private static final int POSITION_END = 8;
+  
+  
+  /**
+   * The position of the amount of live records inside the header.
+   */
+  private static final int POSITION_AMOUNT = 16;
+  
+  
+  /**
+   * The size of the fixed part of a record in bytes.
+   */
+  private static final int RECORD_HEADER_SIZE = 13;
+  
+  
+  /**
+   * The offset of the key inside a record.
+   */
+  private static final int OFFSET_KEY = 1;
+  
+  
+  /**
+   * The state of a live record.
+   */
+  private static final byte STATE_LIVE = 1;
+  
+  
+  /**
+   * The state of a removed record.
+   */
+  private static final byte STATE_REMOVED = 0;
+  
+  
+  /**
+   * The initial size of a new file.
+   */
+  private static final int INITIAL_CAPACITY = 1 << 16;
+  
+  
+  /**
+   * The file.
+   */
+  private final File file;
+  
+  
+  /**
+   * The open file.
+   */
+  private final RandomAccessFile raf;
+  
+  
+  /**
+   * The channel of the open file.
+   */
+  private final FileChannel channel;
+  
+  
+  /**
+   * The mapping of the whole file.
+   */
+  private MappedByteBuffer buffer;
+  
+  
+  /**
+   * The position behind the last record.
+   */
+  private int end;
+  
+  
+  /**
+   * The amount of records that have not been removed.
+   */
+  private long amountLive;
+  
+  
+  /**
+   * The codec of the payloads.
+   */
+  private final Codec<Type> codec;
+  
+  
+  /**
+   * Open or create a store.
+   * 
+   * @param xfile 
+   *          the file; it is created if it does not exist or is empty.
+   *          
+   * @param xcodec 
+   *          the codec of the payloads.
+   *          
+   * @throws IOException 
+   *          if the file can not be opened or is not a valid store.
+   */
+  public Sortstore(final File xfile, final Codec<Type> xcodec) 
+      throws IOException {
+    
+    this.file = xfile;
+    this.codec = xcodec;
+    this.raf = new RandomAccessFile(xfile, "rw");
+    this.channel = raf.getChannel();
+    
+    try {
+      if (raf.length() == 0) {
+        
+        //write the header of a new store.
+        map(INITIAL_CAPACITY);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        end = HEADER_SIZE;
+        amountLive = 0;
+        writeHeader();
+      } else {
+        if (raf.length() < HEADER_SIZE 
+            || raf.length() > Integer.MAX_VALUE) {
+          throw new IOException("not a valid store: " + xfile);
+        }
+        map((int) raf.length());
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+          throw new IOException("not a valid store: " + xfile);
+        }
+        final long endStored = buffer.getLong(POSITION_END);
+        if (endStored < HEADER_SIZE || endStored > buffer.capacity()) {
+          throw new IOException("corrupted store: " + xfile);
+        }
+        end = (int) endStored;
+        amountLive = buffer.getLong(POSITION_AMOUNT);
+      }
+    } catch (IOException e) {
+      raf.close();
+      throw e;
+    }
+  }
+  
+  
+  /**
+   * Return the file.
+   * 
+   * @return the file
+   */
+  public final File getFile() {
+    return file;
+  }
+  
+  
+  /**
+   * Return the codec of the payloads.
+   * 
+   * @return the codec
+   */
+  public final Codec<Type> getCodec() {
+    return codec;
+  }
+  
+  
+  /**
+   * Return the amount of records that have not been removed.
+   * 
+   * @return the amount of live records.
+   */
+  public final long getAmountLive() {
+    return amountLive;
+  }
+  
+  
+  /**
+   * Return the amount of bytes used by the records (including removed 
+   * ones) and the header.
+   * 
+   * @return the end of the records.
+   */
+  public final int getEnd() {
+    return end;
+  }
+  
+  
+  /**
+   * Append a record.
+   * 
+   * @param xkey 
+   *          the sort index.
+   *          
+   * @param xcontent 
+   *          the content.
+   *          
+   * @return the position of the record which identifies it.
+   * @throws IOException if the file can not be enlarged.
+   */
+  public final int append(final double xkey, final Type xcontent) 
+      throws IOException {
+    
+    final byte[] payload = codec.encode(xcontent);
+    final long sizeRecord = (long) RECORD_HEADER_SIZE + payload.length;
+    ensureCapacity(end + sizeRecord);
+    
+    //write the record and afterwards commit it by moving the end.
+    final int position = end;
+    buffer.put(position, STATE_LIVE);
+    buffer.putDouble(position + OFFSET_KEY, xkey);
+    buffer.putInt(position + OFFSET_KEY + 8, payload.length);
+    final ByteBuffer target = buffer.duplicate();
+    target.position(position + RECORD_HEADER_SIZE);
+    target.put(payload);
+    
+    end = (int) (position + sizeRecord);
+    amountLive++;
+    writeHeader();
+    return position;
+  }
+  
+  
+  /**
+   * Mark a record as removed.
+   * 
+   * @param xposition the position of the record.
+   */
+  public final void remove(final int xposition) {
+    if (buffer.get(xposition) == STATE_LIVE) {
+      buffer.put(xposition, STATE_REMOVED);
+      amountLive--;
+      writeHeader();
+    }
+  }
+  
+  
+  /**
+   * Overwrite the sort index of a record.
+   * 
+   * @param xposition the position of the record.
+   * @param xkey the new sort index.
+   */
+  public final void setKey(final int xposition, final double xkey) {
+    buffer.putDouble(xposition + OFFSET_KEY, xkey);
+  }
+  
+  
+  /**
+   * Pass the live records in the order of their insertion. Only the 
+   * record headers are read for skipping removed records; the payload of 
+   * a live record is decoded by the codec.
+   * 
+   * @param xvisitor the visitor which is called for each live record.
+   */
+  public final void forEach(final Recordvisitor<Type> xvisitor) {
+    
+    //one view of the mapping is passed to the codec for all payloads.
+    final ByteBuffer payload = buffer.duplicate();
+    int position = HEADER_SIZE;
+    while (position + RECORD_HEADER_SIZE <= end) {
+      final int length = buffer.getInt(position + OFFSET_KEY + 8);
+      
+      //a record which exceeds the committed end is not valid.
+      if (length < 0 || length > end - position - RECORD_HEADER_SIZE) {
+        return;
+      }
+      if (buffer.get(position) == STATE_LIVE) {
+        payload.limit(position + RECORD_HEADER_SIZE + length);
+        payload.position(position + RECORD_HEADER_SIZE);
+        xvisitor.visit(position, buffer.getDouble(position + OFFSET_KEY), 
+            codec.decode(payload));
+      }
+      position += RECORD_HEADER_SIZE + length;
+    }
+  }
+  
+  
+  /**
+   * Write the changes of the mapped file to the disk.
+   */
+  public final void force() {
+    buffer.force();
+  }
+  
+  
+  /**
+   * Write the changes to the disk and close the file. The mapping is 
+   * released by the garbage collector.
+   * 
+   * @throws IOException if closing fails.
+   */
+  public final void close() throws IOException {
+    buffer.force();
+    raf.close();
+  }
+  
+  
+  /**
+   * Write the end and the amount of live records into the header.
+   */
+  private void writeHeader() {
+    buffer.putLong(POSITION_END, end);
+    buffer.putLong(POSITION_AMOUNT, amountLive);
+  }
+  
+  
+  /**
+   * Enlarge the file (by doubling) and map it again if it is smaller than
+   * the given size.
+   * 
+   * @param xsize the required size.
+   * @throws IOException if the file can not be enlarged.
+   */
+  private void ensureCapacity(final long xsize) throws IOException {
+    if (xsize > buffer.capacity()) {
+      if (xsize > Integer.MAX_VALUE) {
+        throw new IOException("store exceeds the maximal mapping size: " 
+            + file);
+      }
+      map((int) Math.min(Integer.MAX_VALUE, 
+          Math.max(xsize, 2L * buffer.capacity())));
+    }
+  }
+  
+  
+  /**
+   * Set the length of the file and map it.
+   * 
+   * @param xcapacity the length of the file.
+   * @throws IOException if mapping fails.
+   */
+  private void map(final int xcapacity) throws IOException {
+    if (raf.length() < xcapacity) {
+      raf.setLength(xcapacity);
+    }
+    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, xcapacity);
+  }
+  
+  
+  /**
+   * Converts the contents into the payloads of the records and back.
+   * 
+   * @param <Codectype> the type of the contents.
+   */
+  public interface Codec<Codectype> {
+    
+    /**
+     * Encode a content.
+     * 
+     * @param xcontent the content.
+     * @return the payload.
+     */
+    byte[] encode(Codectype xcontent);
+    
+    /**
+     * Decode a payload.
+     * 
+     * @param xpayload the payload (from position to limit); the buffer is
+     *          reused for the next payload.
+     * @return the content.
+     */
+    Codectype decode(ByteBuffer xpayload);
+  }
+  
+  
+  /**
+   * Visitor of the live records of a store.
+   * 
+   * @param <Visitortype> the type of the contents.
+   */
+  public interface Recordvisitor<Visitortype> {
+    
+    /**
+     * Called for each live record.
+     * 
+     * @param xposition the position of the record.
+     * @param xkey the sort index.
+     * @param xcontent the decoded content.
+     */
+    void visit(int xposition, double xkey, Visitortype xcontent);
+  }
+  
+  
+  /**
+   * Codec which saves Strings as UTF-8.
+   */
+  public static final Codec<String> CODEC_STRING = new Codec<String>() {
+    
+    @Override
+    public byte[] encode(final String xcontent) {
+      return xcontent.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    @Override
+    public String decode(final ByteBuffer xpayload) {
+      final byte[] bytes = new byte[xpayload.remaining()];
+      xpayload.get(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+  };
+  
+  
+  /**
+   * Return a codec which saves the contents by Java serialization.
+   * 
+   * @param <T> the type of the contents.
+   * @return the codec.
+   */
+  public static <T extends Serializable> Codec<T> serializableCodec() {
+    return new Codec<T>() {
+      
+      @Override
+      public byte[] encode(final T xcontent) {
+        try {
+          final ByteArrayOutputStream out = new ByteArrayOutputStream();
+          final ObjectOutputStream oos = new ObjectOutputStream(out);
+          oos.writeObject(xcontent);
+          oos.close();
+          return out.toByteArray();
+        } catch (IOException e) {
+          throw new IllegalArgumentException(
+              "content can not be serialized", e);
+        }
+      }
+      
+      @SuppressWarnings("unchecked")
+      @Override
+      public T decode(final ByteBuffer xpayload) {
+        final byte[] bytes = new byte[xpayload.remaining()];
+        xpayload.get(bytes);
+        try {
+          return (T) new ObjectInputStream(
+              new ByteArrayInputStream(bytes)).readObject();
+        } catch (IOException | ClassNotFoundException e) {
+          throw new IllegalStateException(
+              "payload can not be deserialized", e);
+        }
+      }
+    };
+  }
+}
@@ -48,11 +48,6 @@ public class Transaction<Closedactiontype> implements Serializable {
   private int idsecureList = 0;
 
   
-  /**
-   * The unique id of the current closed action.
-   */
-  private static int maxID = 0;
-
   
   /**
    * The name identifying the transaction for debugging purpose and
@@ -69,8 +64,8 @@ public class Transaction<Closedactiontype> implements Serializable {
     //set title of transaction
     this.name = "";
 
-    //set unique id and change the max id.
-    idsecureList = maxID++;
+    //set unique id.
+    idsecureList = Idallocator.nextId();
   }
   
   
@@ -84,6 +79,46 @@ public class Transaction<Closedactiontype> implements Serializable {
 
     //set title of transaction
     this.name = xname;
+
+    //set unique id.
+    idsecureList = Idallocator.nextId();
+  }
+  
+  
+  /**
+   * Constructor of a pooled frame of {@link Securelist}: (initializes) the 
+   * content with start values and the given id instead of allocating a 
+   * new one. The frame gets its id by {@link #reset(String)} when it is 
+   * used.
+   * 
+   * @param xidsecureList 
+   *           the preliminary id.
+   */
+  Transaction(final int xidsecureList) {
+    this.name = "";
+    this.idsecureList = xidsecureList;
+  }
+  
+  
+  /**
+   * Reinitialize the transaction for being reused as a new one: set the 
+   * name and assign a new unique id.
+   * 
+   * @param xname 
+   *           the name of the transaction
+   */
+  final void reset(final String xname) {
+    this.name = xname;
+    this.idsecureList = Idallocator.nextId();
+  }
+  
+  
+  /**
+   * Release the name of a transaction which has been finished but is kept
+   * for being reused.
+   */
+  final void release() {
+    this.name = "";
   }
   
   
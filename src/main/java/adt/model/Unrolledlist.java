@@ -0,0 +1,713 @@
+package adt.model;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+
+/**
+ * Unrolled double linked list: the sibling of {@link List} which saves 
+ * the items inside chunks instead of one {@link Element} per item. Each 
+ * chunk holds up to {@link #CHUNK_CAPACITY} contents and sort indices in 
+ * two arrays; thus passing the list touches consecutive memory and an 
+ * item costs about one reference and one double instead of a whole 
+ * element.
+ * 
+ * <p>
+ * The cursor methods mirror those of {@link List}: the cursor is either in
+ * front of the list, on one item or behind the list. Because the items 
+ * are not saved inside elements, there are no methods returning or 
+ * accepting an {@link Element}; the sort index of the current item is 
+ * changed by {@link #setItemSortionIndex(double)}.
+ * 
+ * <p>
+ * A full chunk is split in halves if an item is inserted in its middle; 
+ * a chunk that gets nearly empty by removals is merged with its 
+ * successor.
+ *
+ * @param <Type> the list's type.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ */
+public class Unrolledlist<Type> implements Serializable {
+
+  /**
+   * Default serial version UID for being able to identify the list's 
+   * version if saved to the disk and check whether it is possible to 
+   * load it or whether important features have been added so that the
+   * saved file is out-dated.
+   */
+  private static final long serialVersionUID = 1L;
+  
+  
+  /**
+   * The maximal amount of items inside one chunk.
+   */
+  public static final int CHUNK_CAPACITY = 64;
+  
+  
+  /*
+   * Variables defining the fundamental list structure:
+   */
+  
+  /**
+   * The empty chunk in front of the first chunk; the cursor is in front 
+   * of the list if it points at this chunk. Not serialized; the chunks 
+   * are written item by item.
+   */
+  private transient Chunk chunkFirst;
+  
+  
+  /**
+   * The empty chunk behind the last chunk; the cursor is behind the list 
+   * if it points at this chunk.
+   */
+  private transient Chunk chunkLast;
+  
+  
+  /**
+   * The chunk of the current item.
+   */
+  private transient Chunk chunkCurrent;
+  
+  
+  /**
+   * The index of the current item inside {@link #chunkCurrent}.
+   */
+  private transient int indexCurrent;
+  
+  
+  /**
+   * The amount of items.
+   */
+  private transient int size;
+  
+  
+  /**
+   * The logger used for output. It is not serialized; a deserialized list
+   * uses the logger of this class.
+   */
+  private transient Logger log;
+  
+  
+  /**
+   * Initialize instance of Unrolledlist - initialize first and last chunk.
+   * 
+   * @param xlog    the logger.
+   */
+  public Unrolledlist(final Logger xlog) {
+    this.log = xlog;
+    initialize();
+  }
+  
+  
+  /**
+   * Create the empty chunks in front of and behind the list and point in 
+   * front of the list.
+   */
+  private void initialize() {
+    chunkFirst = new Chunk(0);
+    chunkLast = new Chunk(0);
+    chunkFirst.successor = chunkLast;
+    chunkLast.predecessor = chunkFirst;
+    chunkCurrent = chunkFirst;
+    indexCurrent = 0;
+    size = 0;
+  }
+  
+  
+  /*
+   * Functions returning the state of the list
+   */
+
+  /**
+   * Returns weather is empty.
+   *
+   * @return weather list is empty.
+   */
+  public final boolean isEmpty() {
+    return size == 0;
+  }
+
+  
+  /**
+   * Return weather it is in front of.
+   *
+   * @return weather list is in front of.
+   */
+  public final boolean isInFrontOf() {
+    return chunkCurrent == chunkFirst;
+  }
+
+  
+  /**
+   * Return weather list is behind.
+   *
+   * @return weather list is behind.
+   */
+  public final boolean isBehind() {
+    return chunkCurrent == chunkLast;
+  }
+  
+  
+  /**
+   * Return the amount of items.
+   * 
+   * @return the size.
+   */
+  public final int size() {
+    return size;
+  }
+
+  
+  /*
+   * Methods for navigating through the list
+   */
+  
+  /**
+   * Proceed one step in the list.
+   */
+  public final void next() {
+    if (isBehind()) {
+      return;
+    }
+    if (indexCurrent + 1 < chunkCurrent.size) {
+      indexCurrent++;
+    } else {
+      chunkCurrent = chunkCurrent.successor;
+      indexCurrent = 0;
+    }
+  }
+
+  
+  /**
+   * Step back in the list.
+   */
+  public final void previous() {
+    if (isInFrontOf()) {
+      return;
+    }
+    if (indexCurrent > 0) {
+      indexCurrent--;
+    } else {
+      chunkCurrent = chunkCurrent.predecessor;
+      indexCurrent = Math.max(0, chunkCurrent.size - 1);
+    }
+  }
+
+  
+  /**
+   * Go to the beginning of the list.
+   */
+  public final void toFirst() {
+    if (isEmpty()) {
+      chunkCurrent = chunkFirst;
+    } else {
+      chunkCurrent = chunkFirst.successor;
+    }
+    indexCurrent = 0;
+  }
+
+  
+  /**
+   * Go to the end of the list.
+   */
+  public final void toLast() {
+    if (isEmpty()) {
+      chunkCurrent = chunkLast;
+      indexCurrent = 0;
+    } else {
+      chunkCurrent = chunkLast.predecessor;
+      indexCurrent = chunkCurrent.size - 1;
+    }
+  }
+  
+  
+  /*
+   * Methods for getting content of the list's current item.
+   */
+  
+  /**
+   * Return current item.
+   *
+   * @return current item.
+   */
+  @SuppressWarnings("unchecked")
+  public final Type getItem() {
+    if (isEmpty() || isInFrontOf() || isBehind()) {
+      return null;
+    } else {
+      return (Type) chunkCurrent.contents[indexCurrent];
+    }
+  }
+  
+  
+  /**
+   * Return sort index of the current item.
+   *
+   * @return sorted index of current item.
+   */
+  public final double getItemSortionIndex() {
+    if (isEmpty() || isInFrontOf() || isBehind()) {
+      return -1;
+    } else {
+      return chunkCurrent.sortIndices[indexCurrent];
+    }
+  }
+  
+  
+  /**
+   * Set the sort index of the current item.
+   *
+   * @param xsortedIndex the new sorted index of the current item.
+   */
+  public final void setItemSortionIndex(final double xsortedIndex) {
+    if (!isEmpty() && !isBehind() && !isInFrontOf()) {
+      chunkCurrent.sortIndices[indexCurrent] = xsortedIndex;
+    }
+  }
+  
+  
+  /*
+   * Methods that change the list.
+   */
+
+  /**
+   * Replaces current item with newContent.
+   *
+   * @param xnewContent contains the content which is to be inserted.
+   */
+  public final void replace(final Type xnewContent) {
+    if (!isEmpty() && !isBehind() && !isInFrontOf()) {
+      chunkCurrent.contents[indexCurrent] = xnewContent;
+    }
+  }
+
+  
+  /**
+   * Insert item after current position.
+   *
+   * @param xnewContent contains the content which is to be inserted.
+   */
+  public final void insertBehind(final Type xnewContent) {
+    
+    if (isEmpty() || isInFrontOf()) {
+      insertAt(chunkFirst.successor, 0, xnewContent);
+    } else if (isBehind()) {
+      insertAtTheEnd(xnewContent);
+    } else {
+      insertAt(chunkCurrent, indexCurrent + 1, xnewContent);
+    }
+  }
+
+  
+  /**
+   * Insert item in front of current position.
+   *
+   * @param xnewContent contains the content which is to be inserted.
+   */
+  public final void insertInFrontOf(final Type xnewContent) {
+    
+    if (isEmpty() || isInFrontOf()) {
+      insertAt(chunkFirst.successor, 0, xnewContent);
+    } else if (isBehind()) {
+      insertAtTheEnd(xnewContent);
+    } else {
+      insertAt(chunkCurrent, indexCurrent, xnewContent);
+    }
+  }
+  
+  
+  /**
+   * Inserts s.th. at the beginning of the list.
+   *
+   * @param xnewContent contains the content which is to be inserted.
+   */
+  public final void insertAfterHead(final Type xnewContent) {
+    insertAt(chunkFirst.successor, 0, xnewContent);
+  }
+
+  
+  /**
+   * Inserts thing at the end of the list.
+   *
+   * @param xnewContent contains the content which is to be inserted.
+   */
+  public final void insertAtTheEnd(final Type xnewContent) {
+    final Chunk chunk = chunkLast.predecessor;
+    insertAt(chunk, chunk.size, xnewContent);
+  }
+
+  
+  /**
+   * Removes current item. Afterwards the current item is the predecessor
+   * of the removed item.
+   */
+  public final void remove() {
+    
+    //if the current item can be removed
+    if (!isEmpty() && !isBehind() && !isInFrontOf()) {
+      
+      final Chunk chunk = chunkCurrent;
+      final int index = indexCurrent;
+      
+      //close the gap inside the chunk and release the reference.
+      System.arraycopy(chunk.contents, index + 1, chunk.contents, index, 
+          chunk.size - index - 1);
+      System.arraycopy(chunk.sortIndices, index + 1, chunk.sortIndices, 
+          index, chunk.size - index - 1);
+      chunk.size--;
+      chunk.contents[chunk.size] = null;
+      size--;
+      
+      //the new current item is the predecessor of the removed item.
+      if (index > 0) {
+        indexCurrent = index - 1;
+      } else {
+        chunkCurrent = chunk.predecessor;
+        indexCurrent = Math.max(0, chunkCurrent.size - 1);
+      }
+      
+      //unlink an empty chunk, merge a nearly empty one with its successor
+      if (chunk.size == 0) {
+        unlink(chunk);
+      } else if (chunk.size < CHUNK_CAPACITY / 4 
+          && chunk.successor != chunkLast
+          && chunk.size + chunk.successor.size <= CHUNK_CAPACITY / 2) {
+        mergeSuccessor(chunk);
+      }
+    } else {
+      
+      //print warning message
+      log.warning("remove null item out of list: Perform"
+          + " previous or next for being able to pass the list"
+          + " and for not creating an infinite loop");
+      
+      //go to one item that is removable
+      if (isInFrontOf()) {
+        next();
+      }
+      if (isBehind()) {
+        previous();
+      }
+    }
+  }
+
+  
+  /**
+   * Check whether item does already exist in list and if that is the case
+   * point at it with the cursor.
+   * 
+   * @param xtype which is checked
+   * @return whether the element exists or not
+   */
+  public final boolean find(final Type xtype) {
+    
+    //pass the chunks
+    for (Chunk chunk = chunkFirst.successor; chunk != chunkLast; 
+        chunk = chunk.successor) {
+      for (int i = 0; i < chunk.size; i++) {
+        if (chunk.contents[i].equals(xtype)) {
+          chunkCurrent = chunk;
+          indexCurrent = i;
+          return true;
+        }
+      }
+    }
+    
+    //not found and reached end of list.
+    toFirst();
+    if (!isEmpty()) {
+      chunkCurrent = chunkLast;
+      indexCurrent = 0;
+    }
+    return false;
+  }
+  
+  
+  /**
+   * List to array method. Passes the chunks directly; thus the cursor of
+   * the list is not moved.
+   * 
+   * @return the array from list.
+   */
+  public final String[] toArrayString() {
+
+    //get the length of the array by passing the list once. If the item
+    //is not a String do not count it.
+    int length = 0;
+    for (Chunk chunk = chunkFirst.successor; chunk != chunkLast; 
+        chunk = chunk.successor) {
+      for (int i = 0; i < chunk.size; i++) {
+        if (chunk.contents[i] instanceof String) {
+          length++;
+        }
+      }
+    }
+
+    //create and fill array of Strings
+    final String[] ret = new String[length];
+    int index = 0;
+    for (Chunk chunk = chunkFirst.successor; chunk != chunkLast; 
+        chunk = chunk.successor) {
+      for (int i = 0; i < chunk.size; i++) {
+        if (chunk.contents[i] instanceof String) {
+          ret[index] = (String) chunk.contents[i];
+          index++;
+        }
+      }
+    }
+    return ret;
+  }
+
+
+  /**
+   * @return the log
+   */
+  public Logger getLog() {
+    return log;
+  }
+  
+  
+  /*
+   * Methods operating on the chunks.
+   */
+  
+  /**
+   * Insert an item at a position of a chunk and point at it. The chunk 
+   * may be the empty chunk behind the list (then a new chunk is created 
+   * in front of it). A full chunk is split; if the item is inserted at 
+   * the beginning or the end of a full chunk a new chunk is created 
+   * instead, so that consecutive insertions fill complete chunks.
+   * 
+   * @param xchunk 
+   *          the chunk.
+   *          
+   * @param xindex 
+   *          the index of the new item inside the chunk.
+   *          
+   * @param xcontent 
+   *          the content.
+   */
+  private void insertAt(final Chunk xchunk, final int xindex, 
+      final Type xcontent) {
+    
+    Chunk chunk = xchunk;
+    int index = xindex;
+    if (chunk == chunkLast || chunk == chunkFirst) {
+      
+      //the list is empty.
+      chunk = linkInFrontOf(chunkLast);
+      index = 0;
+    } else if (chunk.size == CHUNK_CAPACITY) {
+      
+      if (index == CHUNK_CAPACITY) {
+        if (chunk.successor != chunkLast 
+            && chunk.successor.size < CHUNK_CAPACITY) {
+          chunk = chunk.successor;
+        } else {
+          chunk = linkInFrontOf(chunk.successor);
+        }
+        index = 0;
+      } else if (index == 0) {
+        if (chunk.predecessor != chunkFirst 
+            && chunk.predecessor.size < CHUNK_CAPACITY) {
+          chunk = chunk.predecessor;
+          index = chunk.size;
+        } else {
+          chunk = linkInFrontOf(chunk);
+        }
+      } else {
+        
+        //split: move the upper half into a new chunk behind.
+        final int half = CHUNK_CAPACITY / 2;
+        final Chunk chunkNew = linkInFrontOf(chunk.successor);
+        System.arraycopy(chunk.contents, half, chunkNew.contents, 0, 
+            CHUNK_CAPACITY - half);
+        System.arraycopy(chunk.sortIndices, half, chunkNew.sortIndices, 0, 
+            CHUNK_CAPACITY - half);
+        Arrays.fill(chunk.contents, half, CHUNK_CAPACITY, null);
+        chunkNew.size = CHUNK_CAPACITY - half;
+        chunk.size = half;
+        if (index > half) {
+          chunk = chunkNew;
+          index -= half;
+        }
+      }
+    }
+    
+    //open a gap inside the chunk and insert the item.
+    System.arraycopy(chunk.contents, index, chunk.contents, index + 1, 
+        chunk.size - index);
+    System.arraycopy(chunk.sortIndices, index, chunk.sortIndices, 
+        index + 1, chunk.size - index);
+    chunk.contents[index] = xcontent;
+    chunk.sortIndices[index] = 0;
+    chunk.size++;
+    size++;
+    
+    chunkCurrent = chunk;
+    indexCurrent = index;
+  }
+  
+  
+  /**
+   * Create a new empty chunk and link it in front of a chunk.
+   * 
+   * @param xsuccessor the successor of the new chunk.
+   * @return the new chunk.
+   */
+  private Chunk linkInFrontOf(final Chunk xsuccessor) {
+    final Chunk chunk = new Chunk(CHUNK_CAPACITY);
+    chunk.successor = xsuccessor;
+    chunk.predecessor = xsuccessor.predecessor;
+    xsuccessor.predecessor.successor = chunk;
+    xsuccessor.predecessor = chunk;
+    return chunk;
+  }
+  
+  
+  /**
+   * Remove a chunk out of the chain of chunks.
+   * 
+   * @param xchunk the chunk.
+   */
+  private void unlink(final Chunk xchunk) {
+    xchunk.predecessor.successor = xchunk.successor;
+    xchunk.successor.predecessor = xchunk.predecessor;
+  }
+  
+  
+  /**
+   * Move the items of the successor of a chunk into the chunk and unlink
+   * the successor. The cursor is moved along if it points into the 
+   * successor.
+   * 
+   * @param xchunk the chunk.
+   */
+  private void mergeSuccessor(final Chunk xchunk) {
+    
+    final Chunk chunkSuccessor = xchunk.successor;
+    System.arraycopy(chunkSuccessor.contents, 0, xchunk.contents, 
+        xchunk.size, chunkSuccessor.size);
+    System.arraycopy(chunkSuccessor.sortIndices, 0, xchunk.sortIndices, 
+        xchunk.size, chunkSuccessor.size);
+    if (chunkCurrent == chunkSuccessor) {
+      chunkCurrent = xchunk;
+      indexCurrent += xchunk.size;
+    }
+    xchunk.size += chunkSuccessor.size;
+    unlink(chunkSuccessor);
+  }
+  
+  
+  /**
+   * Write the amount of items and each item's content and sort index.
+   * 
+   * @param xout the output stream.
+   * @throws IOException if writing fails.
+   */
+  private void writeObject(final ObjectOutputStream xout) 
+      throws IOException {
+    xout.defaultWriteObject();
+    xout.writeInt(size);
+    for (Chunk chunk = chunkFirst.successor; chunk != chunkLast; 
+        chunk = chunk.successor) {
+      for (int i = 0; i < chunk.size; i++) {
+        xout.writeObject(chunk.contents[i]);
+        xout.writeDouble(chunk.sortIndices[i]);
+      }
+    }
+  }
+  
+  
+  /**
+   * Read the items written by {@link #writeObject(ObjectOutputStream)}.
+   * Afterwards the cursor is in front of the list.
+   * 
+   * @param xin the input stream.
+   * @throws IOException if reading fails.
+   * @throws ClassNotFoundException if a class of the content is unknown.
+   */
+  @SuppressWarnings("unchecked")
+  private void readObject(final ObjectInputStream xin) 
+      throws IOException, ClassNotFoundException {
+    xin.defaultReadObject();
+    log = Logger.getLogger(Unrolledlist.class.getName());
+    initialize();
+    final int amount = xin.readInt();
+    for (int i = 0; i < amount; i++) {
+      insertAtTheEnd((Type) xin.readObject());
+      setItemSortionIndex(xin.readDouble());
+    }
+    chunkCurrent = chunkFirst;
+    indexCurrent = 0;
+  }
+  
+  
+  /**
+   * Node of the unrolled list which contains up to 
+   * {@link Unrolledlist#CHUNK_CAPACITY} items.
+   */
+  private static final class Chunk {
+    
+    /**
+     * The contents of the items [0, size).
+     */
+    private final Object[] contents;
+    
+    /**
+     * The sort indices of the items [0, size).
+     */
+    private final double[] sortIndices;
+    
+    /**
+     * The amount of items inside the chunk.
+     */
+    private int size;
+    
+    /**
+     * The chunk which comes next.
+     */
+    private Chunk successor;
+    
+    /**
+     * The predecessor chunk.
+     */
+    private Chunk predecessor;
+    
+    /**
+     * Constructor.
+     * 
+     * @param xcapacity the length of the arrays.
+     */
+    private Chunk(final int xcapacity) {
+      this.contents = new Object[xcapacity];
+      this.sortIndices = new double[xcapacity];
+    }
+  }
+}
@@ -0,0 +1,283 @@
+package adt.model.stack;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+
+
+/**
+ * Array-backed stack.
+ * 
+ * <p>
+ * Unlike the {@link Stack} there is no element per item: the items are 
+ * kept in an array which grows by doubling (amortized O(1) per push). 
+ * Thus pushing does not allocate once the stack has reached its maximal 
+ * depth and the items are passed in the order of the memory. The bulk 
+ * operations {@link #pushAll(Collection)} and {@link #popN(Object[])} 
+ * copy several items at once.
+ * 
+ * <p>
+ * Removed items are cleared inside the array; thus the stack does not 
+ * keep them alive. The array does not shrink unless {@link #trimToSize()}
+ * is called.
+ * 
+ * <p>
+ * An empty stack is signaled by null: {@link #peek()} and {@link #pop()}
+ * return null instead of throwing; thus the stack should not contain 
+ * null items. The primitive {@link Intstack} has no such value and 
+ * throws an {@link java.util.EmptyStackException} instead.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ * @param <Stacktype> the type of the stack
+ */
+public class Arraystack<Stacktype> implements Serializable {
+
+  
+  /**
+   * Default serial version UID for being able to identify the list's 
+   * version if saved to the disk and check whether it is possible to 
+   * load it or whether important features have been added so that the
+   * saved file is out-dated.
+   */
+  private static final long serialVersionUID = 1L;
+  
+  
+  /**
+   * The initial capacity.
+   */
+  private static final int DEFAULT_CAPACITY = 16;
+  
+  
+  /**
+   * The items; those in front of {@link #size} are part of the stack. The
+   * array is serialized up to the size.
+   */
+  private transient Object[] items;
+  
+  
+  /**
+   * The amount of items.
+   */
+  private int size;
+  
+  
+  /**
+   * Constructor.
+   */
+  public Arraystack() {
+    this(DEFAULT_CAPACITY);
+  }
+  
+  
+  /**
+   * Constructor.
+   * 
+   * @param xcapacity the initial capacity.
+   */
+  public Arraystack(final int xcapacity) {
+    items = new Object[Math.max(1, xcapacity)];
+  }
+  
+  
+  /**
+   * Returns whether the stack is empty.
+   * @return whether the stack is empty.
+   */
+  public final boolean isEmpty() {
+    return size == 0;
+  }
+  
+  
+  /**
+   * Returns the amount of items.
+   * @return the size.
+   */
+  public final int size() {
+    return size;
+  }
+  
+  
+  /**
+   * Put an item on top of the stack.
+   * 
+   * @param xcontent the item.
+   */
+  public final void push(final Stacktype xcontent) {
+    if (size == items.length) {
+      grow(size + 1);
+    }
+    items[size++] = xcontent;
+  }
+  
+  
+  /**
+   * Put the items of a collection on top of the stack in the order of its
+   * iteration; afterwards the last one is on top.
+   * 
+   * @param xcontents the items.
+   */
+  public final void pushAll(final Collection<? extends Stacktype> xcontents) {
+    pushArray(xcontents.toArray());
+  }
+  
+  
+  /**
+   * Put the items of an array on top of the stack; afterwards the last one
+   * is on top.
+   * 
+   * @param xcontents the items.
+   */
+  public final void pushAll(final Stacktype[] xcontents) {
+    pushArray(xcontents);
+  }
+  
+  
+  /**
+   * Copy the items of an array on top of the stack. Only called with 
+   * items of the type of the stack.
+   * 
+   * @param xcontents the items.
+   */
+  private void pushArray(final Object[] xcontents) {
+    if (size + xcontents.length > items.length) {
+      grow(size + xcontents.length);
+    }
+    System.arraycopy(xcontents, 0, items, size, xcontents.length);
+    size += xcontents.length;
+  }
+  
+  
+  /**
+   * Return the item on top of the stack.
+   * 
+   * @return the item or null if the stack is empty.
+   */
+  @SuppressWarnings("unchecked")
+  public final Stacktype peek() {
+    if (size == 0) {
+      return null;
+    }
+    return (Stacktype) items[size - 1];
+  }
+  
+  
+  /**
+   * Remove the item on top of the stack and return it.
+   * 
+   * @return the item or null if the stack is empty.
+   */
+  @SuppressWarnings("unchecked")
+  public final Stacktype pop() {
+    if (size == 0) {
+      return null;
+    }
+    size--;
+    final Stacktype content = (Stacktype) items[size];
+    items[size] = null;
+    return content;
+  }
+  
+  
+  /**
+   * Remove up to the length of the array items from the top of the stack.
+   * The array is filled in the order of removal: the former top item is 
+   * at index 0.
+   * 
+   * @param xarray the array which is filled beginning at index 0.
+   * @return the amount of removed items.
+   */
+  @SuppressWarnings("unchecked")
+  public final int popN(final Stacktype[] xarray) {
+    final int amount = Math.min(size, xarray.length);
+    for (int i = 0; i < amount; i++) {
+      xarray[i] = (Stacktype) items[size - 1 - i];
+    }
+    Arrays.fill(items, size - amount, size, null);
+    size -= amount;
+    return amount;
+  }
+  
+  
+  /**
+   * Remove all items.
+   */
+  public final void clear() {
+    Arrays.fill(items, 0, size, null);
+    size = 0;
+  }
+  
+  
+  /**
+   * Shrink the array to the amount of items.
+   */
+  public final void trimToSize() {
+    items = Arrays.copyOf(items, Math.max(1, size));
+  }
+  
+  
+  /**
+   * Enlarge the array by doubling.
+   * 
+   * @param xcapacity the required capacity.
+   */
+  private void grow(final int xcapacity) {
+    items = Arrays.copyOf(items, 
+        Math.max(xcapacity, 2 * items.length));
+  }
+  
+  
+  /**
+   * Write the size and the items.
+   * 
+   * @param xout the output stream.
+   * @throws IOException if writing fails.
+   */
+  private void writeObject(final ObjectOutputStream xout) 
+      throws IOException {
+    xout.defaultWriteObject();
+    for (int i = 0; i < size; i++) {
+      xout.writeObject(items[i]);
+    }
+  }
+  
+  
+  /**
+   * Read the size and the items.
+   * 
+   * @param xin the input stream.
+   * @throws IOException if reading fails.
+   * @throws ClassNotFoundException if a class of an item is unknown.
+   */
+  private void readObject(final ObjectInputStream xin) 
+      throws IOException, ClassNotFoundException {
+    xin.defaultReadObject();
+    items = new Object[Math.max(DEFAULT_CAPACITY, size)];
+    for (int i = 0; i < size; i++) {
+      items[i] = xin.readObject();
+    }
+  }
+}
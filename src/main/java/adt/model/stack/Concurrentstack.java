@@ -0,0 +1,299 @@
+package adt.model.stack;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Stack which several threads can use concurrently without locking 
+ * (Treiber stack), e.g. as LIFO pool of tasks.
+ * 
+ * <p>
+ * Like the {@link Stack} it consists of {@link Stackelement}s which point 
+ * to their predecessors; pushing and popping swing the pointer to the last
+ * element by compare-and-set. The elements are not changed once they have
+ * been pushed.
+ * 
+ * <p>
+ * Under contention all threads compete for the one pointer. Thus a thread
+ * whose compare-and-set fails backs off to an elimination array: a 
+ * pushing thread offers its item inside a random slot and waits a short 
+ * time; a popping thread that finds an offer takes the item directly. 
+ * Such a push and pop cancel each other out without touching the stack
+ * (elimination backoff of Hendler, Shavit and Yerushalmi). An offer that 
+ * has not been taken is withdrawn and the thread retries on the stack.
+ * 
+ * <p>
+ * The contention is reported by {@link #getCasFailures()} and 
+ * {@link #getEliminations()}.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ * @param <Stacktype> the type of the stack
+ */
+public class Concurrentstack<Stacktype> {
+
+  
+  /**
+   * Updater for the {@link #elemLast} pointer.
+   */
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<Concurrentstack, 
+      Stackelement> UPDATER_LAST = AtomicReferenceFieldUpdater.newUpdater(
+          Concurrentstack.class, Stackelement.class, "elemLast");
+  
+  
+  /**
+   * The amount of checks a pushing thread waits for its offer to be 
+   * taken and a popping thread looks for an offer.
+   */
+  private static final int ELIMINATION_SPINS = 64;
+  
+  
+  /**
+   * The default amount of elimination slots.
+   */
+  private static final int DEFAULT_WIDTH = Math.max(1, Math.min(16, 
+      Runtime.getRuntime().availableProcessors() / 2));
+  
+  
+  /**
+   * The last element of the stack or null if it is empty.
+   */
+  private volatile Stackelement<Stacktype> elemLast;
+  
+  
+  /**
+   * The elimination slots; a slot contains an {@link Offer} of a pushing 
+   * thread or null.
+   */
+  private final AtomicReferenceArray<Offer<Stacktype>> slots;
+  
+  
+  /**
+   * The amount of failed compare-and-set operations on {@link #elemLast}.
+   */
+  private final LongAdder casFailures = new LongAdder();
+  
+  
+  /**
+   * The amount of pushes and pops which have cancelled each other out.
+   */
+  private final LongAdder eliminations = new LongAdder();
+  
+  
+  /**
+   * Constructor; the amount of elimination slots depends on the amount of
+   * processors.
+   */
+  public Concurrentstack() {
+    this(DEFAULT_WIDTH);
+  }
+  
+  
+  /**
+   * Constructor.
+   * 
+   * @param xwidth the amount of elimination slots.
+   */
+  public Concurrentstack(final int xwidth) {
+    slots = new AtomicReferenceArray<Offer<Stacktype>>(Math.max(1, xwidth));
+  }
+  
+  
+  /**
+   * Returns whether the stack is empty.
+   * @return whether the stack is empty.
+   */
+  public final boolean isEmpty() {
+    return elemLast == null;
+  }
+  
+  
+  /**
+   * Put an item on top of the stack.
+   * 
+   * @param xcontent the item.
+   */
+  public final void push(final Stacktype xcontent) {
+    
+    final Stackelement<Stacktype> elemNew = 
+        new Stackelement<Stacktype>(xcontent, null);
+    Offer<Stacktype> offer = null;
+    while (true) {
+      final Stackelement<Stacktype> elem = elemLast;
+      elemNew.setElemPredecessor(elem);
+      if (UPDATER_LAST.compareAndSet(this, elem, elemNew)) {
+        return;
+      }
+      casFailures.increment();
+      
+      //back off: offer the item to a popping thread.
+      if (offer == null) {
+        offer = new Offer<Stacktype>(xcontent);
+      }
+      if (eliminatePush(offer)) {
+        return;
+      }
+    }
+  }
+  
+  
+  /**
+   * Return the item on top of the stack.
+   * 
+   * @return the item or null if the stack is empty.
+   */
+  public final Stacktype peek() {
+    final Stackelement<Stacktype> elem = elemLast;
+    return elem == null ? null : elem.getContent();
+  }
+  
+  
+  /**
+   * Remove the item on top of the stack and return it.
+   * 
+   * @return the item or null if the stack is empty.
+   */
+  public final Stacktype pop() {
+    while (true) {
+      final Stackelement<Stacktype> elem = elemLast;
+      if (elem == null) {
+        return null;
+      }
+      if (UPDATER_LAST.compareAndSet(this, elem, 
+          elem.getElemPredecessor())) {
+        return elem.getContent();
+      }
+      casFailures.increment();
+      
+      //back off: take the item of a pushing thread.
+      final Offer<Stacktype> offer = eliminatePop();
+      if (offer != null) {
+        return offer.content;
+      }
+    }
+  }
+  
+  
+  /**
+   * Return the amount of failed compare-and-set operations on the pointer 
+   * to the last element, i.e. how often a thread has been disturbed by 
+   * another one.
+   * 
+   * @return the amount of failures.
+   */
+  public final long getCasFailures() {
+    return casFailures.sum();
+  }
+  
+  
+  /**
+   * Return the amount of pushes which have been handed to a pop directly.
+   * 
+   * @return the amount of eliminations.
+   */
+  public final long getEliminations() {
+    return eliminations.sum();
+  }
+  
+  
+  /**
+   * Reset the contention metrics.
+   */
+  public final void resetMetrics() {
+    casFailures.reset();
+    eliminations.reset();
+  }
+  
+  
+  /**
+   * Offer an item inside a random free slot and wait for a popping thread
+   * to take it.
+   * 
+   * @param xoffer the offer which is unique to this push.
+   * @return whether the item has been taken.
+   */
+  private boolean eliminatePush(final Offer<Stacktype> xoffer) {
+    
+    final int slot = ThreadLocalRandom.current().nextInt(slots.length());
+    if (!slots.compareAndSet(slot, null, xoffer)) {
+      return false;
+    }
+    for (int i = 0; i < ELIMINATION_SPINS; i++) {
+      if (slots.get(slot) != xoffer) {
+        return true;
+      }
+    }
+    
+    //withdraw the offer; if that fails it has been taken meanwhile.
+    return !slots.compareAndSet(slot, xoffer, null);
+  }
+  
+  
+  /**
+   * Look for an offer inside a random slot and take it.
+   * 
+   * @return the offer or null if there has been none.
+   */
+  private Offer<Stacktype> eliminatePop() {
+    
+    final int slot = ThreadLocalRandom.current().nextInt(slots.length());
+    for (int i = 0; i < ELIMINATION_SPINS; i++) {
+      final Offer<Stacktype> offer = slots.get(slot);
+      if (offer != null && slots.compareAndSet(slot, offer, null)) {
+        eliminations.increment();
+        return offer;
+      }
+    }
+    return null;
+  }
+  
+  
+  /**
+   * An item which a pushing thread offers inside an elimination slot. Each
+   * push uses its own offer; thus a thread recognizes whether its offer 
+   * has been taken by identity.
+   * 
+   * @param <Offertype> the type of the stack
+   */
+  private static final class Offer<Offertype> {
+    
+    /**
+     * The item.
+     */
+    private final Offertype content;
+    
+    
+    /**
+     * Constructor.
+     * 
+     * @param xcontent the item.
+     */
+    Offer(final Offertype xcontent) {
+      this.content = xcontent;
+    }
+  }
+}
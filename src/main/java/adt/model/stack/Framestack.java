@@ -0,0 +1,172 @@
+package adt.model.stack;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+/**
+ * Stack of reusable frames.
+ * 
+ * <p>
+ * Unlike the {@link Stack} the frames are not passed to the stack but 
+ * owned by it: {@link #push()} returns the frame on top of the stack 
+ * which is filled by the caller afterwards. The frames are kept in an 
+ * array; a frame which is removed stays inside the array and is reused by 
+ * the next push. Thus once the stack has reached its maximal depth, 
+ * pushing and removing does not allocate anything.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ * @param <Frametype> the type of the frames.
+ */
+public class Framestack<Frametype> {
+
+  
+  /**
+   * The initial amount of frames.
+   */
+  private static final int DEFAULT_CAPACITY = 8;
+  
+  
+  /**
+   * The frames; those in front of {@link #size} are part of the stack, 
+   * the others are pooled for reuse (or null if they have not been 
+   * created yet).
+   */
+  private Object[] frames;
+  
+  
+  /**
+   * The amount of frames which are part of the stack.
+   */
+  private int size;
+  
+  
+  /**
+   * The factory creating new frames.
+   */
+  private final Framefactory<Frametype> factory;
+  
+  
+  /**
+   * Constructor.
+   * 
+   * @param xfactory the factory creating new frames.
+   */
+  public Framestack(final Framefactory<Frametype> xfactory) {
+    this.frames = new Object[DEFAULT_CAPACITY];
+    this.size = 0;
+    this.factory = xfactory;
+  }
+  
+  
+  /**
+   * Returns whether the stack is empty.
+   * @return whether the stack is empty.
+   */
+  public final boolean isEmpty() {
+    return size == 0;
+  }
+  
+  
+  /**
+   * Put a frame on top of the stack and return it for being filled by the
+   * caller. The frame may contain the values of its previous use.
+   * 
+   * @return the frame.
+   */
+  @SuppressWarnings("unchecked")
+  public final Frametype push() {
+    
+    //grow the array if all frames are in use.
+    if (size == frames.length) {
+      final Object[] framesNew = new Object[frames.length * 2];
+      System.arraycopy(frames, 0, framesNew, 0, size);
+      frames = framesNew;
+    }
+    
+    //create the frame if it is used for the first time.
+    if (frames[size] == null) {
+      frames[size] = factory.createFrame();
+    }
+    return (Frametype) frames[size++];
+  }
+  
+  
+  /**
+   * Return the frame on top of the stack.
+   * 
+   * @return the frame or null if the stack is empty.
+   */
+  @SuppressWarnings("unchecked")
+  public final Frametype peek() {
+    if (isEmpty()) {
+      return null;
+    }
+    return (Frametype) frames[size - 1];
+  }
+  
+  
+  /**
+   * Removes the frame on top of the stack; it is released and kept for 
+   * reuse.
+   * @return whether the stack is empty after removing process.
+   */
+  @SuppressWarnings("unchecked")
+  public final boolean remove() {
+    if (!isEmpty()) {
+      size--;
+      factory.releaseFrame((Frametype) frames[size]);
+    }
+    return isEmpty();
+  }
+  
+  
+  /**
+   * Remove all frames; they are released and kept for reuse.
+   */
+  @SuppressWarnings("unchecked")
+  public final void clear() {
+    while (size > 0) {
+      size--;
+      factory.releaseFrame((Frametype) frames[size]);
+    }
+  }
+  
+  
+  /**
+   * Factory creating the frames of a {@link Framestack}.
+   * 
+   * @param <Factorytype> the type of the frames.
+   */
+  public interface Framefactory<Factorytype> {
+    
+    /**
+     * Create a new frame.
+     * @return the frame.
+     */
+    Factorytype createFrame();
+    
+    /**
+     * Release the references of a frame which has been removed out of the
+     * stack; otherwise they would be kept alive until the frame is reused.
+     * @param xframe the frame.
+     */
+    void releaseFrame(Factorytype xframe);
+  }
+}
@@ -0,0 +1,189 @@
+package adt.model.stack;
+
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+//import declarations
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+
+/**
+ * Array-backed stack of primitive ints (e.g. indices or ids of a 
+ * traversal) without boxing.
+ * 
+ * <p>
+ * The array grows by doubling. Unlike {@link Arraystack}, which returns 
+ * null, there is no value for "no item"; thus {@link #peek()} and 
+ * {@link #pop()} throw an {@link EmptyStackException} if the stack is 
+ * empty.
+ * 
+ * @author Julius Huelsmann
+ * @version %I%, %U%
+ * @see Arraystack
+ */
+public class Intstack implements Serializable {
+
+  
+  /**
+   * Default serial version UID for being able to identify the list's 
+   * version if saved to the disk and check whether it is possible to 
+   * load it or whether important features have been added so that the
+   * saved file is out-dated.
+   */
+  private static final long serialVersionUID = 1L;
+  
+  
+  /**
+   * The initial capacity.
+   */
+  private static final int DEFAULT_CAPACITY = 16;
+  
+  
+  /**
+   * The items; those in front of {@link #size} are part of the stack.
+   */
+  private int[] items;
+  
+  
+  /**
+   * The amount of items.
+   */
+  private int size;
+  
+  
+  /**
+   * Constructor.
+   */
+  public Intstack() {
+    this(DEFAULT_CAPACITY);
+  }
+  
+  
+  /**
+   * Constructor.
+   * 
+   * @param xcapacity the initial capacity.
+   */
+  public Intstack(final int xcapacity) {
+    items = new int[Math.max(1, xcapacity)];
+  }
+  
+  
+  /**
+   * Returns whether the stack is empty.
+   * @return whether the stack is empty.
+   */
+  public final boolean isEmpty() {
+    return size == 0;
+  }
+  
+  
+  /**
+   * Returns the amount of items.
+   * @return the size.
+   */
+  public final int size() {
+    return size;
+  }
+  
+  
+  /**
+   * Put an item on top of the stack.
+   * 
+   * @param xvalue the item.
+   */
+  public final void push(final int xvalue) {
+    if (size == items.length) {
+      items = Arrays.copyOf(items, 2 * items.length);
+    }
+    items[size++] = xvalue;
+  }
+  
+  
+  /**
+   * Put the items of an array on top of the stack; afterwards the last one
+   * is on top.
+   * 
+   * @param xvalues the items.
+   */
+  public final void pushAll(final int[] xvalues) {
+    if (size + xvalues.length > items.length) {
+      items = Arrays.copyOf(items, 
+          Math.max(size + xvalues.length, 2 * items.length));
+    }
+    System.arraycopy(xvalues, 0, items, size, xvalues.length);
+    size += xvalues.length;
+  }
+  
+  
+  /**
+   * Return the item on top of the stack.
+   * 
+   * @return the item.
+   * @throws EmptyStackException if the stack is empty.
+   */
+  public final int peek() {
+    if (size == 0) {
+      throw new EmptyStackException();
+    }
+    return items[size - 1];
+  }
+  
+  
+  /**
+   * Remove the item on top of the stack and return it.
+   * 
+   * @return the item.
+   * @throws EmptyStackException if the stack is empty.
+   */
+  public final int pop() {
+    if (size == 0) {
+      throw new EmptyStackException();
+    }
+    return items[--size];
+  }
+  
+  
+  /**
+   * Remove up to the length of the array items from the top of the stack.
+   * The array is filled in the order of removal: the former top item is 
+   * at index 0.
+   * 
+   * @param xarray the array which is filled beginning at index 0.
+   * @return the amount of removed items.
+   */
+  public final int popN(final int[] xarray) {
+    final int amount = Math.min(size, xarray.length);
+    for (int i = 0; i < amount; i++) {
+      xarray[i] = items[size - 1 - i];
+    }
+    size -= amount;
+    return amount;
+  }
+  
+  
+  /**
+   * Remove all items.
+   */
+  public final void clear() {
+    size = 0;
+  }
+}